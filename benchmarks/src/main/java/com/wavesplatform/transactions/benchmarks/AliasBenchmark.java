@@ -0,0 +1,62 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.transactions.MassTransferTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.mass.Transfer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alias validation and parsing, alone and as recipients of a mass transfer which has only aliases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AliasBenchmark {
+
+    private static final byte CHAIN_ID = 'W';
+
+    private final String name = "benchmark_alias@waves.exchange";
+    private final String fullAlias = "alias:W:" + name;
+    private byte[] massTransferBytes;
+
+    @Setup
+    public void setup() {
+        List<Transfer> transfers = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            transfers.add(Transfer.to(Alias.as(CHAIN_ID, "recipient" + i), 1000 + i));
+        massTransferBytes = MassTransferTransaction.builder(transfers)
+                .chainId(CHAIN_ID).version(1).timestamp(Fixtures.TIMESTAMP)
+                .getSignedWith(Fixtures.SIGNER).toBytes();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return Alias.isValid(CHAIN_ID, fullAlias);
+    }
+
+    @Benchmark
+    public Alias fromName() {
+        return Alias.as(CHAIN_ID, name);
+    }
+
+    @Benchmark
+    public Alias fromFullAlias() {
+        return Alias.as(CHAIN_ID, fullAlias);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Transaction massTransferFromBytes() throws IOException {
+        return Transaction.fromBytes(massTransferBytes);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.crypto.base.Base58;
+import com.wavesplatform.transactions.common.Base58Codec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base58 codec of the project compared to the one of the crypto library
+ * on the sizes of addresses, public keys and ids, and proofs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Base58Benchmark {
+
+    @Param({"26", "32", "64"})
+    public int size;
+
+    private byte[] bytes;
+    private String encoded;
+    private char[] chars;
+    private byte[] decoded;
+
+    @Setup
+    public void setup() {
+        bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        encoded = Base58.encode(bytes);
+        chars = new char[Base58Codec.maxEncodedLength(size)];
+        decoded = new byte[size];
+    }
+
+    @Benchmark
+    public String encodeCrypto() {
+        return Base58.encode(bytes);
+    }
+
+    @Benchmark
+    public String encodeCodec() {
+        return Base58Codec.encode(bytes);
+    }
+
+    @Benchmark
+    public int encodeCodecIntoChars() {
+        return Base58Codec.encode(bytes, 0, bytes.length, chars, 0);
+    }
+
+    @Benchmark
+    public byte[] decodeCrypto() {
+        return Base58.decode(encoded);
+    }
+
+    @Benchmark
+    public byte[] decodeCodec() {
+        return Base58Codec.decode(encoded);
+    }
+
+    @Benchmark
+    public int decodeCodecIntoBytes() {
+        return Base58Codec.decode(encoded, decoded, 0);
+    }
+
+}
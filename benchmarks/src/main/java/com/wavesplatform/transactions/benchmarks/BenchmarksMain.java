@@ -0,0 +1,33 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs JMH with the usual command line options and always attaches the gc profiler,
+ * so allocation rates are reported next to the timings.
+ */
+public class BenchmarksMain {
+
+    public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        if (cmdOptions.shouldHelp() || cmdOptions.shouldList() || cmdOptions.shouldListProfilers()
+                || cmdOptions.shouldListResultFormats() || cmdOptions.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        new Runner(new OptionsBuilder()
+                .parent(cmdOptions)
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+}
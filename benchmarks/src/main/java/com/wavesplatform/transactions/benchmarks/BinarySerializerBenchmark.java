@@ -0,0 +1,71 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.serializers.SerializedSize;
+import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary serialization of every transaction type and version, both legacy and protobuf schemes.
+ * Serialization runs on a freshly parsed transaction, so it isn't answered from the lazily cached bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinarySerializerBenchmark {
+
+    @Benchmark
+    public Transaction fromBytes(TransactionState state) throws IOException {
+        return Transaction.fromBytes(state.bytes);
+    }
+
+    @Benchmark
+    public byte[] toBytes(FreshTransactionState state) {
+        return BinarySerializer.toBytes(state.tx);
+    }
+
+    @Benchmark
+    public byte[] bodyBytes(FreshTransactionState state) {
+        return BinarySerializer.bodyBytes(state.tx);
+    }
+
+    @Benchmark
+    public int size(TransactionState state) {
+        return SerializedSize.size(state.tx);
+    }
+
+    @Benchmark
+    public int writeBodyBytes(TransactionState state, BufferState buffer) {
+        buffer.buffer.clear();
+        return BinarySerializer.writeBodyBytes(state.tx, buffer.buffer);
+    }
+
+    @Benchmark
+    public Id id(FreshTransactionState state) {
+        return state.tx.id();
+    }
+
+    @Benchmark
+    public byte[] idAndBytes(FreshTransactionState state) {
+        state.tx.id();
+        return state.tx.toBytes();
+    }
+
+    @Benchmark
+    public Transaction addProof(FreshTransactionState state) {
+        return state.tx.addProof(Fixtures.SIGNER);
+    }
+
+    @State(Scope.Thread)
+    public static class BufferState {
+        public final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    }
+
+}
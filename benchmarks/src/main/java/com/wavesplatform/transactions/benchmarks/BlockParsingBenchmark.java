@@ -0,0 +1,110 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.transactions.BlockDecoder;
+import com.wavesplatform.transactions.IdComputer;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransactionView;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.serializers.binary.TransactionDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a block-sized sequence of length-prefixed transactions of all fixture types.
+ * Run with the gc profiler to see the allocated bytes per parsed block.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockParsingBenchmark {
+
+    @Param({"10000"})
+    public int blockSize;
+
+    private final BlockDecoder blockDecoder = new BlockDecoder();
+    private final IdComputer idComputer = new IdComputer();
+    private byte[] block;
+
+    @Setup
+    public void setup() throws IOException {
+        List<Transaction> fixtures = new ArrayList<>(Fixtures.transactions().values());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < blockSize; i++) {
+            byte[] tx = fixtures.get(i % fixtures.size()).toBytes();
+            out.writeInt(tx.length);
+            out.write(tx);
+        }
+        block = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<Transaction> parse() {
+        List<Transaction> txs = new ArrayList<>(blockSize);
+        TransactionDecoder.lengthPrefixed(new ByteArrayInputStream(block)).forEachRemaining(txs::add);
+        return txs;
+    }
+
+    /**
+     * Same as {@link #parse()}, but transactions are decoded on all cores of the common pool.
+     */
+    @Benchmark
+    public List<Transaction> parseInParallel() throws IOException {
+        return blockDecoder.decode(block);
+    }
+
+    /**
+     * Only type, sender, timestamp and id of every transaction are read, like most consumers of blocks do.
+     */
+    @Benchmark
+    public void views(Blackhole blackhole) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        while (buffer.hasRemaining()) {
+            int size = buffer.getInt();
+            TransactionView view = TransactionView.of(block, buffer.position(), size);
+            buffer.position(buffer.position() + size);
+            blackhole.consume(view.type());
+            blackhole.consume(view.sender());
+            blackhole.consume(view.timestamp());
+            blackhole.consume(view.id());
+        }
+    }
+
+    /**
+     * Ids of all transactions of the block, hashed in place on all cores of the common pool.
+     */
+    @Benchmark
+    public List<Id> viewIds() throws IOException {
+        List<TransactionView> views = new ArrayList<>(blockSize);
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        while (buffer.hasRemaining()) {
+            int size = buffer.getInt();
+            views.add(TransactionView.of(block, buffer.position(), size));
+            buffer.position(buffer.position() + size);
+        }
+        return idComputer.viewIds(views);
+    }
+
+    @Benchmark
+    public void parseAndRead(Blackhole blackhole) {
+        TransactionDecoder.lengthPrefixed(new ByteArrayInputStream(block)).forEachRemaining(tx -> {
+            blackhole.consume(tx.type());
+            blackhole.consume(tx.sender());
+            blackhole.consume(tx.timestamp());
+            blackhole.consume(tx.id());
+        });
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.transactions.MassTransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.mass.Transfer;
+import com.wavesplatform.transactions.serializers.binary.BytesWriter;
+import com.wavesplatform.transactions.serializers.binary.LegacyBinarySerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares appending legacy body fields by array concatenation with the growable {@link BytesWriter}.
+ * The written layout is the one of MassTransferTransaction v1.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BytesWriterBenchmark {
+
+    @Param({"10", "100"})
+    public int transfersCount;
+
+    private PublicKey sender;
+    private List<Transfer> transfers;
+    private MassTransferTransaction massTransfer;
+
+    @Setup
+    public void setup() {
+        PrivateKey signer = PrivateKey.fromSeed("benchmark");
+        sender = signer.publicKey();
+        transfers = new ArrayList<>();
+        for (int i = 0; i < transfersCount; i++)
+            transfers.add(Transfer.to(PrivateKey.fromSeed("benchmark", i + 1).address(), 1000 + i));
+        massTransfer = MassTransferTransaction.builder(transfers)
+                .version(1)
+                .timestamp(1600000000000L)
+                .getSignedWith(signer);
+    }
+
+    @Benchmark
+    public byte[] concatenation() {
+        ConcatBytesWriter writer = new ConcatBytesWriter()
+                .write(sender.bytes())
+                .write((byte) 0)
+                .writeShort((short) transfers.size());
+        for (Transfer transfer : transfers) {
+            Recipient recipient = transfer.recipient();
+            writer.write(recipient.bytes()).writeLong(transfer.amount());
+        }
+        return writer.writeLong(1600000000000L)
+                .writeLong(100_000)
+                .writeArrayWithLength(new byte[0])
+                .getBytes();
+    }
+
+    @Benchmark
+    public byte[] growableBuffer() {
+        return write(new BytesWriter());
+    }
+
+    /**
+     * Serializer writes into the writer pooled per thread, so only the resulting array is allocated.
+     */
+    @Benchmark
+    public byte[] legacyBodyBytes() {
+        return LegacyBinarySerializer.bodyBytes(massTransfer);
+    }
+
+    private byte[] write(BytesWriter writer) {
+        writer.writePublicKey(sender)
+                .write((byte) 0)
+                .writeShort((short) transfers.size());
+        for (Transfer transfer : transfers)
+            writer.writeRecipient(transfer.recipient()).writeLong(transfer.amount());
+        return writer.writeLong(1600000000000L)
+                .writeLong(100_000)
+                .writeArrayWithLength(new byte[0])
+                .getBytes();
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.crypto.Bytes;
+
+/**
+ * Copy of the previous {@code BytesWriter} which appends every field with {@link Bytes#concat}.
+ * Kept only as a baseline for {@link BytesWriterBenchmark}.
+ */
+class ConcatBytesWriter {
+
+    private byte[] buf = Bytes.empty();
+
+    byte[] getBytes() {
+        return buf;
+    }
+
+    ConcatBytesWriter write(byte... value) {
+        buf = Bytes.concat(buf, value);
+        return this;
+    }
+
+    ConcatBytesWriter writeArrayWithLength(byte[] value) {
+        return write(Bytes.fromShort((short) value.length))
+                .write(value);
+    }
+
+    ConcatBytesWriter writeShort(short value) {
+        return write(Bytes.fromShort(value));
+    }
+
+    ConcatBytesWriter writeLong(long value) {
+        return write(Bytes.fromLong(value));
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.*;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.invocation.*;
+import com.wavesplatform.transactions.mass.Transfer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signed transactions of every type and version used by the benchmarks.
+ * The names are the values of {@code @Param} in the benchmark states.
+ */
+public abstract class Fixtures {
+
+    public static final long TIMESTAMP = 1600000000000L;
+    public static final PrivateKey SIGNER = PrivateKey.fromSeed("waves transactions benchmark");
+    public static final PrivateKey MATCHER = PrivateKey.fromSeed("waves transactions benchmark", 1);
+    public static final int TRANSFERS_COUNT = 100;
+    public static final int DATA_ENTRIES_COUNT = 100;
+    public static final int LIST_ARG_DEPTH = 10;
+
+    private static final AssetId ASSET_ID = AssetId.as("DG2xFkPdDwKUoBkzGAhQtLpSGzfXLiCYPEzeKH2Ad24p");
+    private static final Base64String SCRIPT = new Base64String("base64:AwZd0cYf");
+
+    private static final Map<String, Transaction> TRANSACTIONS = new LinkedHashMap<>();
+
+    static {
+        Address recipient = PrivateKey.fromSeed("recipient").address();
+        Alias alias = Alias.as("benchmark");
+
+        TRANSACTIONS.put("genesis.v1", new GenesisTransaction(recipient, 100_000_000, TIMESTAMP));
+        TRANSACTIONS.put("payment.v1", new PaymentTransaction(SIGNER.publicKey(), recipient, 100_000_000,
+                Amount.of(PaymentTransaction.MIN_FEE), TIMESTAMP, null).addProof(SIGNER));
+
+        for (int v = 1; v <= IssueTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("issue.v" + v, IssueTransaction.builder("Benchmark", 100_000_000, 2)
+                    .description("Asset issued by the benchmark")
+                    .script(v > 1 ? SCRIPT : Base64String.empty())
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+        for (int v = 1; v <= TransferTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("transfer.v" + v, TransferTransaction.builder(recipient, Amount.of(100, ASSET_ID))
+                    .attachment(new Base58String("benchmark attachment".getBytes()))
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+        for (int v = 1; v <= ReissueTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("reissue.v" + v, ReissueTransaction.builder(Amount.of(100, ASSET_ID))
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+        for (int v = 1; v <= BurnTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("burn.v" + v, BurnTransaction.builder(Amount.of(100, ASSET_ID))
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+        for (int v = 1; v <= ExchangeTransaction.LATEST_VERSION; v++) {
+            int orderVersion = v == 1 ? 1 : v == 2 ? 3 : Order.LATEST_VERSION;
+            Amount amount = Amount.of(1000, ASSET_ID);
+            Amount price = Amount.of(500);
+            Order buy = Order.buy(amount, price, MATCHER.publicKey())
+                    .version(orderVersion).timestamp(TIMESTAMP).getSignedWith(SIGNER);
+            Order sell = Order.sell(amount, price, MATCHER.publicKey())
+                    .version(orderVersion).timestamp(TIMESTAMP).getSignedWith(SIGNER);
+            TRANSACTIONS.put("exchange.v" + v, ExchangeTransaction.builder(buy, sell, 1000, 500, 300_000, 300_000)
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(MATCHER));
+        }
+        for (int v = 1; v <= LeaseTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("lease.v" + v, LeaseTransaction.builder(alias, 100_000_000)
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+        for (int v = 1; v <= LeaseCancelTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("lease-cancel.v" + v, LeaseCancelTransaction.builder(ASSET_ID)
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+        for (int v = 1; v <= CreateAliasTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("create-alias.v" + v, CreateAliasTransaction.builder(alias.name())
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+
+        List<Transfer> transfers = new ArrayList<>();
+        for (int i = 0; i < TRANSFERS_COUNT; i++)
+            transfers.add(Transfer.to(i % 10 == 0 ? Alias.as("recipient" + i) : PrivateKey.fromSeed("recipient", i).address(), 1000 + i));
+        for (int v = 1; v <= MassTransferTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("mass-transfer.v" + v, MassTransferTransaction.builder(transfers)
+                    .assetId(ASSET_ID)
+                    .attachment(new Base58String("benchmark attachment".getBytes()))
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+
+        List<DataEntry> entries = new ArrayList<>();
+        for (int i = 0; i < DATA_ENTRIES_COUNT; i++) {
+            String key = "key" + i;
+            if (i % 4 == 0) entries.add(IntegerEntry.as(key, i));
+            else if (i % 4 == 1) entries.add(BooleanEntry.as(key, true));
+            else if (i % 4 == 2) entries.add(BinaryEntry.as(key, ("binary value " + i).getBytes()));
+            else entries.add(StringEntry.as(key, "string value " + i));
+        }
+        for (int v = 1; v <= DataTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("data.v" + v, DataTransaction.builder(entries)
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+
+        for (int v = 1; v <= SetScriptTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("set-script.v" + v, SetScriptTransaction.builder(SCRIPT)
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+        for (int v = 1; v <= SponsorFeeTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("sponsor-fee.v" + v, SponsorFeeTransaction.builder(ASSET_ID, 1000)
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+        for (int v = 1; v <= SetAssetScriptTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("set-asset-script.v" + v, SetAssetScriptTransaction.builder(ASSET_ID, SCRIPT)
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+
+        Arg deepList = ListArg.as(IntegerArg.as(0), StringArg.as("leaf"), BinaryArg.as("leaf".getBytes()), BooleanArg.as(true));
+        for (int i = 1; i < LIST_ARG_DEPTH; i++)
+            deepList = ListArg.as(IntegerArg.as(i), deepList);
+        Function function = Function.as("benchmark", StringArg.as("argument"), IntegerArg.as(42), deepList);
+        for (int v = 1; v <= InvokeScriptTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("invoke-script.v" + v, InvokeScriptTransaction.builder(alias, function)
+                    .payments(Amount.of(100), Amount.of(200, ASSET_ID))
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+
+        for (int v = 1; v <= UpdateAssetInfoTransaction.LATEST_VERSION; v++)
+            TRANSACTIONS.put("update-asset-info.v" + v, UpdateAssetInfoTransaction
+                    .builder(ASSET_ID, "Benchmark", "Asset info updated by the benchmark")
+                    .version(v).timestamp(TIMESTAMP).getSignedWith(SIGNER));
+    }
+
+    public static Transaction transaction(String name) {
+        Transaction tx = TRANSACTIONS.get(name);
+        if (tx == null)
+            throw new IllegalArgumentException("Unknown fixture " + name + ", expected one of " + TRANSACTIONS.keySet());
+        return tx;
+    }
+
+    public static Map<String, Transaction> transactions() {
+        return TRANSACTIONS;
+    }
+
+}
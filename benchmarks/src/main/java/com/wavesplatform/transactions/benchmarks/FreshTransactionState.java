@@ -0,0 +1,23 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.transactions.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+
+/**
+ * Transaction parsed anew before every invocation, so lazily cached values like id are computed from scratch
+ * and added proofs don't pile up.
+ * Allocation rates reported by the gc profiler for benchmarks using it include the parsing.
+ */
+@State(Scope.Thread)
+public class FreshTransactionState {
+
+    public Transaction tx;
+
+    @Setup(Level.Invocation)
+    public void setup(TransactionState state) throws IOException {
+        tx = Transaction.fromBytes(state.bytes);
+    }
+
+}
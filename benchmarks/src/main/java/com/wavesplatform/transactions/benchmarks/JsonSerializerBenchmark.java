@@ -0,0 +1,44 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.serializers.json.JsonSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Json serialization of every transaction type and version.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializerBenchmark {
+
+    @Benchmark
+    public String toJson(TransactionState state) {
+        return JsonSerializer.toJson(state.tx);
+    }
+
+    @Benchmark
+    public JsonNode toJsonObject(TransactionState state) {
+        return JsonSerializer.toJsonObject(state.tx);
+    }
+
+    @Benchmark
+    public int writeJson(TransactionState state) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        JsonSerializer.writeJson(out, state.tx);
+        return out.size();
+    }
+
+    @Benchmark
+    public Transaction fromJson(TransactionState state) throws IOException {
+        return JsonSerializer.fromJson(state.json);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.transactions.ProofVerifier;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification of sender signatures of a block-sized batch of transfers with different count of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProofVerifierBenchmark {
+
+    @Param({"10000"})
+    public int batchSize;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private List<TransferTransaction> batch;
+    private ForkJoinPool pool;
+    private ProofVerifier verifier;
+
+    @Setup
+    public void setup() {
+        batch = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            TransferTransaction tx = TransferTransaction.builder(Fixtures.SIGNER.address(), Amount.of(i + 1))
+                    .timestamp(Fixtures.TIMESTAMP)
+                    .getSignedWith(PrivateKey.fromSeed("benchmark", i % 100));
+            tx.bodyBytes();
+            batch.add(tx);
+        }
+        pool = new ForkJoinPool(threads);
+        verifier = new ProofVerifier(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Boolean> verify() {
+        return verifier.verify(batch);
+    }
+
+    @Benchmark
+    public boolean verifyAll() {
+        return verifier.verifyAll(batch);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of every transaction type and version to and from protobuf messages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtobufConverterBenchmark {
+
+    @Benchmark
+    public TransactionOuterClass.SignedTransaction toProtobuf(TransactionState state) {
+        return ProtobufConverter.toProtobuf(state.tx);
+    }
+
+    @Benchmark
+    public Transaction fromProtobuf(TransactionState state) throws IOException {
+        return ProtobufConverter.fromProtobuf(state.protobuf);
+    }
+
+}
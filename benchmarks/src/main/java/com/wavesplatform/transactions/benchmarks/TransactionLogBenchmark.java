@@ -0,0 +1,65 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.store.TransactionLog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Replay of a log of length-prefixed transactions of all fixture types from the page cache.
+ * Run with the gc profiler to see the allocated bytes per replay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionLogBenchmark {
+
+    @Param({"100000"})
+    public int logSize;
+
+    private Path directory;
+    private TransactionLog log;
+
+    @Setup
+    public void setup() throws IOException {
+        List<Transaction> fixtures = new ArrayList<>(Fixtures.transactions().values());
+        directory = Files.createTempDirectory("transaction-log");
+        log = TransactionLog.open(directory, 16 * 1024 * 1024);
+        for (int i = 0; i < logSize; i++)
+            log.append(fixtures.get(i % fixtures.size()));
+        log.flush();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        log.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Iterator<Path> it = files.sorted(Comparator.reverseOrder()).iterator(); it.hasNext(); )
+                Files.delete(it.next());
+        }
+    }
+
+    @Benchmark
+    public void replay(Blackhole blackhole) throws IOException {
+        log.replay(record -> blackhole.consume(record.get(record.position())));
+    }
+
+    @Benchmark
+    public void records(Blackhole blackhole) throws IOException {
+        log.records().forEachRemaining(record -> blackhole.consume(record.get(record.position())));
+    }
+
+}
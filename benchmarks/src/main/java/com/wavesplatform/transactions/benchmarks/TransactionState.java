@@ -0,0 +1,46 @@
+package com.wavesplatform.transactions.benchmarks;
+
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Fixture transaction and its serialized forms shared by all benchmark threads.
+ */
+@State(Scope.Benchmark)
+public class TransactionState {
+
+    @Param({
+            "genesis.v1", "payment.v1",
+            "issue.v1", "issue.v2", "issue.v3",
+            "transfer.v1", "transfer.v2", "transfer.v3",
+            "reissue.v1", "reissue.v2", "reissue.v3",
+            "burn.v1", "burn.v2", "burn.v3",
+            "exchange.v1", "exchange.v2", "exchange.v3",
+            "lease.v1", "lease.v2", "lease.v3",
+            "lease-cancel.v1", "lease-cancel.v2", "lease-cancel.v3",
+            "create-alias.v1", "create-alias.v2", "create-alias.v3",
+            "mass-transfer.v1", "mass-transfer.v2",
+            "data.v1", "data.v2",
+            "set-script.v1", "set-script.v2",
+            "sponsor-fee.v1", "sponsor-fee.v2",
+            "set-asset-script.v1", "set-asset-script.v2",
+            "invoke-script.v1", "invoke-script.v2",
+            "update-asset-info.v1"
+    })
+    public String fixture;
+
+    public Transaction tx;
+    public byte[] bytes;
+    public String json;
+    public TransactionOuterClass.SignedTransaction protobuf;
+
+    @Setup
+    public void setup() {
+        tx = Fixtures.transaction(fixture);
+        bytes = tx.toBytes();
+        json = tx.toJson();
+        protobuf = tx.toProtobuf();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.account.PublicKey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Signs batches of transactions and orders with the same private key in parallel.
+ * <p>
+ * The public key of the signer is derived once and set as sender of all transactions built by the signer,
+ * so only body bytes and signatures are computed per item.
+ * Signed items are returned in the order of the input.
+ */
+public class BatchSigner {
+
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final ParallelBatch parallelBatch;
+    private final LongAdder signedCount = new LongAdder();
+    private final LongAdder signingNanos = new LongAdder();
+
+    /**
+     * Create signer which runs on the common pool.
+     *
+     * @param privateKey private key to sign with
+     */
+    public BatchSigner(PrivateKey privateKey) {
+        this(privateKey, ForkJoinPool.commonPool());
+    }
+
+    public BatchSigner(PrivateKey privateKey, ForkJoinPool pool) {
+        this(privateKey, pool, pool.getParallelism());
+    }
+
+    /**
+     * @param privateKey private key to sign with
+     * @param executor executor to run the signing on
+     * @param parallelism expected count of threads of the executor, defines how many chunks the batch is split into
+     */
+    public BatchSigner(PrivateKey privateKey, Executor executor, int parallelism) {
+        this.privateKey = privateKey;
+        this.publicKey = privateKey.publicKey();
+        this.parallelBatch = new ParallelBatch(executor, parallelism);
+    }
+
+    public PublicKey publicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Add proof of the signer to every transaction or order of the batch.
+     *
+     * @param unsigned transactions or orders, they are changed in place
+     * @param <T> type of items
+     * @return the same items with the added proofs
+     */
+    public <T extends TransactionOrOrder> Result<T> sign(List<T> unsigned) {
+        long start = System.nanoTime();
+        parallelBatch.forEach(unsigned.size(), null, i -> {
+            unsigned.get(i).addProof(privateKey);
+            return true;
+        });
+        return result(new ArrayList<>(unsigned), start);
+    }
+
+    /**
+     * Build transactions with the signer as sender and sign them.
+     *
+     * @param builders transaction builders
+     * @param <TX> type of transactions
+     * @return signed transactions in the order of the builders
+     */
+    public <TX extends Transaction> Result<TX> signBuilders(List<? extends Transaction.TransactionBuilder<?, TX>> builders) {
+        long start = System.nanoTime();
+        List<TX> signed = new ArrayList<>(Collections.nCopies(builders.size(), null));
+        parallelBatch.forEach(builders.size(), null, i -> {
+            signed.set(i, builders.get(i).sender(publicKey).getUnsigned().addProof(privateKey));
+            return true;
+        });
+        return result(signed, start);
+    }
+
+    /**
+     * @return count of items signed by this signer since its creation
+     */
+    public long signedCount() {
+        return signedCount.sum();
+    }
+
+    /**
+     * @return overall wall time of the batches signed by this signer
+     */
+    public Duration signingTime() {
+        return Duration.ofNanos(signingNanos.sum());
+    }
+
+    private <T extends TransactionOrOrder> Result<T> result(List<T> signed, long start) {
+        long elapsed = System.nanoTime() - start;
+        signedCount.add(signed.size());
+        signingNanos.add(elapsed);
+        return new Result<>(signed, elapsed);
+    }
+
+    /**
+     * Signed items of a batch and the time it took to sign them.
+     *
+     * @param <T> type of items
+     */
+    public static class Result<T extends TransactionOrOrder> {
+        private final List<T> signed;
+        private final long elapsedNanos;
+
+        Result(List<T> signed, long elapsedNanos) {
+            this.signed = Collections.unmodifiableList(signed);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<T> signed() {
+            return signed;
+        }
+
+        public Duration elapsed() {
+            return Duration.ofNanos(elapsedNanos);
+        }
+
+        /**
+         * @return count of signed items per second
+         */
+        public double throughput() {
+            return elapsedNanos == 0 ? 0 : signed.size() * 1e9 / elapsedNanos;
+        }
+    }
+
+}
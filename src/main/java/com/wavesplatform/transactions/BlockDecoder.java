@@ -0,0 +1,144 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
+import com.wavesplatform.transactions.serializers.binary.TransactionDecoder.Framing;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Decodes all transactions of a block in parallel.
+ * <p>
+ * The block is scanned first to find boundaries of transactions by their size prefixes, which is cheap.
+ * Then the transactions are split into contiguous chunks which are decoded on the executor.
+ * The decoded transactions are returned in the order of the block.
+ * <p>
+ * Framings are the same as of {@link com.wavesplatform.transactions.serializers.binary.TransactionDecoder}.
+ * Use that decoder instead if the whole block doesn't fit into memory.
+ * The array of the block must not be changed while it's decoded.
+ */
+public class BlockDecoder {
+
+    private final ParallelBatch parallelBatch;
+    private final Framing framing;
+
+    /**
+     * Create decoder of length-prefixed blocks which runs on the common pool.
+     */
+    public BlockDecoder() {
+        this(ForkJoinPool.commonPool(), Framing.LENGTH_PREFIXED);
+    }
+
+    public BlockDecoder(ForkJoinPool pool, Framing framing) {
+        this(pool, pool.getParallelism(), framing);
+    }
+
+    /**
+     * @param executor executor to run the decoding on
+     * @param parallelism expected count of threads of the executor, defines how many chunks the block is split into
+     * @param framing how transactions are delimited in the block
+     */
+    public BlockDecoder(Executor executor, int parallelism, Framing framing) {
+        this.parallelBatch = new ParallelBatch(executor, parallelism);
+        this.framing = framing;
+    }
+
+    public List<Transaction> decode(byte[] block) throws IOException {
+        return decode(block, 0, block.length);
+    }
+
+    /**
+     * Decode every transaction of the block.
+     * If any transaction can't be decoded, transactions which are not yet decoded at that moment are skipped.
+     *
+     * @param block array which contains the block
+     * @param offset offset of the first transaction size in the array
+     * @param length size of all transactions with their size prefixes
+     * @return transactions in the order of the block
+     * @throws IOException if the block is truncated or any transaction can't be decoded
+     */
+    public List<Transaction> decode(byte[] block, int offset, int length) throws IOException {
+        int[] bounds = scan(block, offset, length, framing);
+        int count = bounds.length / 2;
+        Transaction[] transactions = new Transaction[count];
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicReference<IOException> error = new AtomicReference<>();
+
+        parallelBatch.forEach(count, failed, i -> {
+            ByteBuffer bytes = ByteBuffer.wrap(block, bounds[2 * i], bounds[2 * i + 1]);
+            try {
+                transactions[i] = framing == Framing.LENGTH_PREFIXED
+                        ? BinarySerializer.transactionFromBytes(bytes)
+                        : BinarySerializer.transactionFromProtobufBytes(bytes);
+                return true;
+            } catch (IOException e) {
+                error.compareAndSet(null, e);
+                return false;
+            } catch (RuntimeException e) {
+                error.compareAndSet(null, new IOException("Can't decode transaction " + i + " of the block", e));
+                return false;
+            }
+        });
+
+        if (error.get() != null)
+            throw error.get();
+        return Collections.unmodifiableList(Arrays.asList(transactions));
+    }
+
+    /**
+     * Find boundaries of transactions in the block without decoding them.
+     *
+     * @param block array which contains the block
+     * @param offset offset of the first transaction size in the array
+     * @param length size of all transactions with their size prefixes
+     * @param framing how transactions are delimited in the block
+     * @return offset and size of every transaction, one pair after another
+     * @throws IOException if the block ends inside of a transaction or its size
+     */
+    public static int[] scan(byte[] block, int offset, int length, Framing framing) throws IOException {
+        int[] bounds = new int[32];
+        int count = 0;
+        int position = offset;
+        int end = offset + length;
+        while (position < end) {
+            int size;
+            if (framing == Framing.LENGTH_PREFIXED) {
+                if (end - position < Integer.BYTES)
+                    throw new EOFException("Block ended inside of transaction size");
+                size = (block[position] & 0xFF) << 24 | (block[position + 1] & 0xFF) << 16
+                        | (block[position + 2] & 0xFF) << 8 | block[position + 3] & 0xFF;
+                position += Integer.BYTES;
+            } else {
+                size = 0;
+                for (int shift = 0; ; shift += 7) {
+                    if (shift >= 32)
+                        throw new IOException("Malformed varint of transaction size");
+                    if (position == end)
+                        throw new EOFException("Block ended inside of transaction size");
+                    byte b = block[position++];
+                    size |= (b & 0x7F) << shift;
+                    if (b >= 0)
+                        break;
+                }
+            }
+            if (size < 0 || size > end - position)
+                throw new EOFException("Transaction size " + size + " exceeds the rest of the block " + (end - position));
+
+            if (count + 2 > bounds.length)
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            bounds[count++] = position;
+            bounds[count++] = size;
+            position += size;
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+}
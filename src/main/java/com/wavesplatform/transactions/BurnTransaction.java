@@ -6,7 +6,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class BurnTransaction extends Transaction {
 
@@ -45,20 +44,6 @@ public class BurnTransaction extends Transaction {
         return amount;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        BurnTransaction that = (BurnTransaction) o;
-        return this.amount.equals(that.amount);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), amount);
-    }
-
     public static class BurnTransactionBuilder
             extends TransactionBuilder<BurnTransactionBuilder, BurnTransaction> {
         private final Amount amount;
@@ -1,6 +1,5 @@
 package com.wavesplatform.transactions;
 
-import com.wavesplatform.crypto.Hash;
 import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.Alias;
 import com.wavesplatform.transactions.common.Amount;
@@ -9,7 +8,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 import static com.wavesplatform.crypto.Bytes.concat;
 import static com.wavesplatform.crypto.Bytes.of;
@@ -21,6 +19,7 @@ public class CreateAliasTransaction extends Transaction {
     public static final long MIN_FEE = 100_000;
 
     private final Alias alias;
+    private volatile Id legacyId;
 
     public CreateAliasTransaction(PublicKey sender, String alias) {
         this(sender, alias, WavesConfig.chainId(), Amount.of(MIN_FEE), System.currentTimeMillis(), LATEST_VERSION, Proof.emptyList());
@@ -44,31 +43,29 @@ public class CreateAliasTransaction extends Transaction {
         return new CreateAliasTransactionBuilder(alias);
     }
 
+    /**
+     * Id of versions 1 and 2 is the hash of the alias, it's cached like the id of other transactions.
+     */
     @Override
-    public Id id() {
-        return version() < 3
-                ? Id.as(Hash.blake(concat(of((byte) type()), alias.bytes())))
-                : super.id();
+    Id id(IdComputer.Hasher hasher) {
+        if (version() >= 3)
+            return super.id(hasher);
+        Id result = this.legacyId;
+        if (result == null)
+            synchronized (this) {
+                result = this.legacyId;
+                if (result == null) {
+                    byte[] idBytes = concat(of((byte) type()), alias.bytes());
+                    this.legacyId = result = Id.as(hasher.hash(idBytes, 0, idBytes.length));
+                }
+            }
+        return result;
     }
 
     public Alias alias() {
         return alias;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        CreateAliasTransaction that = (CreateAliasTransaction) o;
-        return this.alias.equals(that.alias);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), alias);
-    }
-
     public static class CreateAliasTransactionBuilder
             extends TransactionBuilder<CreateAliasTransactionBuilder, CreateAliasTransaction> {
         private final String alias;
@@ -4,6 +4,7 @@ import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.Amount;
 import com.wavesplatform.transactions.common.Proof;
 import com.wavesplatform.transactions.data.DataEntry;
+import com.wavesplatform.transactions.serializers.SerializedSize;
 
 import java.io.IOException;
 import java.util.*;
@@ -48,12 +49,7 @@ public class DataTransaction extends Transaction {
         if (fee.value() > 0)
             return fee;
 
-        DataTransaction tempTx = new DataTransaction(PublicKey.as("11111111111111111111111111111111"), data,
-                WavesConfig.chainId(), Amount.of(MIN_FEE), System.currentTimeMillis(), version, Proof.emptyList());
-        int payloadSize = tempTx.version() == 1
-                ? tempTx.bodyBytes().length
-                : tempTx.toProtobuf().getTransaction().getDataTransaction().toByteArray().length;
-
+        int payloadSize = SerializedSize.dataPayloadSize(data, version);
         long payloadFee = MIN_FEE * (1 + (payloadSize - 1) / 1024);
         return Amount.of(payloadFee);
     }
@@ -66,20 +62,6 @@ public class DataTransaction extends Transaction {
          return data.stream().map(DataEntry::key).collect(toCollection(ArrayList::new));
      }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        DataTransaction that = (DataTransaction) o;
-        return this.data.equals(that.data);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), data);
-    }
-
     public static class DataTransactionBuilder
             extends TransactionBuilder<DataTransactionBuilder, DataTransaction> {
         private final List<DataEntry> data;
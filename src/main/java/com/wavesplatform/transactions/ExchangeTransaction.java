@@ -103,24 +103,6 @@ public class ExchangeTransaction extends Transaction {
         return sellMatcherFee;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        ExchangeTransaction that = (ExchangeTransaction) o;
-        return amount == that.amount &&
-                price == that.price &&
-                buyMatcherFee == that.buyMatcherFee &&
-                sellMatcherFee == that.sellMatcherFee &&
-                Objects.equals(orders, that.orders);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), orders, amount, price, buyMatcherFee, sellMatcherFee);
-    }
-
     public static class ExchangeTransactionBuilder
             extends TransactionBuilder<ExchangeTransactionBuilder, ExchangeTransaction> {
         private final Order order1;
@@ -10,7 +10,6 @@ import com.wavesplatform.transactions.common.Proof;
 import com.wavesplatform.transactions.serializers.binary.BytesWriter;
 
 import java.io.IOException;
-import java.util.Objects;
 
 public class GenesisTransaction extends Transaction {
 
@@ -52,7 +51,7 @@ public class GenesisTransaction extends Transaction {
     }
 
     @Override
-    public Id id() {
+    Id id(IdComputer.Hasher hasher) {
         return Id.as(proofs().get(0).bytes());
     }
 
@@ -64,18 +63,4 @@ public class GenesisTransaction extends Transaction {
         return amount;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        GenesisTransaction that = (GenesisTransaction) o;
-        return this.recipient.equals(that.recipient) && this.amount == that.amount;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), recipient, amount);
-    }
-
 }
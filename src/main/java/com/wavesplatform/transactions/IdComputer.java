@@ -0,0 +1,115 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.crypto.Hash;
+import com.wavesplatform.transactions.common.Id;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes ids of a batch of transactions, orders or transaction views in parallel.
+ * <p>
+ * Computed ids are stored in the same lazy caches as used by {@code id()},
+ * so they are not computed again later, and items which already have an id are not hashed.
+ * The batch is split into contiguous chunks which are hashed on the executor.
+ */
+public class IdComputer {
+
+    private static final ThreadLocal<Blake2bDigest> BLAKE2B = ThreadLocal.withInitial(() -> new Blake2bDigest(256));
+
+    private final Hasher hasher;
+    private final ParallelBatch parallelBatch;
+
+    /**
+     * Hash function of ids, which is Blake2b-256.
+     * Implementations must be thread-safe.
+     */
+    @FunctionalInterface
+    public interface Hasher {
+
+        /**
+         * Hash of waves-crypto, which is used by {@code id()} by default. It takes whole arrays only,
+         * so slices are copied before hashing.
+         */
+        Hasher WAVES_CRYPTO = (bytes, offset, length) -> Hash.blake(offset == 0 && length == bytes.length
+                ? bytes : Arrays.copyOfRange(bytes, offset, offset + length));
+
+        /**
+         * Blake2b digest of BouncyCastle which is reused by every thread and hashes slices without copying.
+         */
+        Hasher BLAKE2B = IdComputer::blake2b;
+
+        /**
+         * @param bytes array which contains the body bytes
+         * @param offset offset of the body bytes in the array
+         * @param length size of the body bytes
+         * @return 32-byte hash
+         */
+        byte[] hash(byte[] bytes, int offset, int length);
+    }
+
+    /**
+     * Create computer which hashes with {@link Hasher#BLAKE2B} on the common pool.
+     */
+    public IdComputer() {
+        this(Hasher.BLAKE2B, ForkJoinPool.commonPool());
+    }
+
+    public IdComputer(Hasher hasher, ForkJoinPool pool) {
+        this(hasher, pool, pool.getParallelism());
+    }
+
+    /**
+     * @param hasher hash function of ids
+     * @param executor executor to run the hashing on
+     * @param parallelism expected count of threads of the executor, defines how many chunks the batch is split into
+     */
+    public IdComputer(Hasher hasher, Executor executor, int parallelism) {
+        this.hasher = hasher;
+        this.parallelBatch = new ParallelBatch(executor, parallelism);
+    }
+
+    /**
+     * Compute id of every item of the batch and cache it in the item.
+     *
+     * @param batch transactions or orders
+     * @return ids in the order of the batch
+     */
+    public List<Id> ids(List<? extends TransactionOrOrder> batch) {
+        Id[] ids = new Id[batch.size()];
+        parallelBatch.forEach(batch.size(), null, i -> {
+            ids[i] = batch.get(i).id(hasher);
+            return true;
+        });
+        return Collections.unmodifiableList(Arrays.asList(ids));
+    }
+
+    /**
+     * Compute id of every view of the batch and cache it in the view.
+     * Body bytes of protobuf transactions are hashed in place if the hasher supports slices.
+     *
+     * @param batch transaction views
+     * @return ids in the order of the batch
+     */
+    public List<Id> viewIds(List<TransactionView> batch) {
+        Id[] ids = new Id[batch.size()];
+        parallelBatch.forEach(batch.size(), null, i -> {
+            ids[i] = batch.get(i).id(hasher);
+            return true;
+        });
+        return Collections.unmodifiableList(Arrays.asList(ids));
+    }
+
+    private static byte[] blake2b(byte[] bytes, int offset, int length) {
+        Blake2bDigest digest = BLAKE2B.get();
+        byte[] result = new byte[digest.getDigestSize()];
+        digest.update(bytes, offset, length);
+        digest.doFinal(result, 0);
+        return result;
+    }
+
+}
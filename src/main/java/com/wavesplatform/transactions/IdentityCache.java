@@ -0,0 +1,167 @@
+package com.wavesplatform.transactions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Base58String;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+/**
+ * Optional cache which interns addresses, public keys and asset ids.
+ * <p>
+ * A small set of senders, matchers, recipients and assets is usually seen in the most of transactions.
+ * When the cache is enabled, factory methods like {@link PublicKey#as(byte[])}, {@link Address#as(String)}
+ * or {@link AssetId#as(byte[])} return the shared instance for the same bytes or string,
+ * so parsed transactions don't hold duplicated objects and the encoded string of each of them is computed once.
+ * This covers binary, protobuf and json parsing because all of them use the factory methods.
+ * <p>
+ * Each kind of values is cached separately and bounded by the max size, least recently used values are evicted.
+ * The cache is disabled by default. It is thread-safe.
+ * <p>
+ * Bytes of the interned values must not be modified.
+ */
+public abstract class IdentityCache {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private static volatile Caches caches;
+
+    /**
+     * Enable the cache with the default max size.
+     */
+    public static void enable() {
+        enable(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Enable the cache. Previously cached values are dropped.
+     *
+     * @param maxSize max count of cached values of each kind
+     */
+    public static void enable(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("Max size must be positive, but was " + maxSize);
+        caches = new Caches(maxSize);
+    }
+
+    /**
+     * Disable the cache and drop all cached values.
+     */
+    public static void disable() {
+        caches = null;
+    }
+
+    public static boolean isEnabled() {
+        return caches != null;
+    }
+
+    /**
+     * @return count of cached values of all kinds
+     */
+    public static long size() {
+        Caches current = caches;
+        return current == null ? 0 : current.addresses.size() + current.trustedAddresses.size()
+                + current.publicKeys.size() + current.assetIds.size();
+    }
+
+    public static Address address(byte[] bytes) {
+        return address(bytes, Address::new);
+    }
+
+    /**
+     * @param bytes address bytes
+     * @param factory creates the address if it's not cached, it must validate the checksum
+     *                or build the bytes with the correct one
+     * @return cached or created address
+     */
+    public static Address address(byte[] bytes, Function<byte[], Address> factory) {
+        Caches current = caches;
+        return current == null ? factory.apply(bytes) : intern(current.addresses, bytes, factory);
+    }
+
+    /**
+     * Addresses with unverified checksums are interned apart from the validated ones,
+     * so {@link Address#as(byte[])} never returns an address which didn't pass the validation.
+     *
+     * @param bytes address bytes
+     * @param factory creates the address without checking its checksum if it's not cached
+     * @return cached or created address
+     */
+    public static Address trustedAddress(byte[] bytes, Function<byte[], Address> factory) {
+        Caches current = caches;
+        if (current == null)
+            return factory.apply(bytes);
+        Address validated = current.addresses.getIfPresent(ByteBuffer.wrap(bytes));
+        return validated != null ? validated : intern(current.trustedAddresses, bytes, factory);
+    }
+
+    public static Address address(String encoded) {
+        Caches current = caches;
+        return current == null ? new Address(encoded) : intern(current.addresses, encoded, Address::new);
+    }
+
+    public static PublicKey publicKey(byte[] bytes) {
+        Caches current = caches;
+        return current == null ? new PublicKey(bytes) : intern(current.publicKeys, bytes, PublicKey::new);
+    }
+
+    public static PublicKey publicKey(String encoded) {
+        Caches current = caches;
+        return current == null ? new PublicKey(encoded) : intern(current.publicKeys, encoded, PublicKey::new);
+    }
+
+    public static AssetId assetId(byte[] bytes) {
+        Caches current = caches;
+        return current == null ? new AssetId(bytes) : intern(current.assetIds, bytes, AssetId::new);
+    }
+
+    public static AssetId assetId(String encoded) {
+        Caches current = caches;
+        return current == null ? new AssetId(encoded) : intern(current.assetIds, encoded, AssetId::new);
+    }
+
+    /**
+     * Values are looked up either by wrapped bytes or by encoded string, both keys point to the same instance.
+     * Concurrent misses may create equal instances, the last one stays in the cache which is harmless.
+     */
+    private static <T extends Base58String> T intern(Cache<Object, T> cache, byte[] bytes, Function<byte[], T> factory) {
+        ByteBuffer key = ByteBuffer.wrap(bytes);
+        T value = cache.getIfPresent(key);
+        if (value == null) {
+            value = factory.apply(bytes);
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    private static <T extends Base58String> T intern(Cache<Object, T> cache, String encoded, Function<String, T> factory) {
+        if (encoded == null)
+            return factory.apply(null);
+        T value = cache.getIfPresent(encoded);
+        if (value == null) {
+            T created = factory.apply(encoded);
+            value = intern(cache, created.bytes(), b -> created);
+            cache.put(encoded, value);
+        }
+        return value;
+    }
+
+    private static class Caches {
+        final Cache<Object, Address> addresses;
+        final Cache<Object, Address> trustedAddresses;
+        final Cache<Object, PublicKey> publicKeys;
+        final Cache<Object, AssetId> assetIds;
+
+        Caches(int maxSize) {
+            addresses = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+            trustedAddresses = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+            publicKeys = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+            assetIds = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        }
+    }
+
+}
@@ -59,22 +59,6 @@ public class InvokeScriptTransaction extends Transaction {
         return payments;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        InvokeScriptTransaction that = (InvokeScriptTransaction) o;
-        return this.dApp.equals(that.dApp)
-                && this.function.equals(that.function)
-                && this.payments.equals(that.payments);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), dApp, function, payments);
-    }
-
     public static class InvokeScriptTransactionBuilder
             extends TransactionBuilder<InvokeScriptTransactionBuilder, InvokeScriptTransaction> {
         private final Recipient dApp;
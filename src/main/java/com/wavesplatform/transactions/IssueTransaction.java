@@ -9,7 +9,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -107,25 +106,6 @@ public class IssueTransaction extends Transaction {
         return script;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        IssueTransaction that = (IssueTransaction) o;
-        return Bytes.equal(this.name, that.name)
-                && Bytes.equal(this.description, that.description)
-                && this.quantity == that.quantity
-                && this.decimals == that.decimals
-                && this.isReissuable == that.isReissuable
-                && this.script.equals(that.script);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), name, description, quantity, decimals, isReissuable, script);
-    }
-
     public static class IssueTransactionBuilder
             extends TransactionBuilder<IssueTransaction.IssueTransactionBuilder, IssueTransaction> {
         private final byte[] name;
@@ -7,7 +7,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class LeaseCancelTransaction extends Transaction {
 
@@ -44,20 +43,6 @@ public class LeaseCancelTransaction extends Transaction {
         return leaseId;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        LeaseCancelTransaction that = (LeaseCancelTransaction) o;
-        return this.leaseId.equals(that.leaseId);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), leaseId);
-    }
-
     public static class LeaseCancelTransactionBuilder
             extends TransactionBuilder<LeaseCancelTransactionBuilder, LeaseCancelTransaction> {
         private final Id leaseId;
@@ -7,7 +7,6 @@ import com.wavesplatform.transactions.common.Recipient;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class LeaseTransaction extends Transaction {
 
@@ -49,21 +48,6 @@ public class LeaseTransaction extends Transaction {
         return amount;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        LeaseTransaction that = (LeaseTransaction) o;
-        return this.amount == that.amount
-                && this.recipient.equals(that.recipient);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), recipient, amount);
-    }
-
     public static class LeaseTransactionBuilder
             extends TransactionBuilder<LeaseTransactionBuilder, LeaseTransaction> {
         private final Recipient recipient;
@@ -11,7 +11,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
 public class MassTransferTransaction extends Transaction {
 
@@ -76,22 +75,6 @@ public class MassTransferTransaction extends Transaction {
         return attachment;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        MassTransferTransaction that = (MassTransferTransaction) o;
-        return this.transfers.equals(that.transfers)
-                && this.assetId.equals(that.assetId)
-                && this.attachment.equals(that.attachment);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), transfers, assetId, attachment);
-    }
-
     public static class MassTransferTransactionBuilder
             extends TransactionBuilder<MassTransferTransactionBuilder, MassTransferTransaction> {
         private final List<Transfer> transfers;
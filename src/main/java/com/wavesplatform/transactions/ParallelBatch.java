@@ -0,0 +1,66 @@
+package com.wavesplatform.transactions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+
+/**
+ * Splits indexes of a batch into contiguous chunks and processes them on the executor.
+ */
+class ParallelBatch {
+
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Executor executor;
+    private final int parallelism;
+
+    ParallelBatch(Executor executor, int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive, but was " + parallelism);
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Process every index of the batch and wait for completion.
+     * Small batches are processed on the caller thread.
+     *
+     * @param size size of the batch
+     * @param failed if not null, it is set when any index is not processed successfully and the rest are skipped
+     * @param action processes the index and returns false on failure
+     */
+    void forEach(int size, AtomicBoolean failed, IntPredicate action) {
+        int chunks = Math.min(parallelism * CHUNKS_PER_THREAD, (size + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        if (chunks <= 1) {
+            processRange(0, size, failed, action);
+            return;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int from = (int) ((long) size * c / chunks);
+            int to = (int) ((long) size * (c + 1) / chunks);
+            futures[c] = CompletableFuture.runAsync(() -> processRange(from, to, failed, action), executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private static void processRange(int from, int to, AtomicBoolean failed, IntPredicate action) {
+        for (int i = from; i < to; i++) {
+            if (failed != null && failed.get())
+                return;
+            if (!action.test(i) && failed != null)
+                failed.set(true);
+        }
+    }
+
+}
@@ -7,7 +7,6 @@ import com.wavesplatform.transactions.common.Id;
 import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
-import java.util.Objects;
 
 @Deprecated
 public class PaymentTransaction extends Transaction {
@@ -41,7 +40,7 @@ public class PaymentTransaction extends Transaction {
     }
 
     @Override
-    public Id id() {
+    Id id(IdComputer.Hasher hasher) {
         return Id.as(proofs().get(0).bytes());
     }
 
@@ -53,18 +52,4 @@ public class PaymentTransaction extends Transaction {
         return amount;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        PaymentTransaction that = (PaymentTransaction) o;
-        return this.recipient.equals(that.recipient) && this.amount == that.amount;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), recipient, amount);
-    }
-
 }
@@ -0,0 +1,88 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.common.Proof;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verifies sender signatures of a batch of transactions and orders in parallel.
+ * <p>
+ * The signature of a transaction or order is its first proof, made by the private key of the sender.
+ * Other proofs can be checked only by the account script, so they are ignored.
+ * <p>
+ * The batch is split into contiguous chunks which are verified on the executor.
+ * Any executor can be used, for example a virtual-thread executor on newer JVMs.
+ */
+public class ProofVerifier {
+
+    private final ParallelBatch parallelBatch;
+
+    /**
+     * Create verifier which runs on the common pool.
+     */
+    public ProofVerifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ProofVerifier(ForkJoinPool pool) {
+        this(pool, pool.getParallelism());
+    }
+
+    /**
+     * @param executor executor to run the verification on
+     * @param parallelism expected count of threads of the executor, defines how many chunks the batch is split into
+     */
+    public ProofVerifier(Executor executor, int parallelism) {
+        this.parallelBatch = new ParallelBatch(executor, parallelism);
+    }
+
+    /**
+     * Check if the first proof is a valid signature of the sender.
+     *
+     * @param txOrOrder transaction or order
+     * @return false if the proof is missing or invalid
+     */
+    public static boolean isSignedBySender(TransactionOrOrder txOrOrder) {
+        List<Proof> proofs = txOrOrder.proofs();
+        if (proofs.isEmpty())
+            return false;
+        byte[] signature = proofs.get(0).bytes();
+        return signature.length == Proof.BYTE_LENGTH
+                && txOrOrder.sender().isSignatureValid(txOrOrder.bodyBytes(), signature);
+    }
+
+    /**
+     * Verify every item of the batch.
+     *
+     * @param batch transactions or orders
+     * @return result of {@link #isSignedBySender(TransactionOrOrder)} for every item in the same order
+     */
+    public List<Boolean> verify(List<? extends TransactionOrOrder> batch) {
+        boolean[] valid = new boolean[batch.size()];
+        parallelBatch.forEach(batch.size(), null, i -> valid[i] = isSignedBySender(batch.get(i)));
+
+        List<Boolean> result = new ArrayList<>(valid.length);
+        for (boolean v : valid)
+            result.add(v);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Verify the batch until the first invalid item is found.
+     * Items which are not yet checked at that moment are skipped.
+     *
+     * @param batch transactions or orders
+     * @return true if all items are signed by their senders
+     */
+    public boolean verifyAll(List<? extends TransactionOrOrder> batch) {
+        AtomicBoolean failed = new AtomicBoolean();
+        parallelBatch.forEach(batch.size(), failed, i -> isSignedBySender(batch.get(i)));
+        return !failed.get();
+    }
+
+}
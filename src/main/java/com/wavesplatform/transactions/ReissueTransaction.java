@@ -6,7 +6,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class ReissueTransaction extends Transaction {
 
@@ -52,21 +51,6 @@ public class ReissueTransaction extends Transaction {
         return reissuable;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        ReissueTransaction that = (ReissueTransaction) o;
-        return this.amount.equals(that.amount)
-                && this.reissuable == that.reissuable;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), amount, reissuable);
-    }
-
     public static class ReissueTransactionBuilder
             extends TransactionBuilder<ReissueTransactionBuilder, ReissueTransaction> {
         private final Amount amount;
@@ -8,7 +8,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class SetAssetScriptTransaction extends Transaction {
 
@@ -54,21 +53,6 @@ public class SetAssetScriptTransaction extends Transaction {
         return script;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        SetAssetScriptTransaction that = (SetAssetScriptTransaction) o;
-        return this.assetId.equals(that.assetId)
-                && this.script.equals(that.script);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), assetId, script);
-    }
-
     public static class SetAssetScriptTransactionBuilder
             extends TransactionBuilder<SetAssetScriptTransactionBuilder, SetAssetScriptTransaction> {
         private final AssetId assetId;
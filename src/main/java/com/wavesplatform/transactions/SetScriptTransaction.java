@@ -7,7 +7,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class SetScriptTransaction extends Transaction {
 
@@ -45,20 +44,6 @@ public class SetScriptTransaction extends Transaction {
         return script;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        SetScriptTransaction that = (SetScriptTransaction) o;
-        return this.script.equals(that.script);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), script);
-    }
-
     public static class SetScriptTransactionBuilder
             extends TransactionBuilder<SetScriptTransactionBuilder, SetScriptTransaction> {
         private final Base64String script;
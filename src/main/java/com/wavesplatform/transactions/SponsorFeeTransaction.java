@@ -7,7 +7,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class SponsorFeeTransaction extends Transaction {
 
@@ -53,21 +52,6 @@ public class SponsorFeeTransaction extends Transaction {
         return minSponsoredFee;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        SponsorFeeTransaction that = (SponsorFeeTransaction) o;
-        return this.assetId.equals(that.assetId)
-                && this.minSponsoredFee == that.minSponsoredFee;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), assetId, minSponsoredFee);
-    }
-
     public static class SponsorFeeTransactionBuilder
             extends TransactionBuilder<SponsorFeeTransactionBuilder, SponsorFeeTransaction> {
         private final AssetId assetId;
@@ -9,8 +9,8 @@ import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
 import com.wavesplatform.transactions.serializers.json.JsonSerializer;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Objects;
 
 public abstract class Transaction extends TransactionOrOrder {
 
@@ -26,6 +26,18 @@ public abstract class Transaction extends TransactionOrOrder {
         return BinarySerializer.transactionFromBytes(bytes);
     }
 
+    public static Transaction fromBytes(ByteBuffer bytes) throws IOException {
+        return BinarySerializer.transactionFromBytes(bytes);
+    }
+
+    public static Transaction fromLegacyBytes(byte[] bytes) {
+        return BinarySerializer.transactionFromLegacyBytes(ByteBuffer.wrap(bytes));
+    }
+
+    public static Transaction fromProtobufBytes(byte[] bytes) throws IOException {
+        return BinarySerializer.transactionFromProtobufBytes(ByteBuffer.wrap(bytes));
+    }
+
     public static Transaction fromJson(String json) throws IOException {
         return JsonSerializer.fromJson(json);
     }
@@ -42,20 +54,6 @@ public abstract class Transaction extends TransactionOrOrder {
         return ProtobufConverter.toProtobuf(this);
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        Transaction that = (Transaction) o;
-        return this.type == that.type;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), type);
-    }
-
     public static abstract class TransactionBuilder
             <BUILDER extends TransactionBuilder<BUILDER, TX>, TX extends Transaction>
             extends TransactionOrOrderBuilder<BUILDER, TX> {
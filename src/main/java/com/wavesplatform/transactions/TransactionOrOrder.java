@@ -1,7 +1,6 @@
 package com.wavesplatform.transactions;
 
 import com.wavesplatform.crypto.Bytes;
-import com.wavesplatform.crypto.Hash;
 import com.wavesplatform.transactions.account.PrivateKey;
 import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.Amount;
@@ -11,20 +10,31 @@ import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
 import com.wavesplatform.transactions.serializers.json.JsonSerializer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
+/**
+ * Base of transactions and orders.
+ * <p>
+ * Body bytes, id and full bytes are computed lazily at most once per state and can be read from any thread.
+ * Body bytes and id don't depend on proofs, while full bytes are dropped whenever proofs are changed.
+ * Body bytes are shared by all callers and must not be modified, {@link #toBytes()} returns a copy.
+ */
 @SuppressWarnings({"UnusedReturnValue", "unchecked", "unused"})
 public abstract class TransactionOrOrder {
 
-    private Id id;
+    private volatile Id id;
     private final int version;
     private final byte chainId;
     private final PublicKey sender;
     private final Amount fee;
     private final long timestamp;
     private final List<Proof> proofs;
-    private byte[] bodyBytes;
+    private final List<Proof> proofsView;
+    private volatile byte[] bodyBytes;
+    private volatile byte[] bytes;
+    private int hashCode;
 
     protected TransactionOrOrder(int version, byte chainId, PublicKey sender, Amount fee, long timestamp, List<Proof> proofs) {
         this.id = null;
@@ -34,6 +44,7 @@ public abstract class TransactionOrOrder {
         this.fee = fee;
         this.timestamp = timestamp;
         this.proofs = proofs == null ? Proof.emptyList() : new ArrayList<>(proofs);
+        this.proofsView = Collections.unmodifiableList(this.proofs);
     }
 
     public int version() {
@@ -56,24 +67,50 @@ public abstract class TransactionOrOrder {
         return timestamp;
     }
 
+    /**
+     * @return unmodifiable view of the proofs, use {@link #addProof(Proof)} or {@link #setProof(int, Proof)} to change them
+     */
     public List<Proof> proofs() {
-        return proofs;
+        return proofsView;
     }
 
     public byte[] bodyBytes() {
-        if (this.bodyBytes == null)
-            this.bodyBytes = BinarySerializer.bodyBytes(this);
-        return this.bodyBytes;
+        byte[] result = this.bodyBytes;
+        if (result == null)
+            synchronized (this) {
+                result = this.bodyBytes;
+                if (result == null)
+                    this.bodyBytes = result = BinarySerializer.bodyBytes(this);
+            }
+        return result;
     }
 
     public Id id() {
-        if (id == null)
-            id = new Id(Hash.blake(bodyBytes()));
-        return id;
+        return id(IdComputer.Hasher.WAVES_CRYPTO);
+    }
+
+    /**
+     * @param hasher hash function to compute the id with if it's not computed yet
+     * @return cached id
+     */
+    Id id(IdComputer.Hasher hasher) {
+        Id result = this.id;
+        if (result == null)
+            synchronized (this) {
+                result = this.id;
+                if (result == null) {
+                    byte[] body = bodyBytes();
+                    this.id = result = new Id(hasher.hash(body, 0, body.length));
+                }
+            }
+        return result;
     }
 
     public <T extends TransactionOrOrder> T addProof(Proof proof) {
-        proofs.add(proof);
+        synchronized (this) {
+            proofs.add(proof);
+            bytes = null;
+        }
         return (T) this;
     }
 
@@ -83,14 +120,20 @@ public abstract class TransactionOrOrder {
     }
 
     public <T extends TransactionOrOrder> T addProofs(List<Proof> proofs) {
-        this.proofs.addAll(proofs);
+        synchronized (this) {
+            this.proofs.addAll(proofs);
+            bytes = null;
+        }
         return (T) this;
     }
 
     public <T extends TransactionOrOrder> T setProof(int index, Proof proof) {
-        for (int i = proofs.size(); i <= index; i++)
-            proofs.add(Proof.as(Bytes.empty()));
-        proofs.set(index, proof);
+        synchronized (this) {
+            for (int i = proofs.size(); i <= index; i++)
+                proofs.add(Proof.as(Bytes.empty()));
+            proofs.set(index, proof);
+            bytes = null;
+        }
         return (T) this;
     }
 
@@ -99,8 +142,25 @@ public abstract class TransactionOrOrder {
         return (T) this;
     }
 
+    /**
+     * @return copy of the cached full bytes
+     */
     public byte[] toBytes() {
-        return BinarySerializer.toBytes(this);
+        return cachedBytes().clone();
+    }
+
+    /**
+     * @return cached full bytes, shared by all callers
+     */
+    byte[] cachedBytes() {
+        byte[] result = this.bytes;
+        if (result == null)
+            synchronized (this) {
+                result = this.bytes;
+                if (result == null)
+                    this.bytes = result = BinarySerializer.toBytes(this);
+            }
+        return result;
     }
 
     public String toPrettyJson() {
@@ -117,12 +177,23 @@ public abstract class TransactionOrOrder {
         if (o == null || getClass() != o.getClass()) return false;
         TransactionOrOrder that = (TransactionOrOrder) o;
         return Bytes.equal(this.bodyBytes(), that.bodyBytes())
-                && this.proofs.equals(that.proofs);
+                && this.proofsSnapshot().equals(that.proofsSnapshot());
+    }
+
+    private synchronized List<Proof> proofsSnapshot() {
+        return new ArrayList<>(proofs);
     }
 
+    /**
+     * Hash code is taken from the body bytes, so it's computed once and doesn't change when proofs are added.
+     * Unlike the id, body bytes are defined for unsigned genesis and payment transactions too.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(this.bodyBytes(), proofs);
+        int result = this.hashCode;
+        if (result == 0)
+            this.hashCode = result = Arrays.hashCode(bodyBytes());
+        return result;
     }
 
     @Override
@@ -0,0 +1,322 @@
+package com.wavesplatform.transactions;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
+import com.google.protobuf.WireFormat;
+import com.wavesplatform.protobuf.AmountOuterClass;
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.Scheme;
+import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only view of a serialized transaction which decodes its fields on demand.
+ * <p>
+ * For protobuf bytes only the header of the transaction is scanned when the view is created:
+ * type, version, chain id and timestamp, and positions of the body, sender and fee.
+ * Sender, fee and proofs are decoded on the first access, and the whole {@link Transaction}
+ * is built only by {@link #toTransaction()}.
+ * Body bytes are taken from the original bytes instead of encoding the message again,
+ * so the id is just a hash of a slice. This relies on the deterministic encoding of transactions
+ * which is used by all Waves nodes and libraries.
+ * <p>
+ * Legacy bytes have no field tags to skip by, so such transactions are parsed when the view is created
+ * and the view delegates to the parsed transaction.
+ * <p>
+ * The view keeps a reference to the array, so it must not be changed while the view is used.
+ * Lazily decoded values are cached and can be read from any thread.
+ */
+public class TransactionView {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    private final int type;
+    private final int version;
+    private final byte chainId;
+    private final long timestamp;
+    private final int bodyOffset;
+    private final int bodyLength;
+    private final int senderOffset;
+    private final int feeOffset;
+    private final int feeLength;
+
+    private volatile PublicKey sender;
+    private volatile Amount fee;
+    private volatile Id id;
+    private volatile List<Proof> proofs;
+    private volatile Transaction transaction;
+
+    private TransactionView(byte[] bytes, int offset, int length) throws IOException {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+
+        int bodyOffset = -1, bodyLength = 0;
+        CodedInputStream signed = CodedInputStream.newInstance(bytes, offset, length);
+        for (int tag = signed.readTag(); tag != 0; tag = signed.readTag()) {
+            if (tag == lengthDelimitedTag(TransactionOuterClass.SignedTransaction.TRANSACTION_FIELD_NUMBER)) {
+                bodyLength = signed.readRawVarint32();
+                bodyOffset = offset + signed.getTotalBytesRead();
+                signed.skipRawBytes(bodyLength);
+            } else if (!signed.skipField(tag))
+                break;
+        }
+        if (bodyOffset < 0)
+            throw new InvalidProtocolBufferException("Parsed bytes are not a Transaction");
+
+        int type = 0, version = 0, chainId = 0, senderOffset = -1, feeOffset = -1, feeLength = 0;
+        long timestamp = 0;
+        CodedInputStream body = CodedInputStream.newInstance(bytes, bodyOffset, bodyLength);
+        for (int tag = body.readTag(); tag != 0; tag = body.readTag()) {
+            int field = WireFormat.getTagFieldNumber(tag);
+            int wireType = WireFormat.getTagWireType(tag);
+            if (field == TransactionOuterClass.Transaction.CHAIN_ID_FIELD_NUMBER && wireType == WireFormat.WIRETYPE_VARINT)
+                chainId = body.readInt32();
+            else if (field == TransactionOuterClass.Transaction.TIMESTAMP_FIELD_NUMBER && wireType == WireFormat.WIRETYPE_VARINT)
+                timestamp = body.readInt64();
+            else if (field == TransactionOuterClass.Transaction.VERSION_FIELD_NUMBER && wireType == WireFormat.WIRETYPE_VARINT)
+                version = body.readInt32();
+            else if (wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED
+                    && (field == TransactionOuterClass.Transaction.SENDER_PUBLIC_KEY_FIELD_NUMBER
+                    || field == TransactionOuterClass.Transaction.FEE_FIELD_NUMBER
+                    || isDataField(field))) {
+                int fieldLength = body.readRawVarint32();
+                int fieldOffset = bodyOffset + body.getTotalBytesRead();
+                body.skipRawBytes(fieldLength);
+                if (field == TransactionOuterClass.Transaction.SENDER_PUBLIC_KEY_FIELD_NUMBER) {
+                    if (fieldLength != PublicKey.BYTES_LENGTH)
+                        throw new InvalidProtocolBufferException("Sender public key has wrong size " + fieldLength);
+                    senderOffset = fieldOffset;
+                } else if (field == TransactionOuterClass.Transaction.FEE_FIELD_NUMBER) {
+                    feeOffset = fieldOffset;
+                    feeLength = fieldLength;
+                } else
+                    type = field - TransactionOuterClass.Transaction.GENESIS_FIELD_NUMBER + GenesisTransaction.TYPE;
+            } else if (!body.skipField(tag))
+                break;
+        }
+        if (type == 0)
+            throw new InvalidProtocolBufferException("Can't recognize transaction type");
+
+        this.type = type;
+        this.version = version;
+        this.chainId = (byte) chainId;
+        this.timestamp = timestamp;
+        this.bodyOffset = bodyOffset;
+        this.bodyLength = bodyLength;
+        this.senderOffset = senderOffset;
+        this.feeOffset = feeOffset;
+        this.feeLength = feeLength;
+    }
+
+    private TransactionView(Transaction transaction) {
+        this.bytes = null;
+        this.offset = 0;
+        this.length = 0;
+        this.type = transaction.type();
+        this.version = transaction.version();
+        this.chainId = transaction.chainId();
+        this.timestamp = transaction.timestamp();
+        this.bodyOffset = -1;
+        this.bodyLength = 0;
+        this.senderOffset = -1;
+        this.feeOffset = -1;
+        this.feeLength = 0;
+        this.transaction = transaction;
+    }
+
+    public static TransactionView of(byte[] bytes) throws IOException {
+        return of(bytes, 0, bytes.length);
+    }
+
+    /**
+     * @param bytes array which contains the transaction
+     * @param offset offset of the transaction in the array
+     * @param length size of the transaction
+     * @return view of the transaction
+     * @throws IOException if the bytes are not a transaction
+     */
+    public static TransactionView of(byte[] bytes, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+        if (BinarySerializer.schemeOfTransaction(buffer) == Scheme.PROTOBUF)
+            return new TransactionView(bytes, offset, length);
+        else
+            return new TransactionView(BinarySerializer.transactionFromLegacyBytes(buffer));
+    }
+
+    /**
+     * Create view of the already parsed message. The message is encoded to get its bytes.
+     *
+     * @param signed protobuf transaction
+     * @return view of the transaction
+     * @throws IOException if the message has no transaction
+     */
+    public static TransactionView of(TransactionOuterClass.SignedTransaction signed) throws IOException {
+        return of(signed.toByteArray());
+    }
+
+    public int type() {
+        return type;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public byte chainId() {
+        return chainId;
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return sender public key, or the key of zero bytes if the transaction has no sender like genesis does
+     */
+    public PublicKey sender() {
+        if (isLegacy())
+            return transaction.sender();
+        PublicKey result = sender;
+        if (result == null)
+            sender = result = senderOffset < 0
+                    ? PublicKey.as(new byte[PublicKey.BYTES_LENGTH])
+                    : PublicKey.as(Arrays.copyOfRange(bytes, senderOffset, senderOffset + PublicKey.BYTES_LENGTH));
+        return result;
+    }
+
+    public Amount fee() {
+        if (isLegacy())
+            return transaction.fee();
+        Amount result = fee;
+        if (result == null) {
+            AmountOuterClass.Amount pbFee = feeOffset < 0 ? AmountOuterClass.Amount.getDefaultInstance()
+                    : parse(AmountOuterClass.Amount.parser(), feeOffset, feeLength);
+            fee = result = ProtobufConverter.pbAmountToAmount(pbFee);
+        }
+        return result;
+    }
+
+    public Id id() {
+        return id(IdComputer.Hasher.WAVES_CRYPTO);
+    }
+
+    /**
+     * Ids of genesis and payment transactions are their signatures, like {@link GenesisTransaction#id()} is.
+     */
+    @SuppressWarnings("deprecation")
+    Id id(IdComputer.Hasher hasher) {
+        if (isLegacy())
+            return transaction.id(hasher);
+        Id result = id;
+        if (result == null) {
+            if (type == GenesisTransaction.TYPE || type == PaymentTransaction.TYPE)
+                result = proofs().isEmpty() ? toTransaction().id(hasher) : Id.as(proofs().get(0).bytes());
+            else
+                result = new Id(hasher.hash(bytes, bodyOffset, bodyLength));
+            id = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return copy of the body bytes
+     */
+    public byte[] bodyBytes() {
+        if (isLegacy())
+            return transaction.bodyBytes().clone();
+        return Arrays.copyOfRange(bytes, bodyOffset, bodyOffset + bodyLength);
+    }
+
+    /**
+     * @return copy of the transaction bytes
+     */
+    public byte[] toBytes() {
+        if (isLegacy())
+            return transaction.toBytes();
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    public List<Proof> proofs() {
+        if (isLegacy())
+            return transaction.proofs();
+        List<Proof> result = proofs;
+        if (result == null) {
+            List<Proof> list = new ArrayList<>(1);
+            CodedInputStream signed = CodedInputStream.newInstance(bytes, offset, length);
+            try {
+                for (int tag = signed.readTag(); tag != 0; tag = signed.readTag())
+                    if (tag == lengthDelimitedTag(TransactionOuterClass.SignedTransaction.PROOFS_FIELD_NUMBER))
+                        list.add(Proof.as(signed.readByteArray()));
+                    else if (!signed.skipField(tag))
+                        break;
+            } catch (IOException e) {
+                throw new IllegalStateException("Bytes of the view are not a transaction", e);
+            }
+            proofs = result = Collections.unmodifiableList(list);
+        }
+        return result;
+    }
+
+    /**
+     * Decode the whole transaction. It's decoded once and the same instance is returned after that.
+     *
+     * @return transaction
+     */
+    public Transaction toTransaction() {
+        Transaction result = transaction;
+        if (result == null)
+            synchronized (this) {
+                result = transaction;
+                if (result == null)
+                    try {
+                        transaction = result = BinarySerializer.transactionFromProtobufBytes(
+                                ByteBuffer.wrap(bytes, offset, length));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Bytes of the view are not a transaction", e);
+                    }
+            }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionView{type=" + type + ", version=" + version + ", id=" + id() + "}";
+    }
+
+    private boolean isLegacy() {
+        return bytes == null;
+    }
+
+    private <T> T parse(Parser<T> parser, int from, int size) {
+        try {
+            return parser.parseFrom(bytes, from, size);
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException("Bytes of the view are not a transaction", e);
+        }
+    }
+
+    private static boolean isDataField(int field) {
+        return field >= TransactionOuterClass.Transaction.GENESIS_FIELD_NUMBER
+                && field <= TransactionOuterClass.Transaction.UPDATE_ASSET_INFO_FIELD_NUMBER;
+    }
+
+    private static int lengthDelimitedTag(int field) {
+        return field << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    }
+
+}
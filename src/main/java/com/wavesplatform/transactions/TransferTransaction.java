@@ -5,7 +5,6 @@ import com.wavesplatform.transactions.common.*;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class TransferTransaction extends Transaction {
 
@@ -55,22 +54,6 @@ public class TransferTransaction extends Transaction {
         return attachment;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        TransferTransaction that = (TransferTransaction) o;
-        return this.amount.equals(that.amount)
-                && this.recipient.equals(that.recipient)
-                && this.attachment.equals(that.attachment);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), recipient, amount, attachment);
-    }
-
     public static class TransferTransactionBuilder
             extends TransactionBuilder<TransferTransactionBuilder, TransferTransaction> {
         private final Recipient recipient;
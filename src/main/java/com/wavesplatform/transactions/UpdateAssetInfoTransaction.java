@@ -7,7 +7,6 @@ import com.wavesplatform.transactions.common.Proof;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 public class UpdateAssetInfoTransaction extends Transaction {
 
@@ -59,22 +58,6 @@ public class UpdateAssetInfoTransaction extends Transaction {
         return description;
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        UpdateAssetInfoTransaction that = (UpdateAssetInfoTransaction) o;
-        return this.assetId.equals(that.assetId)
-                && this.name.equals(that.name)
-                && this.description.equals(that.description);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), assetId, name, description);
-    }
-
     public static class UpdateAssetInfoTransactionBuilder
             extends TransactionBuilder<UpdateAssetInfoTransactionBuilder, UpdateAssetInfoTransaction> {
         private final AssetId assetId;
@@ -1,12 +1,16 @@
 package com.wavesplatform.transactions.account;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.crypto.Crypto;
 import com.wavesplatform.crypto.Hash;
-import com.wavesplatform.crypto.base.Base58;
+import com.wavesplatform.transactions.IdentityCache;
+import com.wavesplatform.transactions.common.Base58Codec;
 import com.wavesplatform.transactions.common.Base58String;
 import com.wavesplatform.transactions.common.Recipient;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
@@ -16,7 +20,12 @@ import java.util.Arrays;
 public class Address extends Base58String implements Recipient {
 
     private static final int CHECKSUM_LENGTH = 4;
-    private static final int PUBLIC_KEY_HASH_LENGTH = 20;
+    public static final int PUBLIC_KEY_HASH_LENGTH = 20;
+    private static final int BODY_LENGTH = 1 + 1 + PUBLIC_KEY_HASH_LENGTH;
+
+    private static volatile Cache<ByteBuffer, Integer> checksums;
+    private static volatile Cache<ByteBuffer, Address> derived;
+    private static volatile boolean trustDecoded;
 
     public static final String PREFIX = "address:";
     public static final byte TYPE = 1;
@@ -31,7 +40,18 @@ public class Address extends Base58String implements Recipient {
      * @return address
      */
     public static Address from(byte chainId, PublicKey publicKey) {
-        return new Address(chainId, publicKey);
+        Cache<ByteBuffer, Address> cache = derived;
+        if (cache == null)
+            return derive(chainId, publicKey);
+
+        ByteBuffer key = ByteBuffer.allocate(1 + PublicKey.BYTES_LENGTH).put(chainId).put(publicKey.bytes());
+        key.flip();
+        Address address = cache.getIfPresent(key);
+        if (address == null) {
+            address = derive(chainId, publicKey);
+            cache.put(key, address);
+        }
+        return address;
     }
 
     /**
@@ -42,7 +62,7 @@ public class Address extends Base58String implements Recipient {
      * @return address
      */
     public static Address fromPart(byte chainId, byte[] publicKeyHash) {
-        return new Address(chainId, publicKeyHash);
+        return IdentityCache.address(addressBytes(chainId, publicKeyHash), Address::trusted);
     }
 
     /**
@@ -52,7 +72,7 @@ public class Address extends Base58String implements Recipient {
      * @return address instance
      */
     public static Address as(String base58Encoded) {
-        return new Address(base58Encoded);
+        return IdentityCache.address(base58Encoded);
     }
 
     /**
@@ -62,7 +82,77 @@ public class Address extends Base58String implements Recipient {
      * @return address instance
      */
     public static Address as(byte[] bytes) {
-        return new Address(bytes);
+        return IdentityCache.address(bytes);
+    }
+
+    /**
+     * Create address instance from bytes which are known to be valid,
+     * for example read from a source which is already verified.
+     * Only the length and the version are checked, the checksum is not.
+     *
+     * @param bytes address bytes
+     * @return address instance
+     */
+    public static Address asTrusted(byte[] bytes) {
+        return IdentityCache.trustedAddress(bytes, Address::trusted);
+    }
+
+    /**
+     * Create address instance from bytes read by the binary or protobuf transaction decoder.
+     * The checksum is validated unless {@link #enableTrustedDecoding()} was called.
+     *
+     * @param bytes address bytes
+     * @return address instance
+     */
+    public static Address fromDecoded(byte[] bytes) {
+        return trustDecoded ? asTrusted(bytes) : as(bytes);
+    }
+
+    /**
+     * Skip checksum validation of addresses read by the transaction decoders,
+     * for example when transactions are read from a node which already verified them.
+     * Disabled by default.
+     */
+    public static void enableTrustedDecoding() {
+        trustDecoded = true;
+    }
+
+    public static void disableTrustedDecoding() {
+        trustDecoded = false;
+    }
+
+    /**
+     * Cache checksums of seen addresses, so the same address is validated or generated
+     * from its public key hash without hashing. The cache is disabled by default.
+     * Previously cached checksums are dropped.
+     *
+     * @param maxSize max count of cached checksums, least recently used ones are evicted
+     */
+    public static void enableChecksumCache(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("Max size must be positive, but was " + maxSize);
+        checksums = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public static void disableChecksumCache() {
+        checksums = null;
+    }
+
+    /**
+     * Cache addresses derived from public keys by {@link #from(byte, PublicKey)}, so addresses of the same senders
+     * are not hashed again even if their public keys are different instances. The cache is disabled by default.
+     * Previously cached addresses are dropped.
+     *
+     * @param maxSize max count of cached addresses, least recently used ones are evicted
+     */
+    public static void enableDerivationCache(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("Max size must be positive, but was " + maxSize);
+        derived = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public static void disableDerivationCache() {
+        derived = null;
     }
 
     /**
@@ -74,7 +164,7 @@ public class Address extends Base58String implements Recipient {
      */
     public static boolean isValid(byte chainId, String address) {
         try {
-            return isValid(chainId, Base58.decode(address));
+            return isValid(chainId, Base58Codec.decode(address));
         } catch (IllegalArgumentException iae) {
             return false;
         }
@@ -88,7 +178,7 @@ public class Address extends Base58String implements Recipient {
      */
     public static boolean isValid(String address) {
         try {
-            return isValid(Base58.decode(address));
+            return isValid(Base58Codec.decode(address));
         } catch (IllegalArgumentException iae) {
             return false;
         }
@@ -137,7 +227,7 @@ public class Address extends Base58String implements Recipient {
      * @param chainId blockchain network Id
      */
     public Address(byte chainId, byte[] publicKeyHash) {
-        super(Crypto.getAddress(chainId, publicKeyHash));
+        super(addressBytes(chainId, publicKeyHash));
     }
 
     /**
@@ -146,7 +236,7 @@ public class Address extends Base58String implements Recipient {
      * @param address address bytes as base58-encoded string
      */
     public Address(String address) {
-        super(Base58.decode(address));
+        super(Base58Codec.decode(address));
     }
 
     /**
@@ -155,22 +245,70 @@ public class Address extends Base58String implements Recipient {
      * @param addressBytes address bytes
      */
     public Address(byte[] addressBytes) {
+        this(addressBytes, true);
+    }
+
+    private Address(byte[] addressBytes, boolean validateChecksum) {
         super(addressBytes);
 
-        if (addressBytes.length != 26)
+        if (addressBytes.length != BYTES_LENGTH)
             throw new IllegalArgumentException("Address has wrong length. " +
-                    "Expected: " + 26 + " bytes, actual: " + addressBytes.length + " bytes");
-        if (addressBytes[0] != 1)
+                    "Expected: " + BYTES_LENGTH + " bytes, actual: " + addressBytes.length + " bytes");
+        if (addressBytes[0] != TYPE)
             throw new IllegalArgumentException("Address has unknown version " + addressBytes[0] + ". Expected: " + TYPE);
 
-        byte[][] parts = Bytes.chunk(addressBytes, 22, 4);
-        byte[] checkSumPrefix = Bytes.chunk(Hash.secureHash(parts[0]), 4)[0];
-        if (!Bytes.equal(parts[1], checkSumPrefix))
-            throw new IllegalArgumentException(String.format(
-                    "Address has wrong checksum base58:%s instead of base58:%s",
-                    Base58.encode(parts[1]),
-                    Base58.encode(checkSumPrefix)
-            ));
+        if (validateChecksum) {
+            int expected = checksum(addressBytes);
+            int actual = ByteBuffer.wrap(addressBytes).getInt(BODY_LENGTH);
+            if (actual != expected)
+                throw new IllegalArgumentException(String.format(
+                        "Address has wrong checksum base58:%s instead of base58:%s",
+                        Base58Codec.encode(ByteBuffer.allocate(CHECKSUM_LENGTH).putInt(actual).array()),
+                        Base58Codec.encode(ByteBuffer.allocate(CHECKSUM_LENGTH).putInt(expected).array())
+                ));
+        }
+    }
+
+    private static Address derive(byte chainId, PublicKey publicKey) {
+        return fromPart(chainId, Crypto.getPublicKeyHash(publicKey.bytes()));
+    }
+
+    private static Address trusted(byte[] addressBytes) {
+        return new Address(addressBytes, false);
+    }
+
+    private static byte[] addressBytes(byte chainId, byte[] publicKeyHash) {
+        if (publicKeyHash.length != PUBLIC_KEY_HASH_LENGTH)
+            throw new IllegalArgumentException("Public key hash has wrong length. " +
+                    "Expected: " + PUBLIC_KEY_HASH_LENGTH + " bytes, actual: " + publicKeyHash.length + " bytes");
+        byte[] bytes = new byte[BYTES_LENGTH];
+        bytes[0] = TYPE;
+        bytes[1] = chainId;
+        System.arraycopy(publicKeyHash, 0, bytes, 2, PUBLIC_KEY_HASH_LENGTH);
+        ByteBuffer.wrap(bytes).putInt(BODY_LENGTH, checksum(bytes));
+        return bytes;
+    }
+
+    /**
+     * @return first 4 bytes of the secure hash of the address without checksum
+     */
+    private static int checksum(byte[] addressBytes) {
+        Cache<ByteBuffer, Integer> cache = checksums;
+        if (cache == null)
+            return computeChecksum(addressBytes);
+
+        ByteBuffer body = ByteBuffer.wrap(Arrays.copyOf(addressBytes, BODY_LENGTH));
+        Integer checksum = cache.getIfPresent(body);
+        if (checksum == null) {
+            checksum = computeChecksum(body.array());
+            cache.put(body, checksum);
+        }
+        return checksum;
+    }
+
+    private static int computeChecksum(byte[] addressBytes) {
+        byte[] body = addressBytes.length == BODY_LENGTH ? addressBytes : Arrays.copyOf(addressBytes, BODY_LENGTH);
+        return ByteBuffer.wrap(Hash.secureHash(body)).getInt();
     }
 
     public byte type() {
@@ -2,8 +2,8 @@ package com.wavesplatform.transactions.account;
 
 import com.google.common.base.Suppliers;
 import com.wavesplatform.crypto.Crypto;
-import com.wavesplatform.crypto.base.Base58;
 import com.wavesplatform.transactions.WavesConfig;
+import com.wavesplatform.transactions.common.Base58Codec;
 import com.wavesplatform.transactions.common.Base58String;
 
 import java.nio.charset.StandardCharsets;
@@ -86,7 +86,7 @@ public class PrivateKey extends Base58String {
      * @param base58Encoded private key bytes as base58-encoded string
      */
     public PrivateKey(String base58Encoded) {
-        this(Base58.decode(base58Encoded));
+        this(Base58Codec.decode(base58Encoded));
     }
 
     /**
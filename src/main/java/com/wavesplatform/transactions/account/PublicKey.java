@@ -1,6 +1,7 @@
 package com.wavesplatform.transactions.account;
 
 import com.wavesplatform.crypto.Crypto;
+import com.wavesplatform.transactions.IdentityCache;
 import com.wavesplatform.transactions.WavesConfig;
 import com.wavesplatform.transactions.common.Base58String;
 import com.wavesplatform.transactions.common.Proof;
@@ -15,6 +16,12 @@ public class PublicKey extends Base58String {
 
     public static final int BYTES_LENGTH = 32;
 
+    /**
+     * Address derived last time. The field is not volatile because Address is immutable
+     * and a thread which doesn't see the cached value just derives the same address again.
+     */
+    private Address address;
+
     /**
      * Generate public key from the private key.
      *
@@ -32,7 +39,7 @@ public class PublicKey extends Base58String {
      * @return public key instance
      */
     public static PublicKey as(String base58Encoded) {
-        return new PublicKey(base58Encoded);
+        return IdentityCache.publicKey(base58Encoded);
     }
 
     /**
@@ -42,7 +49,7 @@ public class PublicKey extends Base58String {
      * @return public key instance
      */
     public static PublicKey as(byte[] bytes) {
-        return new PublicKey(bytes);
+        return IdentityCache.publicKey(bytes);
     }
 
     /**
@@ -79,12 +86,16 @@ public class PublicKey extends Base58String {
     /**
      * Get an address generated from the public key.
      * Depends on the Id of a particular blockchain network.
+     * The address of the last requested network is kept, so it's derived once for the usual single network.
      *
      * @param chainId blockchain network Id.
      * @return address
      */
     public Address address(byte chainId) {
-        return Address.from(chainId, this);
+        Address result = address;
+        if (result == null || result.chainId() != chainId)
+            address = result = Address.from(chainId, this);
+        return result;
     }
 
     /**
@@ -94,7 +105,7 @@ public class PublicKey extends Base58String {
      * @return address
      */
     public Address address() {
-        return Address.from(WavesConfig.chainId(), this);
+        return address(WavesConfig.chainId());
     }
 
     /**
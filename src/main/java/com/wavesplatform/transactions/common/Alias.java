@@ -1,11 +1,12 @@
 package com.wavesplatform.transactions.common;
 
-import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.transactions.WavesConfig;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Objects;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class Alias implements Recipient {
@@ -17,6 +18,16 @@ public class Alias implements Recipient {
     public static final int BYTES_LENGTH = 1 + 1 + MAX_LENGTH;
 
     private static final String ALPHABET = "-.0-9@_a-z";
+    private static final boolean[] ALLOWED = new boolean[128];
+
+    static {
+        for (char c : "-.@_".toCharArray())
+            ALLOWED[c] = true;
+        for (char c = '0'; c <= '9'; c++)
+            ALLOWED[c] = true;
+        for (char c = 'a'; c <= 'z'; c++)
+            ALLOWED[c] = true;
+    }
 
     private final byte[] bytes;
     private final String name;
@@ -27,13 +38,36 @@ public class Alias implements Recipient {
     }
 
     public Alias(byte chainId, String name) {
-        if (isValid(chainId, name)) {
-            this.name = name.replaceFirst("^" + PREFIX + (char) chainId + ":", "");
-            this.bytes = Bytes.concat(Bytes.of(TYPE, chainId), Bytes.toSizedByteArray(this.name.getBytes(UTF_8)));
-            this.fullAlias = PREFIX + (char) bytes[1] + ":" + this.name;
-        } else throw new IllegalArgumentException("Alias must be " + MIN_LENGTH
-                + " to " + MAX_LENGTH + " long of " + ALPHABET + " characters"
-                + " and may have a prefix '" + PREFIX + (char) chainId + ":', but actual is '" + name + "'");
+        int nameStart = nameStart(chainId, name);
+        if (!isValidName(name, nameStart))
+            throw invalidAlias(chainId, name);
+
+        this.name = nameStart == 0 ? name : name.substring(nameStart);
+        this.fullAlias = nameStart == 0 ? PREFIX + (char) chainId + ":" + name : name;
+        this.bytes = new byte[1 + 1 + Short.BYTES + this.name.length()];
+        ByteBuffer.wrap(bytes).put(TYPE).put(chainId).putShort((short) this.name.length());
+        for (int i = 0; i < this.name.length(); i++)
+            bytes[1 + 1 + Short.BYTES + i] = (byte) this.name.charAt(i);
+    }
+
+    /**
+     * Create alias from the name bytes, as it's read from the binary format.
+     * The bytes are checked against the alphabet directly without decoding them to string first.
+     *
+     * @param chainId blockchain network Id
+     * @param name alias name in bytes without prefix
+     */
+    public Alias(byte chainId, byte[] name) {
+        boolean valid = name.length >= MIN_LENGTH && name.length <= MAX_LENGTH;
+        for (int i = 0; valid && i < name.length; i++)
+            valid = name[i] >= 0 && ALLOWED[name[i]];
+        if (!valid)
+            throw invalidAlias(chainId, new String(name, UTF_8));
+
+        this.name = new String(name, US_ASCII);
+        this.fullAlias = PREFIX + (char) chainId + ":" + this.name;
+        this.bytes = new byte[1 + 1 + Short.BYTES + name.length];
+        ByteBuffer.wrap(bytes).put(TYPE).put(chainId).putShort((short) name.length).put(name);
     }
 
     public static boolean isValid(String alias) {
@@ -41,9 +75,38 @@ public class Alias implements Recipient {
     }
 
     public static boolean isValid(byte chainId, String alias) {
-        String maybeAlias = alias.replaceFirst("^" + PREFIX + (char) chainId + ":", "");
+        return isValidName(alias, nameStart(chainId, alias));
+    }
+
+    /**
+     * @return length of the prefix "alias:{chainId}:" if the alias has it, otherwise 0
+     */
+    private static int nameStart(byte chainId, String alias) {
+        int prefixLength = PREFIX.length() + 2;
+        if (alias.length() >= prefixLength
+                && alias.startsWith(PREFIX)
+                && alias.charAt(PREFIX.length()) == (char) chainId
+                && alias.charAt(PREFIX.length() + 1) == ':')
+            return prefixLength;
+        return 0;
+    }
 
-        return maybeAlias.matches("[" + ALPHABET + "]{" + MIN_LENGTH + "," + MAX_LENGTH + "}");
+    private static boolean isValidName(String alias, int from) {
+        int length = alias.length() - from;
+        if (length < MIN_LENGTH || length > MAX_LENGTH)
+            return false;
+        for (int i = from; i < alias.length(); i++) {
+            char c = alias.charAt(i);
+            if (c >= ALLOWED.length || !ALLOWED[c])
+                return false;
+        }
+        return true;
+    }
+
+    private static IllegalArgumentException invalidAlias(byte chainId, String name) {
+        return new IllegalArgumentException("Alias must be " + MIN_LENGTH
+                + " to " + MAX_LENGTH + " long of " + ALPHABET + " characters"
+                + " and may have a prefix '" + PREFIX + (char) chainId + ":', but actual is '" + name + "'");
     }
 
     public static Alias as(String alias) {
@@ -54,6 +117,10 @@ public class Alias implements Recipient {
         return new Alias(chainId, value);
     }
 
+    public static Alias as(byte chainId, byte[] name) {
+        return new Alias(chainId, name);
+    }
+
     public byte type() {
         return TYPE;
     }
@@ -1,6 +1,7 @@
 package com.wavesplatform.transactions.common;
 
 import com.wavesplatform.crypto.Bytes;
+import com.wavesplatform.transactions.IdentityCache;
 
 import java.util.Locale;
 
@@ -20,11 +21,11 @@ public class AssetId extends Id {
     }
 
     public static AssetId as(byte[] id) {
-        return new AssetId(id);
+        return IdentityCache.assetId(id);
     }
 
     public static AssetId as(String id) {
-        return new AssetId(id == null || id.toUpperCase(Locale.ENGLISH).equals(WAVES_STRING) ? "" : id);
+        return IdentityCache.assetId(id == null || id.toUpperCase(Locale.ENGLISH).equals(WAVES_STRING) ? "" : id);
     }
 
     public boolean isWaves() {
@@ -0,0 +1,270 @@
+package com.wavesplatform.transactions.common;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Base58 codec compatible with {@code com.wavesplatform.crypto.base.Base58}.
+ * <p>
+ * The usual algorithm converts between bases one digit at a time, so it makes a pass over the whole number
+ * for every input byte or char. This codec works with limbs instead: 32-bit limbs for bytes and limbs of 5 base58
+ * digits for strings, so both encoding and decoding of addresses, keys, ids and proofs take several times fewer steps.
+ * Intermediate limbs are kept in thread-local buffers, so encoding into a char array or a {@link StringBuilder}
+ * and decoding into a byte array or a {@link ByteBuffer} don't allocate.
+ * <p>
+ * Like the crypto library, decoding accepts the optional "base58:" prefix
+ * and throws {@link IllegalArgumentException} on illegal characters.
+ */
+public abstract class Base58Codec {
+
+    public static final String PREFIX = "base58:";
+
+    private static final char[] ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz".toCharArray();
+    private static final char ENCODED_ZERO = ALPHABET[0];
+    private static final int[] INDEXES = new int[128];
+
+    private static final int DIGITS_PER_LIMB = 5;
+    private static final long LIMB_BASE = 58L * 58 * 58 * 58 * 58;
+    private static final int[] POWERS = {1, 58, 58 * 58, 58 * 58 * 58, 58 * 58 * 58 * 58};
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    static {
+        Arrays.fill(INDEXES, -1);
+        for (int i = 0; i < ALPHABET.length; i++)
+            INDEXES[ALPHABET[i]] = i;
+    }
+
+    /**
+     * @param bytesLength count of bytes to encode
+     * @return max count of chars of the encoded bytes
+     */
+    public static int maxEncodedLength(int bytesLength) {
+        return bytesLength * 138 / 100 + 1;
+    }
+
+    public static String encode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0)
+            return "";
+        Scratch scratch = SCRATCH.get();
+        char[] chars = scratch.chars(maxEncodedLength(bytes.length));
+        int length = encode(bytes, 0, bytes.length, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    public static void encode(byte[] src, int offset, int length, StringBuilder dest) {
+        if (length == 0)
+            return;
+        Scratch scratch = SCRATCH.get();
+        char[] chars = scratch.chars(maxEncodedLength(length));
+        dest.append(chars, 0, encode(src, offset, length, chars, 0));
+    }
+
+    /**
+     * Encode bytes into the char array.
+     *
+     * @param src bytes to encode
+     * @param offset offset of the bytes
+     * @param length count of the bytes
+     * @param dest destination, must have at least {@link #maxEncodedLength(int)} chars after the offset
+     * @param destOffset offset in the destination
+     * @return count of written chars
+     */
+    public static int encode(byte[] src, int offset, int length, char[] dest, int destOffset) {
+        int end = offset + length;
+        int zeros = 0;
+        while (offset + zeros < end && src[offset + zeros] == 0)
+            zeros++;
+
+        int[] limbs = SCRATCH.get().limbs(length * 8 / 29 + 2);
+        int count = 0;
+        int pos = offset + zeros;
+        int groupSize = (end - pos) % Integer.BYTES == 0 ? Integer.BYTES : (end - pos) % Integer.BYTES;
+        while (pos < end) {
+            long carry = 0;
+            for (int i = 0; i < groupSize; i++)
+                carry = carry << 8 | src[pos++] & 0xFF;
+            int shift = groupSize * 8;
+            for (int j = 0; j < count; j++) {
+                long x = ((long) limbs[j] << shift) + carry;
+                limbs[j] = (int) (x % LIMB_BASE);
+                carry = x / LIMB_BASE;
+            }
+            while (carry != 0) {
+                limbs[count++] = (int) (carry % LIMB_BASE);
+                carry /= LIMB_BASE;
+            }
+            groupSize = Integer.BYTES;
+        }
+
+        int top = count == 0 ? 0 : limbs[count - 1];
+        int topDigits = count == 0 ? 0 : 1;
+        while (topDigits > 0 && topDigits < DIGITS_PER_LIMB && top >= POWERS[topDigits])
+            topDigits++;
+        int written = zeros + topDigits + Math.max(count - 1, 0) * DIGITS_PER_LIMB;
+        if (dest.length - destOffset < written)
+            throw new IndexOutOfBoundsException("Not enough space to encode " + length + " bytes");
+
+        Arrays.fill(dest, destOffset, destOffset + zeros, ENCODED_ZERO);
+        int out = destOffset + written;
+        for (int j = 0; j < count - 1; j++) {
+            int limb = limbs[j];
+            for (int d = 0; d < DIGITS_PER_LIMB; d++) {
+                dest[--out] = ALPHABET[limb % 58];
+                limb /= 58;
+            }
+        }
+        for (int d = 0; d < topDigits; d++) {
+            dest[--out] = ALPHABET[top % 58];
+            top /= 58;
+        }
+        return written;
+    }
+
+    public static byte[] decode(String encoded) throws IllegalArgumentException {
+        if (encoded == null)
+            throw new IllegalArgumentException("Base58 string can't be null");
+        int start = encoded.startsWith(PREFIX) ? PREFIX.length() : 0;
+        int zeros = countEncodedZeros(encoded, start, encoded.length());
+        int count = decodeToLimbs(encoded, start + zeros, encoded.length(), start);
+        byte[] result = new byte[zeros + decodedLength(count)];
+        writeLimbs(count, result, zeros);
+        return result;
+    }
+
+    /**
+     * Decode chars into the byte array.
+     *
+     * @param encoded base58 string
+     * @param dest destination array
+     * @param destOffset offset in the destination
+     * @return count of written bytes
+     * @throws IllegalArgumentException if the string contains illegal characters
+     * @throws IndexOutOfBoundsException if the destination has not enough space
+     */
+    public static int decode(CharSequence encoded, byte[] dest, int destOffset) throws IllegalArgumentException {
+        int start = hasPrefix(encoded) ? PREFIX.length() : 0;
+        int zeros = countEncodedZeros(encoded, start, encoded.length());
+        int count = decodeToLimbs(encoded, start + zeros, encoded.length(), start);
+        int length = zeros + decodedLength(count);
+        if (dest.length - destOffset < length)
+            throw new IndexOutOfBoundsException("Not enough space to decode " + length + " bytes");
+        Arrays.fill(dest, destOffset, destOffset + zeros, (byte) 0);
+        writeLimbs(count, dest, destOffset + zeros);
+        return length;
+    }
+
+    /**
+     * Decode chars into the buffer at its position.
+     *
+     * @param encoded base58 string
+     * @param dest destination buffer, its position is moved by the count of written bytes
+     * @return count of written bytes
+     * @throws IllegalArgumentException if the string contains illegal characters
+     * @throws BufferOverflowException if the buffer has not enough space
+     */
+    public static int decode(CharSequence encoded, ByteBuffer dest) throws IllegalArgumentException {
+        int start = hasPrefix(encoded) ? PREFIX.length() : 0;
+        int zeros = countEncodedZeros(encoded, start, encoded.length());
+        int count = decodeToLimbs(encoded, start + zeros, encoded.length(), start);
+        int length = zeros + decodedLength(count);
+        if (dest.remaining() < length)
+            throw new BufferOverflowException();
+        for (int i = 0; i < zeros; i++)
+            dest.put((byte) 0);
+        int[] limbs = SCRATCH.get().limbs;
+        for (int j = count - 1; j >= 0; j--)
+            for (int shift = j == count - 1 ? (significantBytes(limbs[j]) - 1) * 8 : 24; shift >= 0; shift -= 8)
+                dest.put((byte) (limbs[j] >>> shift));
+        return length;
+    }
+
+    private static boolean hasPrefix(CharSequence encoded) {
+        if (encoded.length() < PREFIX.length())
+            return false;
+        for (int i = 0; i < PREFIX.length(); i++)
+            if (encoded.charAt(i) != PREFIX.charAt(i))
+                return false;
+        return true;
+    }
+
+    private static int countEncodedZeros(CharSequence encoded, int start, int end) {
+        int zeros = 0;
+        while (start + zeros < end && encoded.charAt(start + zeros) == ENCODED_ZERO)
+            zeros++;
+        return zeros;
+    }
+
+    /**
+     * Decode significant digits into little-endian 32-bit limbs of the scratch buffer.
+     *
+     * @return count of limbs
+     */
+    private static int decodeToLimbs(CharSequence encoded, int pos, int end, int start) {
+        int[] limbs = SCRATCH.get().limbs((end - pos) * 3 / 16 + 2);
+        int count = 0;
+        int groupSize = (end - pos) % DIGITS_PER_LIMB == 0 ? DIGITS_PER_LIMB : (end - pos) % DIGITS_PER_LIMB;
+        while (pos < end) {
+            long carry = 0;
+            for (int i = 0; i < groupSize; i++, pos++) {
+                char c = encoded.charAt(pos);
+                int digit = c < 128 ? INDEXES[c] : -1;
+                if (digit < 0)
+                    throw new IllegalArgumentException("Illegal character \"" + c + "\" at position " + (pos - start));
+                carry = carry * 58 + digit;
+            }
+            long multiplier = groupSize == DIGITS_PER_LIMB ? LIMB_BASE : POWERS[groupSize];
+            for (int j = 0; j < count; j++) {
+                long x = (limbs[j] & 0xFFFFFFFFL) * multiplier + carry;
+                limbs[j] = (int) x;
+                carry = x >>> 32;
+            }
+            while (carry != 0) {
+                limbs[count++] = (int) carry;
+                carry >>>= 32;
+            }
+            groupSize = DIGITS_PER_LIMB;
+        }
+        return count;
+    }
+
+    private static int decodedLength(int count) {
+        return count == 0 ? 0 : (count - 1) * Integer.BYTES + significantBytes(SCRATCH.get().limbs[count - 1]);
+    }
+
+    private static int significantBytes(int limb) {
+        return Integer.BYTES - Integer.numberOfLeadingZeros(limb) / 8;
+    }
+
+    private static void writeLimbs(int count, byte[] dest, int offset) {
+        int[] limbs = SCRATCH.get().limbs;
+        int pos = offset + decodedLength(count);
+        for (int j = 0; j < count; j++) {
+            int limb = limbs[j];
+            int bytes = j == count - 1 ? significantBytes(limb) : Integer.BYTES;
+            for (int b = 0; b < bytes; b++) {
+                dest[--pos] = (byte) limb;
+                limb >>>= 8;
+            }
+        }
+    }
+
+    private static class Scratch {
+        int[] limbs = new int[32];
+        char[] chars = new char[128];
+
+        int[] limbs(int size) {
+            if (limbs.length < size)
+                limbs = new int[Math.max(size, limbs.length * 2)];
+            return limbs;
+        }
+
+        char[] chars(int size) {
+            if (chars.length < size)
+                chars = new char[Math.max(size, chars.length * 2)];
+            return chars;
+        }
+    }
+
+}
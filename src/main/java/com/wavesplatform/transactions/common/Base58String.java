@@ -1,16 +1,17 @@
 package com.wavesplatform.transactions.common;
 
-import com.google.common.base.Suppliers;
 import com.wavesplatform.crypto.Bytes;
-import com.wavesplatform.crypto.base.Base58;
 
 import java.util.Arrays;
-import java.util.function.Supplier;
 
 public class Base58String implements ByteString {
 
     protected final byte[] bytes;
-    private final Supplier<String> encoded;
+    /**
+     * Lazily encoded string. The field is not volatile because String is immutable
+     * and a thread which doesn't see the cached value just encodes the same string again.
+     */
+    private String encoded;
 
     public static Base58String empty() {
         return new Base58String(Bytes.empty());
@@ -18,11 +19,10 @@ public class Base58String implements ByteString {
 
     public Base58String(byte[] bytes) throws IllegalArgumentException {
         this.bytes = bytes == null ? Bytes.empty() : bytes;
-        this.encoded = Suppliers.memoize(() -> Base58.encode(this.bytes))::get;
     }
 
     public Base58String(String encoded) throws IllegalArgumentException {
-        this(Base58.decode(encoded == null ? "" : encoded));
+        this(Base58Codec.decode(encoded == null ? "" : encoded));
     }
 
     @Override
@@ -32,7 +32,10 @@ public class Base58String implements ByteString {
 
     @Override
     public String encoded() {
-        return encoded.get();
+        String result = encoded;
+        if (result == null)
+            encoded = result = Base58Codec.encode(bytes);
+        return result;
     }
 
     @Override
@@ -1,16 +1,17 @@
 package com.wavesplatform.transactions.common;
 
-import com.google.common.base.Suppliers;
 import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.crypto.base.Base64;
 
 import java.util.Arrays;
-import java.util.function.Supplier;
 
 public class Base64String implements ByteString {
 
     private final byte[] bytes;
-    private final Supplier<String> encoded;
+    /**
+     * Lazily encoded string, cached the same racy way as {@link Base58String} does.
+     */
+    private String encoded;
 
     public static Base64String empty() {
         return new Base64String(Bytes.empty());
@@ -18,7 +19,6 @@ public class Base64String implements ByteString {
 
     public Base64String(byte[] bytes) throws IllegalArgumentException {
         this.bytes = bytes == null ? Bytes.empty() : bytes;
-        this.encoded = Suppliers.memoize(() -> Base64.encode(this.bytes))::get;
     }
 
     public Base64String(String encoded) throws IllegalArgumentException {
@@ -32,7 +32,10 @@ public class Base64String implements ByteString {
 
     @Override
     public String encoded() {
-        return encoded.get();
+        String result = encoded;
+        if (result == null)
+            encoded = result = Base64.encode(bytes);
+        return result;
     }
 
     @Override
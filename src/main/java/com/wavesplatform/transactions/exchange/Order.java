@@ -1,6 +1,5 @@
 package com.wavesplatform.transactions.exchange;
 
-import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.protobuf.order.OrderOuterClass;
 import com.wavesplatform.transactions.TransactionOrOrder;
 import com.wavesplatform.transactions.WavesConfig;
@@ -12,8 +11,8 @@ import com.wavesplatform.transactions.serializers.binary.BinarySerializer;
 import com.wavesplatform.transactions.serializers.json.JsonSerializer;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Objects;
 
 public class Order extends TransactionOrOrder {
 
@@ -55,6 +54,14 @@ public class Order extends TransactionOrOrder {
         return BinarySerializer.orderFromBytes(bytes);
     }
 
+    public static Order fromLegacyBytes(byte[] bytes) {
+        return BinarySerializer.orderFromLegacyBytes(ByteBuffer.wrap(bytes));
+    }
+
+    public static Order fromProtobufBytes(byte[] bytes) throws IOException {
+        return BinarySerializer.orderFromProtobufBytes(ByteBuffer.wrap(bytes));
+    }
+
     public static Order fromJson(String json) throws IOException {
         return JsonSerializer.orderFromJson(json);
     }
@@ -103,20 +110,6 @@ public class Order extends TransactionOrOrder {
         return ProtobufConverter.toProtobuf(this);
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
-        Order that = (Order) o;
-        return Bytes.equal(this.bodyBytes(), that.bodyBytes());
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), bodyBytes());
-    }
-
     public static class OrderBuilder extends TransactionOrOrderBuilder<OrderBuilder, Order> {
         private final OrderType type;
         private final Amount amount;
@@ -47,7 +47,7 @@ public abstract class ProtobufConverter {
                 .timestamp(pbOrder.getTimestamp())
                 .expiration(pbOrder.getExpiration())
                 .getUnsigned();
-        pbOrder.getProofsList().forEach(p -> order.proofs().add(Proof.as(p.toByteArray())));
+        pbOrder.getProofsList().forEach(p -> order.addProof(Proof.as(p.toByteArray())));
         return order;
     }
 
@@ -58,7 +58,7 @@ public abstract class ProtobufConverter {
         if (pbTx.hasGenesis()) {
             TransactionOuterClass.GenesisTransactionData genesis = pbTx.getGenesis();
             tx = new GenesisTransaction(
-                    Address.as(genesis.getRecipientAddress().toByteArray()),
+                    Address.fromDecoded(genesis.getRecipientAddress().toByteArray()),
                     genesis.getAmount(),
                     pbTx.getTimestamp(),
                     pbSignedTx.getProofsCount() > 0 ? Proof.as(pbSignedTx.getProofs(0).toByteArray()) : Proof.EMPTY
@@ -67,7 +67,7 @@ public abstract class ProtobufConverter {
             TransactionOuterClass.PaymentTransactionData payment = pbTx.getPayment();
             tx = new PaymentTransaction(
                     PublicKey.as(pbTx.getSenderPublicKey().toByteArray()),
-                    Address.as(payment.getRecipientAddress().toByteArray()),
+                    Address.fromDecoded(payment.getRecipientAddress().toByteArray()),
                     payment.getAmount(),
                     pbAmountToAmount(pbTx.getFee()),
                     pbTx.getTimestamp(),
@@ -241,7 +241,7 @@ public abstract class ProtobufConverter {
                     .getUnsigned();
         } else if (pbTx.hasInvokeScript()) {
             TransactionOuterClass.InvokeScriptTransactionData invoke = pbTx.getInvokeScript();
-            Function functionCall = new BytesReader(invoke.getFunctionCall().toByteArray()).readFunctionCall();
+            Function functionCall = new BytesReader(invoke.getFunctionCall().asReadOnlyByteBuffer()).readFunctionCall();
             tx = InvokeScriptTransaction
                     .builder(recipientFromProto(invoke.getDApp(), (byte)pbTx.getChainId()), functionCall)
                     .payments(invoke.getPaymentsList().stream().map(p ->
@@ -265,7 +265,7 @@ public abstract class ProtobufConverter {
                     .getUnsigned();
         } else throw new InvalidProtocolBufferException("Can't recognize transaction type");
 
-        pbSignedTx.getProofsList().forEach(p -> tx.proofs().add(Proof.as(p.toByteArray())));
+        pbSignedTx.getProofsList().forEach(p -> tx.addProof(Proof.as(p.toByteArray())));
         return tx;
     }
 
@@ -427,7 +427,8 @@ public abstract class ProtobufConverter {
             TransactionOuterClass.InvokeScriptTransactionData.Builder invoke =
                     TransactionOuterClass.InvokeScriptTransactionData.newBuilder();
             invoke.setDApp(recipientToProto(isTx.dApp()));
-            invoke.setFunctionCall(ByteString.copyFrom(new BytesWriter().writeFunction(isTx.function()).getBytes()));
+            invoke.setFunctionCall(ByteString.copyFrom(
+                    BytesWriter.withCapacity(SerializedSize.functionSize(isTx.function())).writeFunction(isTx.function()).getBytes()));
             isTx.payments().forEach(p -> invoke.addPayments(AmountOuterClass.Amount.newBuilder()
                     .setAmount(p.value())
                     .setAssetId(ByteString.copyFrom(p.assetId().bytes()))
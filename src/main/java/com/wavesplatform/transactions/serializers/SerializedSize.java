@@ -0,0 +1,485 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.google.protobuf.CodedOutputStream;
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.*;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.invocation.*;
+import com.wavesplatform.transactions.mass.Transfer;
+
+import java.util.List;
+
+import static com.wavesplatform.transactions.serializers.Scheme.*;
+
+/**
+ * Computes exact sizes of serialized transactions and orders from their fields, without serializing them.
+ * <p>
+ * Sizes follow {@link com.wavesplatform.transactions.serializers.binary.LegacyBinarySerializer}
+ * and {@link ProtobufConverter}: the legacy sizes are sizes of the fixed binary layouts,
+ * the protobuf ones are computed field by field like {@code getSerializedSize()} of the messages,
+ * so fields with default values take no space. Field numbers are taken from the Waves protobuf schemas.
+ * <p>
+ * Nothing is allocated, so the sizes are cheap enough to pre-size buffers, calculate fees
+ * or pack transactions into blocks of limited size.
+ */
+public abstract class SerializedSize {
+
+    private static final int ASSET_ID_OR_WAVES_FLAG = 1;
+    /**
+     * Lease with proofs starts with the flag of the leased asset, which is always Waves.
+     */
+    private static final int LEASE_WAVES_FLAG = 1;
+    private static final int SHORT_LENGTH = Short.BYTES;
+
+    /**
+     * @param txOrOrder transaction or order
+     * @return size of {@link TransactionOrOrder#bodyBytes()}
+     */
+    public static int bodySize(TransactionOrOrder txOrOrder) {
+        return Scheme.of(txOrOrder) == PROTOBUF ? protobufBodySize(txOrOrder) : legacyBodySize(txOrOrder);
+    }
+
+    /**
+     * @param txOrOrder transaction or order
+     * @return size of {@link TransactionOrOrder#toBytes()}
+     */
+    public static int size(TransactionOrOrder txOrOrder) {
+        return Scheme.of(txOrOrder) == PROTOBUF ? protobufSize(txOrOrder) : legacySize(txOrOrder);
+    }
+
+    /**
+     * Size of the fee payload of data transaction:
+     * body bytes for version 1 and the protobuf data of the transaction for later versions.
+     *
+     * @param data data entries
+     * @param version version of the data transaction
+     * @return size of the payload
+     */
+    public static int dataPayloadSize(List<DataEntry> data, int version) {
+        if (version == 1)
+            return 1 + 1 + PublicKey.BYTES_LENGTH + SHORT_LENGTH + legacyDataEntriesSize(data) + 2 * Long.BYTES;
+        else
+            return protobufDataSize(data);
+    }
+
+    @SuppressWarnings("deprecation")
+    public static int legacyBodySize(TransactionOrOrder txOrOrder) {
+        Scheme scheme = legacyScheme(txOrOrder);
+        if (txOrOrder instanceof Order) {
+            Order order = (Order) txOrOrder;
+            return (scheme == WITH_PROOFS ? 1 : 0)
+                    + 2 * PublicKey.BYTES_LENGTH
+                    + assetIdOrWavesSize(order.amount().assetId())
+                    + assetIdOrWavesSize(order.price().assetId())
+                    + 1 + 5 * Long.BYTES
+                    + (order.version() == 3 ? assetIdOrWavesSize(order.fee().assetId()) : 0);
+        }
+
+        Transaction tx = (Transaction) txOrOrder;
+        boolean withProofs = scheme == WITH_PROOFS;
+        int size = (withProofs && tx instanceof ExchangeTransaction ? 1 : 0)
+                + (tx instanceof PaymentTransaction ? Integer.BYTES : 1)
+                + (withProofs ? 1 : 0);
+
+        if (tx instanceof GenesisTransaction) {
+            size += Long.BYTES + ((GenesisTransaction) tx).recipient().bytes().length + Long.BYTES;
+        } else if (tx instanceof PaymentTransaction) {
+            size += Long.BYTES + PublicKey.BYTES_LENGTH + ((PaymentTransaction) tx).recipient().bytes().length
+                    + 2 * Long.BYTES;
+        } else if (tx instanceof IssueTransaction) {
+            IssueTransaction itx = (IssueTransaction) tx;
+            size += (withProofs ? 1 : 0) + PublicKey.BYTES_LENGTH
+                    + SHORT_LENGTH + itx.nameBytes().length
+                    + SHORT_LENGTH + itx.descriptionBytes().length
+                    + Long.BYTES + 1 + 1 + 2 * Long.BYTES
+                    + (withProofs ? optionArrayWithLengthSize(itx.script().bytes()) : 0);
+        } else if (tx instanceof TransferTransaction) {
+            TransferTransaction ttx = (TransferTransaction) tx;
+            size += PublicKey.BYTES_LENGTH
+                    + assetIdOrWavesSize(ttx.amount().assetId())
+                    + assetIdOrWavesSize(ttx.fee().assetId())
+                    + 3 * Long.BYTES
+                    + ttx.recipient().bytes().length
+                    + SHORT_LENGTH + ttx.attachment().bytes().length;
+        } else if (tx instanceof ReissueTransaction) {
+            size += (withProofs ? 1 : 0) + PublicKey.BYTES_LENGTH + ((ReissueTransaction) tx).amount().assetId().bytes().length
+                    + Long.BYTES + 1 + 2 * Long.BYTES;
+        } else if (tx instanceof BurnTransaction) {
+            size += (withProofs ? 1 : 0) + PublicKey.BYTES_LENGTH + ((BurnTransaction) tx).amount().assetId().bytes().length
+                    + 3 * Long.BYTES;
+        } else if (tx instanceof ExchangeTransaction) {
+            ExchangeTransaction etx = (ExchangeTransaction) tx;
+            Order order1 = etx.orders().get(0);
+            Order order2 = etx.orders().get(1);
+            size += 2 * Integer.BYTES + legacySize(order1) + legacySize(order2) + 6 * Long.BYTES;
+            if (withProofs)
+                size += (order1.version() == 1 ? 1 : 0) + (order2.version() == 1 ? 1 : 0);
+        } else if (tx instanceof LeaseTransaction) {
+            size += (withProofs ? LEASE_WAVES_FLAG : 0) + PublicKey.BYTES_LENGTH
+                    + ((LeaseTransaction) tx).recipient().bytes().length + 3 * Long.BYTES;
+        } else if (tx instanceof LeaseCancelTransaction) {
+            size += (withProofs ? 1 : 0) + PublicKey.BYTES_LENGTH + 2 * Long.BYTES
+                    + ((LeaseCancelTransaction) tx).leaseId().bytes().length;
+        } else if (tx instanceof CreateAliasTransaction) {
+            size += PublicKey.BYTES_LENGTH + SHORT_LENGTH + ((CreateAliasTransaction) tx).alias().bytes().length
+                    + 2 * Long.BYTES;
+        } else if (tx instanceof MassTransferTransaction) {
+            MassTransferTransaction mtTx = (MassTransferTransaction) tx;
+            size += PublicKey.BYTES_LENGTH + assetIdOrWavesSize(mtTx.assetId()) + SHORT_LENGTH;
+            List<Transfer> transfers = mtTx.transfers();
+            for (int i = 0; i < transfers.size(); i++)
+                size += transfers.get(i).recipient().bytes().length + Long.BYTES;
+            size += 2 * Long.BYTES + SHORT_LENGTH + mtTx.attachment().bytes().length;
+        } else if (tx instanceof DataTransaction) {
+            size += PublicKey.BYTES_LENGTH + SHORT_LENGTH + legacyDataEntriesSize(((DataTransaction) tx).data())
+                    + 2 * Long.BYTES;
+        } else if (tx instanceof SetScriptTransaction) {
+            size += 1 + PublicKey.BYTES_LENGTH + optionArrayWithLengthSize(((SetScriptTransaction) tx).script().bytes())
+                    + 2 * Long.BYTES;
+        } else if (tx instanceof SponsorFeeTransaction) {
+            size += PublicKey.BYTES_LENGTH + ((SponsorFeeTransaction) tx).assetId().bytes().length + 3 * Long.BYTES;
+        } else if (tx instanceof SetAssetScriptTransaction) {
+            SetAssetScriptTransaction sasTx = (SetAssetScriptTransaction) tx;
+            size += 1 + PublicKey.BYTES_LENGTH + sasTx.assetId().bytes().length + 2 * Long.BYTES
+                    + optionArrayWithLengthSize(sasTx.script().bytes());
+        } else if (tx instanceof InvokeScriptTransaction) {
+            InvokeScriptTransaction isTx = (InvokeScriptTransaction) tx;
+            size += 1 + PublicKey.BYTES_LENGTH + isTx.dApp().bytes().length + functionSize(isTx.function())
+                    + SHORT_LENGTH;
+            List<Amount> payments = isTx.payments();
+            for (int i = 0; i < payments.size(); i++)
+                size += SHORT_LENGTH + Long.BYTES + assetIdOrWavesSize(payments.get(i).assetId());
+            size += Long.BYTES + assetIdOrWavesSize(isTx.fee().assetId()) + Long.BYTES;
+        }
+        return size;
+    }
+
+    @SuppressWarnings("deprecation")
+    public static int legacySize(TransactionOrOrder txOrOrder) {
+        Scheme scheme = legacyScheme(txOrOrder);
+        int bodySize = legacyBodySize(txOrOrder);
+        if (txOrOrder instanceof Order)
+            return bodySize + (scheme == WITH_PROOFS ? proofsSize(txOrOrder.proofs()) : signatureSize(txOrOrder.proofs()));
+
+        Transaction tx = (Transaction) txOrOrder;
+        if (scheme == WITH_PROOFS)
+            return (tx instanceof MassTransferTransaction || tx instanceof ExchangeTransaction ? 0 : 1)
+                    + (tx instanceof SponsorFeeTransaction ? 2 : 0)
+                    + bodySize + proofsSize(tx.proofs());
+        else if (tx instanceof GenesisTransaction)
+            return bodySize;
+        else if (tx instanceof PaymentTransaction)
+            return 1 + bodySize - Integer.BYTES + signatureSize(tx.proofs());
+        else if (tx instanceof IssueTransaction
+                || tx instanceof TransferTransaction
+                || tx instanceof ReissueTransaction)
+            return 1 + signatureSize(tx.proofs()) + bodySize;
+        else
+            return bodySize + signatureSize(tx.proofs());
+    }
+
+    /**
+     * @param txOrOrder transaction or order of any version
+     * @return size of the unsigned protobuf message of the transaction or order
+     */
+    public static int protobufBodySize(TransactionOrOrder txOrOrder) {
+        if (txOrOrder instanceof Order) {
+            Order order = (Order) txOrOrder;
+            int assetPairSize = bytesSize(1, order.amount().assetId().bytes().length)
+                    + bytesSize(2, order.price().assetId().bytes().length);
+            return int64Size(1, order.chainId())
+                    + bytesSize(2, PublicKey.BYTES_LENGTH)
+                    + bytesSize(3, PublicKey.BYTES_LENGTH)
+                    + messageSize(4, assetPairSize)
+                    + (order.type() == OrderType.SELL ? CodedOutputStream.computeEnumSize(5, 1) : 0)
+                    + int64Size(6, order.amount().value())
+                    + int64Size(7, order.price().value())
+                    + int64Size(8, order.timestamp())
+                    + int64Size(9, order.expiration())
+                    + messageSize(10, amountSize(order.fee().assetId(), order.fee().value()))
+                    + int64Size(11, order.version());
+        }
+
+        Transaction tx = (Transaction) txOrOrder;
+        return int64Size(1, tx.chainId())
+                + bytesSize(2, PublicKey.BYTES_LENGTH)
+                + messageSize(3, amountSize(tx.fee().assetId(), tx.fee().value()))
+                + int64Size(4, tx.timestamp())
+                + int64Size(5, tx.version())
+                + messageSize(100 + tx.type(), protobufDataSize(tx));
+    }
+
+    /**
+     * @param txOrOrder transaction or order of any version
+     * @return size of the protobuf message of the transaction or order with proofs
+     */
+    public static int protobufSize(TransactionOrOrder txOrOrder) {
+        if (txOrOrder instanceof Order)
+            return protobufBodySize(txOrOrder) + repeatedBytesSize(12, txOrOrder.proofs());
+        else
+            return messageSize(1, protobufBodySize(txOrOrder)) + repeatedBytesSize(2, txOrOrder.proofs());
+    }
+
+    /**
+     * @param data data entries
+     * @return size of the entries in the legacy layout, without their count
+     */
+    public static int legacyDataEntriesSize(List<DataEntry> data) {
+        int size = 0;
+        for (int i = 0; data != null && i < data.size(); i++) {
+            DataEntry entry = data.get(i);
+            size += SHORT_LENGTH + utf8Length(entry.key()) + 1;
+            if (entry instanceof IntegerEntry)
+                size += Long.BYTES;
+            else if (entry instanceof BooleanEntry)
+                size += 1;
+            else if (entry instanceof BinaryEntry)
+                size += SHORT_LENGTH + ((BinaryEntry) entry).value().bytes().length;
+            else if (entry instanceof StringEntry)
+                size += SHORT_LENGTH + utf8Length(((StringEntry) entry).value());
+            else
+                throw new IllegalArgumentException("Unknown entry type " + entry.getClass().getCanonicalName());
+        }
+        return size;
+    }
+
+    /**
+     * @param data data entries
+     * @return size of the protobuf data of data transaction
+     */
+    public static int protobufDataSize(List<DataEntry> data) {
+        int size = 0;
+        for (int i = 0; data != null && i < data.size(); i++) {
+            DataEntry entry = data.get(i);
+            int entrySize = stringSize(1, entry.key());
+            if (entry instanceof IntegerEntry)
+                entrySize += CodedOutputStream.computeInt64Size(10, ((IntegerEntry) entry).value());
+            else if (entry instanceof BooleanEntry)
+                entrySize += CodedOutputStream.computeBoolSize(11, ((BooleanEntry) entry).value());
+            else if (entry instanceof BinaryEntry)
+                entrySize += lengthDelimitedSize(12, ((BinaryEntry) entry).value().bytes().length);
+            else if (entry instanceof StringEntry)
+                entrySize += lengthDelimitedSize(13, utf8Length(((StringEntry) entry).value()));
+            else if (!(entry instanceof DeleteEntry))
+                throw new IllegalArgumentException("Unknown entry type " + entry.type());
+            size += messageSize(1, entrySize);
+        }
+        return size;
+    }
+
+    /**
+     * @param function function call of invoke script transaction
+     * @return size of the function call in the binary format
+     */
+    public static int functionSize(Function function) {
+        if (function.isDefault())
+            return 1;
+        return 1 + 1 + 1 + Integer.BYTES + utf8Length(function.name()) + argumentsSize(function.args());
+    }
+
+    @SuppressWarnings("deprecation")
+    private static int protobufDataSize(Transaction tx) {
+        if (tx instanceof GenesisTransaction) {
+            GenesisTransaction gtx = (GenesisTransaction) tx;
+            return bytesSize(1, gtx.recipient().bytes().length) + int64Size(2, gtx.amount());
+        } else if (tx instanceof PaymentTransaction) {
+            PaymentTransaction ptx = (PaymentTransaction) tx;
+            return bytesSize(1, ptx.recipient().bytes().length) + int64Size(2, ptx.amount());
+        } else if (tx instanceof IssueTransaction) {
+            IssueTransaction itx = (IssueTransaction) tx;
+            return bytesSize(1, itx.nameBytes().length)
+                    + bytesSize(2, itx.descriptionBytes().length)
+                    + int64Size(3, itx.quantity())
+                    + int64Size(4, itx.decimals())
+                    + boolSize(5, itx.reissuable())
+                    + bytesSize(6, itx.script().bytes().length);
+        } else if (tx instanceof TransferTransaction) {
+            TransferTransaction ttx = (TransferTransaction) tx;
+            return messageSize(1, recipientSize(ttx.recipient()))
+                    + messageSize(2, amountSize(ttx.amount().assetId(), ttx.amount().value()))
+                    + bytesSize(3, ttx.attachment().bytes().length);
+        } else if (tx instanceof ReissueTransaction) {
+            ReissueTransaction rtx = (ReissueTransaction) tx;
+            return messageSize(1, amountSize(rtx.amount().assetId(), rtx.amount().value()))
+                    + boolSize(2, rtx.reissuable());
+        } else if (tx instanceof BurnTransaction) {
+            BurnTransaction btx = (BurnTransaction) tx;
+            return messageSize(1, amountSize(btx.amount().assetId(), btx.amount().value()));
+        } else if (tx instanceof ExchangeTransaction) {
+            ExchangeTransaction etx = (ExchangeTransaction) tx;
+            return int64Size(1, etx.amount())
+                    + int64Size(2, etx.price())
+                    + int64Size(3, etx.buyMatcherFee())
+                    + int64Size(4, etx.sellMatcherFee())
+                    + messageSize(5, protobufSize(etx.orders().get(0)))
+                    + messageSize(5, protobufSize(etx.orders().get(1)));
+        } else if (tx instanceof LeaseTransaction) {
+            LeaseTransaction ltx = (LeaseTransaction) tx;
+            return messageSize(1, recipientSize(ltx.recipient())) + int64Size(2, ltx.amount());
+        } else if (tx instanceof LeaseCancelTransaction) {
+            return bytesSize(1, ((LeaseCancelTransaction) tx).leaseId().bytes().length);
+        } else if (tx instanceof CreateAliasTransaction) {
+            return bytesSize(1, ((CreateAliasTransaction) tx).alias().name().length());
+        } else if (tx instanceof MassTransferTransaction) {
+            MassTransferTransaction mtTx = (MassTransferTransaction) tx;
+            int size = bytesSize(1, mtTx.assetId().bytes().length);
+            List<Transfer> transfers = mtTx.transfers();
+            for (int i = 0; i < transfers.size(); i++) {
+                Transfer transfer = transfers.get(i);
+                size += messageSize(2, messageSize(1, recipientSize(transfer.recipient()))
+                        + int64Size(2, transfer.amount()));
+            }
+            return size + bytesSize(3, mtTx.attachment().bytes().length);
+        } else if (tx instanceof DataTransaction) {
+            return protobufDataSize(((DataTransaction) tx).data());
+        } else if (tx instanceof SetScriptTransaction) {
+            return bytesSize(1, ((SetScriptTransaction) tx).script().bytes().length);
+        } else if (tx instanceof SponsorFeeTransaction) {
+            SponsorFeeTransaction sfTx = (SponsorFeeTransaction) tx;
+            return messageSize(1, amountSize(sfTx.assetId(), sfTx.minSponsoredFee()));
+        } else if (tx instanceof SetAssetScriptTransaction) {
+            SetAssetScriptTransaction sasTx = (SetAssetScriptTransaction) tx;
+            return bytesSize(1, sasTx.assetId().bytes().length) + bytesSize(2, sasTx.script().bytes().length);
+        } else if (tx instanceof InvokeScriptTransaction) {
+            InvokeScriptTransaction isTx = (InvokeScriptTransaction) tx;
+            int size = messageSize(1, recipientSize(isTx.dApp())) + bytesSize(2, functionSize(isTx.function()));
+            List<Amount> payments = isTx.payments();
+            for (int i = 0; i < payments.size(); i++)
+                size += messageSize(3, amountSize(payments.get(i).assetId(), payments.get(i).value()));
+            return size;
+        } else if (tx instanceof UpdateAssetInfoTransaction) {
+            UpdateAssetInfoTransaction uaiTx = (UpdateAssetInfoTransaction) tx;
+            return bytesSize(1, uaiTx.assetId().bytes().length)
+                    + stringSize(2, uaiTx.name())
+                    + stringSize(3, uaiTx.description());
+        } else throw new IllegalArgumentException("Unknown transaction type " + tx.type());
+    }
+
+    private static Scheme legacyScheme(TransactionOrOrder txOrOrder) {
+        Scheme scheme = Scheme.of(txOrOrder);
+        if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
+            throw new IllegalArgumentException("not a legacy");
+        return scheme;
+    }
+
+    private static int argumentsSize(List<Arg> args) {
+        int size = Integer.BYTES;
+        for (int i = 0; i < args.size(); i++) {
+            Arg arg = args.get(i);
+            if (arg instanceof IntegerArg)
+                size += 1 + Long.BYTES;
+            else if (arg instanceof BinaryArg)
+                size += 1 + Integer.BYTES + ((BinaryArg) arg).value().bytes().length;
+            else if (arg instanceof StringArg)
+                size += 1 + Integer.BYTES + utf8Length(((StringArg) arg).value());
+            else if (arg instanceof BooleanArg)
+                size += 1;
+            else if (arg instanceof ListArg)
+                size += 1 + argumentsSize(((ListArg) arg).value());
+            else throw new IllegalArgumentException("Unknown arg type " + arg.type());
+        }
+        return size;
+    }
+
+    private static int assetIdOrWavesSize(AssetId assetId) {
+        return ASSET_ID_OR_WAVES_FLAG + assetId.bytes().length;
+    }
+
+    private static int optionArrayWithLengthSize(byte[] value) {
+        return value != null && value.length > 0 ? 1 + SHORT_LENGTH + value.length : 1;
+    }
+
+    private static int signatureSize(List<Proof> proofs) {
+        if (proofs.size() != 1)
+            throw new IllegalArgumentException("1 signature expected but " + proofs.size() + " proofs found");
+        return proofs.get(0).bytes().length;
+    }
+
+    private static int proofsSize(List<Proof> proofs) {
+        int size = 1 + SHORT_LENGTH;
+        for (int i = 0; i < proofs.size(); i++)
+            size += SHORT_LENGTH + proofs.get(i).bytes().length;
+        return size;
+    }
+
+    private static int recipientSize(Recipient recipient) {
+        if (recipient.type() == Alias.TYPE)
+            return lengthDelimitedSize(2, ((Alias) recipient).name().length());
+        else
+            return lengthDelimitedSize(1, Address.PUBLIC_KEY_HASH_LENGTH);
+    }
+
+    private static int amountSize(AssetId assetId, long value) {
+        return bytesSize(1, assetId.bytes().length) + int64Size(2, value);
+    }
+
+    private static int repeatedBytesSize(int field, List<Proof> proofs) {
+        int size = 0;
+        for (int i = 0; i < proofs.size(); i++)
+            size += lengthDelimitedSize(field, proofs.get(i).bytes().length);
+        return size;
+    }
+
+    /**
+     * Size of the nested message field, it's written even if the message is empty.
+     */
+    private static int messageSize(int field, int size) {
+        return lengthDelimitedSize(field, size);
+    }
+
+    /**
+     * Size of the bytes or string field which is skipped if empty.
+     */
+    private static int bytesSize(int field, int length) {
+        return length == 0 ? 0 : lengthDelimitedSize(field, length);
+    }
+
+    private static int stringSize(int field, String value) {
+        return bytesSize(field, utf8Length(value));
+    }
+
+    private static int lengthDelimitedSize(int field, int length) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(length) + length;
+    }
+
+    /**
+     * Size of the int32 or int64 field which is skipped if zero. Negative int32 values take 10 bytes like int64 ones.
+     */
+    private static int int64Size(int field, long value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt64Size(field, value);
+    }
+
+    private static int boolSize(int field, boolean value) {
+        return value ? CodedOutputStream.computeBoolSize(field, true) : 0;
+    }
+
+    /**
+     * Length of the string encoded to UTF-8. Unpaired surrogates are counted as one byte,
+     * because both {@link String#getBytes(java.nio.charset.Charset)} and protobuf replace them with '?'.
+     */
+    private static int utf8Length(String value) {
+        if (value == null)
+            return 0;
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80)
+                length += 1;
+            else if (c < 0x800)
+                length += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c))
+                length += 1;
+            else
+                length += 3;
+        }
+        return length;
+    }
+
+}
@@ -1,50 +1,181 @@
 package com.wavesplatform.transactions.serializers.binary;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
 import com.wavesplatform.protobuf.order.OrderOuterClass;
 import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.CreateAliasTransaction;
+import com.wavesplatform.transactions.MassTransferTransaction;
 import com.wavesplatform.transactions.Transaction;
 import com.wavesplatform.transactions.TransactionOrOrder;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Proof;
 import com.wavesplatform.transactions.exchange.Order;
 import com.wavesplatform.transactions.serializers.ProtobufConverter;
 import com.wavesplatform.transactions.serializers.Scheme;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 
-import static com.wavesplatform.transactions.serializers.Scheme.PROTOBUF;
+import static com.wavesplatform.transactions.serializers.Scheme.*;
 
 public abstract class BinarySerializer {
 
+    private static final int LEGACY_ORDER_MIN_LENGTH = 2 * PublicKey.BYTES_LENGTH + 2 + 1 + 5 * Long.BYTES;
+    private static final int SIGNED_TRANSACTION_FIELD = TransactionOuterClass.SignedTransaction.TRANSACTION_FIELD_NUMBER;
+    private static final int TRANSACTION_PROOFS_FIELD = TransactionOuterClass.SignedTransaction.PROOFS_FIELD_NUMBER;
+    private static final int ORDER_PROOFS_FIELD = OrderOuterClass.Order.PROOFS_FIELD_NUMBER;
+
     public static Order orderFromBytes(byte[] bytes) throws IOException {
-        OrderOuterClass.Order pbOrder;
-        try {
-            pbOrder = OrderOuterClass.Order.parseFrom(bytes);
-            if (!pbOrder.isInitialized())
-                throw new InvalidProtocolBufferException("Parsed bytes are not an Order");
-        } catch (InvalidProtocolBufferException e) {
-            try {
-                return LegacyBinarySerializer.orderFromBytes(bytes, true);
-            } catch (IllegalArgumentException ioe) {
-                return LegacyBinarySerializer.orderFromBytes(bytes, false);
-            }
-        }
+        return orderFromBytes(ByteBuffer.wrap(bytes));
+    }
+
+    public static Order orderFromBytes(ByteBuffer bytes) throws IOException {
+        if (schemeOfOrder(bytes) == PROTOBUF)
+            return orderFromProtobufBytes(bytes);
+        else
+            return orderFromLegacyBytes(bytes);
+    }
 
-        return ProtobufConverter.fromProtobuf(pbOrder);
+    public static Order orderFromLegacyBytes(ByteBuffer bytes) {
+        return LegacyBinarySerializer.orderFromBytes(bytes, legacyOrderLength(bytes, true) == bytes.remaining());
+    }
+
+    public static Order orderFromProtobufBytes(ByteBuffer bytes) throws IOException {
+        return ProtobufConverter.fromProtobuf(OrderOuterClass.Order.parseFrom(bytes.duplicate()));
     }
 
     public static Transaction transactionFromBytes(byte[] bytes) throws IOException {
-        TransactionOuterClass.SignedTransaction signed;
-        try {
-            signed = TransactionOuterClass.SignedTransaction.parseFrom(bytes);
-            if (!signed.isInitialized())
-                throw new InvalidProtocolBufferException("Parsed bytes are not a Transaction");
-        } catch (InvalidProtocolBufferException e) {
-            return LegacyBinarySerializer.transactionFromBytes(bytes);
-        }
+        return transactionFromBytes(ByteBuffer.wrap(bytes));
+    }
+
+    public static Transaction transactionFromBytes(ByteBuffer bytes) throws IOException {
+        if (schemeOfTransaction(bytes) == PROTOBUF)
+            return transactionFromProtobufBytes(bytes);
+        else
+            return transactionFromLegacyBytes(bytes);
+    }
 
+    public static Transaction transactionFromLegacyBytes(ByteBuffer bytes) {
+        return LegacyBinarySerializer.transactionFromBytes(bytes);
+    }
+
+    public static Transaction transactionFromProtobufBytes(ByteBuffer bytes) throws IOException {
+        TransactionOuterClass.SignedTransaction signed = TransactionOuterClass.SignedTransaction.parseFrom(bytes.duplicate());
+        if (!signed.hasTransaction())
+            throw new InvalidProtocolBufferException("Parsed bytes are not a Transaction");
         return ProtobufConverter.fromProtobuf(signed);
     }
 
+    /**
+     * Recognize the scheme of serialized transaction by its leading bytes without parsing it.
+     * Versioned legacy transactions start with zero byte and unversioned ones start with their type,
+     * while protobuf starts with the tag of the transaction field.
+     * The tag is equal to the type of CreateAliasTransaction, so the only ambiguity is resolved by its exact length.
+     *
+     * @param bytes transaction bytes, the position is not changed
+     * @return {@link Scheme#PROTOBUF} or the legacy scheme
+     */
+    public static Scheme schemeOfTransaction(ByteBuffer bytes) {
+        if (!bytes.hasRemaining())
+            throw new IllegalArgumentException("Byte array is too short to parse");
+
+        int start = bytes.position();
+        byte first = bytes.get(start);
+        if (first == 0 || first == MassTransferTransaction.TYPE)
+            return WITH_PROOFS;
+        if (first > 0 && first < CreateAliasTransaction.TYPE)
+            return WITH_SIGNATURE;
+        if (first == CreateAliasTransaction.TYPE && isLegacyCreateAlias(bytes))
+            return WITH_SIGNATURE;
+        return PROTOBUF;
+    }
+
+    /**
+     * Recognize the scheme of serialized order by walking its legacy layout without creating any objects.
+     *
+     * @param bytes order bytes, the position is not changed
+     * @return {@link Scheme#PROTOBUF} or the legacy scheme
+     */
+    public static Scheme schemeOfOrder(ByteBuffer bytes) {
+        if (!bytes.hasRemaining())
+            throw new IllegalArgumentException("Byte array is too short to parse");
+
+        if (legacyOrderLength(bytes, true) == bytes.remaining())
+            return WITH_PROOFS;
+        if (legacyOrderLength(bytes, false) == bytes.remaining())
+            return WITH_SIGNATURE;
+        return PROTOBUF;
+    }
+
+    private static boolean isLegacyCreateAlias(ByteBuffer bytes) {
+        int start = bytes.position();
+        int aliasOffset = 1 + PublicKey.BYTES_LENGTH;
+        if (bytes.remaining() < aliasOffset + 3)
+            return false;
+        int aliasLength = bytes.getShort(start + aliasOffset) & 0xFFFF;
+        return bytes.get(start + aliasOffset + 2) == Alias.TYPE
+                && bytes.remaining() == aliasOffset + 2 + aliasLength + 2 * Long.BYTES + Proof.BYTE_LENGTH;
+    }
+
+    /**
+     * @return length of the legacy order layout or -1 if the bytes don't follow it
+     */
+    private static int legacyOrderLength(ByteBuffer bytes, boolean versioned) {
+        int start = bytes.position();
+        int end = bytes.limit();
+        int pos = start;
+        int version = 1;
+        if (versioned) {
+            version = bytes.get(pos++);
+            if (version != 2 && version != 3)
+                return -1;
+        }
+        if (end - pos < LEGACY_ORDER_MIN_LENGTH)
+            return -1;
+
+        pos += 2 * PublicKey.BYTES_LENGTH;
+        for (int i = 0; i < 2; i++)
+            if ((pos = skipAssetIdOrWaves(bytes, pos)) < 0)
+                return -1;
+        if (pos >= end || (bytes.get(pos) != 0 && bytes.get(pos) != 1))
+            return -1;
+        pos += 1 + 5 * Long.BYTES;
+        if (version == 3 && (pos = skipAssetIdOrWaves(bytes, pos)) < 0)
+            return -1;
+
+        if (version == 1)
+            pos += Proof.BYTE_LENGTH;
+        else {
+            if (end - pos < 3 || bytes.get(pos) != Proof.LATEST_VERSION)
+                return -1;
+            int proofsCount = bytes.getShort(pos + 1);
+            pos += 3;
+            for (int i = 0; i < proofsCount; i++) {
+                if (end - pos < 2 || bytes.getShort(pos) < 0)
+                    return -1;
+                pos += 2 + bytes.getShort(pos);
+            }
+        }
+        return pos > end ? -1 : pos - start;
+    }
+
+    private static int skipAssetIdOrWaves(ByteBuffer bytes, int pos) {
+        if (pos >= bytes.limit())
+            return -1;
+        byte flag = bytes.get(pos);
+        if (flag == 0)
+            return pos + 1;
+        if (flag == 1)
+            return pos + 1 + AssetId.BYTE_LENGTH;
+        return -1;
+    }
+
     public static byte[] bodyBytes(TransactionOrOrder txOrOrder) {
         if (Scheme.of(txOrOrder) == PROTOBUF) {
             if (txOrOrder instanceof Order)
@@ -54,13 +185,105 @@ public abstract class BinarySerializer {
         } else return LegacyBinarySerializer.bodyBytes(txOrOrder);
     }
 
+    /**
+     * Write body bytes into the buffer instead of a new array.
+     * The buffer can be reused, for example a thread-local direct buffer to hash or sign the bytes from.
+     *
+     * @param txOrOrder transaction or order
+     * @param dest destination buffer, its position is moved by the count of written bytes
+     * @return count of written bytes
+     * @throws BufferOverflowException if the buffer has not enough space, the position is not changed then
+     */
+    public static int writeBodyBytes(TransactionOrOrder txOrOrder, ByteBuffer dest) {
+        if (Scheme.of(txOrOrder) != PROTOBUF)
+            return LegacyBinarySerializer.writeBodyBytes(txOrOrder, dest);
+
+        MessageLite body = txOrOrder instanceof Order
+                ? ProtobufConverter.toUnsignedProtobuf((Order) txOrOrder)
+                : ProtobufConverter.toUnsignedProtobuf((Transaction) txOrOrder);
+        int size = body.getSerializedSize();
+        if (dest.remaining() < size)
+            throw new BufferOverflowException();
+        CodedOutputStream output = CodedOutputStream.newInstance(dest);
+        try {
+            body.writeTo(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flush(output);
+        return size;
+    }
+
+    /**
+     * Serialize transaction or order with proofs.
+     * The protobuf message with proofs is not built, instead the cached body bytes are wrapped with proofs,
+     * which gives the same bytes because proofs are the last field of both order and signed transaction.
+     *
+     * @param txOrOrder transaction or order
+     * @return bytes of the transaction or order
+     */
     public static byte[] toBytes(TransactionOrOrder txOrOrder) {
-        if (Scheme.of(txOrOrder) == PROTOBUF) {
-            if (txOrOrder instanceof Order)
-                return ProtobufConverter.toProtobuf((Order) txOrOrder).toByteArray();
+        if (Scheme.of(txOrOrder) != PROTOBUF)
+            return LegacyBinarySerializer.toBytes(txOrOrder);
+
+        byte[] body = txOrOrder.bodyBytes();
+        byte[] result = new byte[protobufSize(txOrOrder, body)];
+        CodedOutputStream output = CodedOutputStream.newInstance(result);
+        writeProtobuf(txOrOrder, body, output);
+        output.checkNoSpaceLeft();
+        return result;
+    }
+
+    /**
+     * Write bytes of transaction or order with proofs into the buffer instead of a new array.
+     *
+     * @param txOrOrder transaction or order
+     * @param dest destination buffer, its position is moved by the count of written bytes
+     * @return count of written bytes
+     * @throws BufferOverflowException if the buffer has not enough space, the position is not changed then
+     */
+    public static int writeBytes(TransactionOrOrder txOrOrder, ByteBuffer dest) {
+        if (Scheme.of(txOrOrder) != PROTOBUF)
+            return LegacyBinarySerializer.writeBytes(txOrOrder, dest);
+
+        byte[] body = txOrOrder.bodyBytes();
+        int size = protobufSize(txOrOrder, body);
+        if (dest.remaining() < size)
+            throw new BufferOverflowException();
+        CodedOutputStream output = CodedOutputStream.newInstance(dest);
+        writeProtobuf(txOrOrder, body, output);
+        flush(output);
+        return size;
+    }
+
+    private static int protobufSize(TransactionOrOrder txOrOrder, byte[] body) {
+        boolean isOrder = txOrOrder instanceof Order;
+        int size = isOrder ? body.length : CodedOutputStream.computeByteArraySize(SIGNED_TRANSACTION_FIELD, body);
+        for (Proof proof : txOrOrder.proofs())
+            size += CodedOutputStream.computeByteArraySize(isOrder ? ORDER_PROOFS_FIELD : TRANSACTION_PROOFS_FIELD, proof.bytes());
+        return size;
+    }
+
+    private static void writeProtobuf(TransactionOrOrder txOrOrder, byte[] body, CodedOutputStream output) {
+        boolean isOrder = txOrOrder instanceof Order;
+        try {
+            if (isOrder)
+                output.writeRawBytes(body);
             else
-                return ProtobufConverter.toProtobuf((Transaction) txOrOrder).toByteArray();
-        } else return LegacyBinarySerializer.toBytes(txOrOrder);
+                output.writeByteArray(SIGNED_TRANSACTION_FIELD, body);
+            for (Proof proof : txOrOrder.proofs())
+                output.writeByteArray(isOrder ? ORDER_PROOFS_FIELD : TRANSACTION_PROOFS_FIELD, proof.bytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(CodedOutputStream output) {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 }
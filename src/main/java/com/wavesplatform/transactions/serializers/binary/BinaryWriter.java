@@ -0,0 +1,134 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Id;
+import com.wavesplatform.transactions.common.Proof;
+import com.wavesplatform.transactions.common.Recipient;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.invocation.*;
+
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Base of the binary writers which defines the layout of the composite values on top of a few primitives.
+ * Numbers are written in big-endian order.
+ *
+ * @param <W> type of the writer returned by the write methods for chaining
+ */
+public abstract class BinaryWriter<W extends BinaryWriter<W>> {
+
+    public abstract W write(byte value);
+
+    public abstract W write(byte[] value, int offset, int length);
+
+    public abstract W writeShort(short value);
+
+    public abstract W writeInt(int value);
+
+    public abstract W writeLong(long value);
+
+    public W write(byte... value) {
+        return write(value, 0, value.length);
+    }
+
+    public W writeBoolean(boolean value) {
+        return write((byte) (value ? 1 : 0));
+    }
+
+    public W writeArrayWithLength(byte[] value) {
+        return writeShort((short) value.length)
+                .write(value);
+    }
+
+    public W writeOptionArrayWithLength(byte[] value) {
+        if (value != null && value.length > 0) {
+            return writeBoolean(true).writeArrayWithLength(value);
+        } else
+            return writeBoolean(false);
+    }
+
+    public W writeOrderType(OrderType type) {
+        if (type == OrderType.BUY)
+            write((byte) 0);
+        else if (type == OrderType.SELL)
+            write((byte) 1);
+        else throw new IllegalArgumentException("Unknown order type " + type + " (not BUY or SELL)");
+        return self();
+    }
+
+    public W writePublicKey(PublicKey publicKey) {
+        return write(publicKey.bytes());
+    }
+
+    public W writeRecipient(Recipient recipient) {
+        return write(recipient.bytes());
+    }
+
+    public W writeAssetId(AssetId assetId) {
+        return write(assetId.bytes());
+    }
+
+    public W writeAssetIdOrWaves(AssetId assetIdOrWaves) {
+        return assetIdOrWaves.isWaves() ? write((byte) 0) : write((byte) 1).write(assetIdOrWaves.bytes());
+    }
+
+    public W writeTxId(Id id) {
+        return write(id.bytes());
+    }
+
+    public W writeFunction(Function function) {
+        if (function.isDefault())
+            return write((byte) 0);
+        else {
+            write((byte) 1).write((byte) 9).write((byte) 1)
+                    .writeInt(function.name().length())
+                    .write(function.name().getBytes(UTF_8))
+                    .writeArguments(function.args());
+            return self();
+        }
+    }
+
+    public W writeArguments(List<Arg> args) {
+        writeInt(args.size());
+        args.forEach(arg -> {
+            if (arg instanceof IntegerArg)
+                write((byte) 0).writeLong(((IntegerArg) arg).value());
+            else if (arg instanceof BinaryArg) {
+                BinaryArg binArg = (BinaryArg) arg;
+                int intLength = binArg.value().bytes().length;
+                write((byte) 1).writeInt(intLength).write(binArg.value().bytes());
+            } else if (arg instanceof StringArg) {
+                StringArg strArg = (StringArg) arg;
+                byte[] valueBytes = strArg.value().getBytes(UTF_8);
+                write((byte) 2).writeInt(valueBytes.length).write(valueBytes);
+            } else if (arg instanceof BooleanArg)
+                write((byte)(((BooleanArg) arg).value() ? 6 : 7));
+            else if (arg instanceof ListArg)
+                write((byte) 11).writeArguments(((ListArg) arg).value());
+            else throw new IllegalArgumentException("Unknown arg type " + arg.type());
+
+        });
+        return self();
+    }
+
+    public W writeSignature(List<Proof> proofs) {
+        if (proofs.size() != 1)
+            throw new IllegalArgumentException("1 signature expected but " + proofs.size() + " proofs found");
+        return write(proofs.get(0).bytes());
+    }
+
+    public W writeProofs(List<Proof> proofs) {
+        write(Proof.LATEST_VERSION).writeShort((short) proofs.size());
+        proofs.forEach(proof -> writeArrayWithLength(proof.bytes()));
+        return self();
+    }
+
+    @SuppressWarnings("unchecked")
+    private W self() {
+        return (W) this;
+    }
+
+}
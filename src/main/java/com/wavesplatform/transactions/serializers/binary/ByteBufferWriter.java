@@ -0,0 +1,50 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Writer which puts bytes straight into the destination buffer instead of its own array.
+ * Numbers are big-endian whatever the order of the buffer is.
+ */
+class ByteBufferWriter extends BinaryWriter<ByteBufferWriter> {
+
+    private final ByteBuffer dest;
+    private final boolean bigEndian;
+
+    ByteBufferWriter(ByteBuffer dest) {
+        this.dest = dest;
+        this.bigEndian = dest.order() == ByteOrder.BIG_ENDIAN;
+    }
+
+    @Override
+    public ByteBufferWriter write(byte value) {
+        dest.put(value);
+        return this;
+    }
+
+    @Override
+    public ByteBufferWriter write(byte[] value, int offset, int length) {
+        dest.put(value, offset, length);
+        return this;
+    }
+
+    @Override
+    public ByteBufferWriter writeShort(short value) {
+        dest.putShort(bigEndian ? value : Short.reverseBytes(value));
+        return this;
+    }
+
+    @Override
+    public ByteBufferWriter writeInt(int value) {
+        dest.putInt(bigEndian ? value : Integer.reverseBytes(value));
+        return this;
+    }
+
+    @Override
+    public ByteBufferWriter writeLong(long value) {
+        dest.putLong(bigEndian ? value : Long.reverseBytes(value));
+        return this;
+    }
+
+}
@@ -7,45 +7,106 @@ import com.wavesplatform.transactions.common.*;
 import com.wavesplatform.transactions.exchange.OrderType;
 import com.wavesplatform.transactions.invocation.*;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
-import static com.wavesplatform.crypto.Bytes.concat;
-import static com.wavesplatform.crypto.Bytes.of;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+/**
+ * Reads legacy binary fields from a heap, direct or memory-mapped buffer.
+ * Primitives are decoded in place, nested structures can be read through {@link #slice(int)} without copying,
+ * and bytes are copied only into arrays which are held by the read value objects.
+ */
 public class BytesReader {
-    private final byte[] bytes;
+    private final ByteBuffer buffer;
     private final int length;
-    private int index;
 
     public BytesReader(byte[] bytes) {
-        this.bytes = bytes;
-        this.length = this.bytes.length;
-        this.index = 0;
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Create reader of remaining bytes of the buffer.
+     * Position of the passed buffer is not changed.
+     *
+     * @param buffer source bytes
+     */
+    public BytesReader(ByteBuffer buffer) {
+        this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        this.length = this.buffer.remaining();
     }
 
     public boolean hasNext() {
-        return index < length;
+        return buffer.hasRemaining();
     }
 
     public boolean skip(int count) {
-        index += count;
+        ensureAvailable(count);
+        buffer.position(buffer.position() + count);
         return hasNext();
     }
 
     public int rest() {
-        return bytes.length - index;
+        return buffer.remaining();
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    private void ensureAvailable(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Can't read negative count " + count + " of bytes");
+        if (count > buffer.remaining())
+            throw new IllegalArgumentException("Can't read " + count + " bytes at position " + buffer.position()
+                    + ", only " + buffer.remaining() + " bytes left");
     }
 
     public byte readByte() {
-        return bytes[index++];
+        ensureAvailable(1);
+        return buffer.get();
     }
 
     public byte[] readBytes(int count) {
-        byte[] result = Arrays.copyOfRange(bytes, index, index + count);
-        index = index + count;
+        ensureAvailable(count);
+        byte[] result = new byte[count];
+        buffer.get(result);
+        return result;
+    }
+
+    /**
+     * Read next bytes as a separate reader over the same memory and move the position behind them.
+     *
+     * @param count size of the slice in bytes
+     * @return reader of the slice
+     */
+    public BytesReader slice(int count) {
+        ensureAvailable(count);
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(slice.position() + count);
+        buffer.position(buffer.position() + count);
+        return new BytesReader(slice);
+    }
+
+    /**
+     * Read next bytes as UTF-8 string. Bytes of heap buffers are decoded without intermediate copy.
+     *
+     * @param count size of the string in bytes
+     * @return decoded string
+     */
+    public String readString(int count) {
+        if (!buffer.hasArray())
+            return new String(readBytes(count), UTF_8);
+
+        ensureAvailable(count);
+        String result = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), count, UTF_8);
+        buffer.position(buffer.position() + count);
         return result;
     }
 
@@ -59,15 +120,18 @@ public class BytesReader {
     }
 
     public short readShort() {
-        return Bytes.toShort(readBytes(2));
+        ensureAvailable(2);
+        return buffer.getShort();
     }
 
     public int readInt() {
-        return Bytes.toInt(readBytes(4));
+        ensureAvailable(4);
+        return buffer.getInt();
     }
 
     public long readLong() {
-        return Bytes.toLong(readBytes(8));
+        ensureAvailable(8);
+        return buffer.getLong();
     }
 
     public OrderType readOrderType() {
@@ -79,6 +143,11 @@ public class BytesReader {
         return readBytes(arrayLength);
     }
 
+    public String readStringWithLength() {
+        short stringLength = readShort();
+        return readString(stringLength);
+    }
+
     public byte[] readOptionArrayWithLength() {
         return readBoolean() ? readArrayWithLength() : Bytes.empty();
     }
@@ -88,11 +157,13 @@ public class BytesReader {
     }
 
     public Recipient readRecipient() {
-        byte recipientType = readByte();
+        ensureAvailable(1);
+        byte recipientType = buffer.get(buffer.position());
         if (recipientType == Address.TYPE)
-            return Address.as(concat(of(recipientType), readBytes(Address.BYTES_LENGTH - 1)));
+            return Address.fromDecoded(readBytes(Address.BYTES_LENGTH));
         else if (recipientType == Alias.TYPE) {
-            return Alias.as(readByte(), new String(readArrayWithLength()));
+            skip(1);
+            return Alias.as(readByte(), readArrayWithLength());
         } else throw new IllegalArgumentException("Unknown recipient type");
     }
 
@@ -113,7 +184,7 @@ public class BytesReader {
         if (readBoolean()) {
             if (readByte() != 9) throw new IllegalArgumentException("FunctionCall Id must be equal 9");
             if (readByte() != 1) throw new IllegalArgumentException("Function type Id must be equal 1");
-            String name = new String(readBytes(readInt()), UTF_8);
+            String name = readString(readInt());
             List<Arg> args = readArguments();
             return Function.as(name, args);
         } else return Function.asDefault();
@@ -126,7 +197,7 @@ public class BytesReader {
             byte argType = readByte();
             if (argType == 0) args.add(IntegerArg.as(readLong()));
             else if (argType == 1) args.add(BinaryArg.as(readBytes(readInt())));
-            else if (argType == 2) args.add(StringArg.as(new String(readBytes(readInt()), UTF_8)));
+            else if (argType == 2) args.add(StringArg.as(readString(readInt())));
             else if (argType == 6) args.add(BooleanArg.as(true));
             else if (argType == 7) args.add(BooleanArg.as(false));
             else if (argType == 11) args.add(ListArg.as(readArguments()));
@@ -1,141 +1,153 @@
 package com.wavesplatform.transactions.serializers.binary;
 
-import com.wavesplatform.crypto.Bytes;
-import com.wavesplatform.transactions.account.PublicKey;
-import com.wavesplatform.transactions.common.AssetId;
-import com.wavesplatform.transactions.common.Id;
-import com.wavesplatform.transactions.common.Proof;
-import com.wavesplatform.transactions.common.Recipient;
-import com.wavesplatform.transactions.exchange.OrderType;
-import com.wavesplatform.transactions.invocation.*;
-
-import java.util.List;
-
-import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 //todo inherit OutputStream
-public class BytesWriter {
+public class BytesWriter extends BinaryWriter<BytesWriter> {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int MAX_POOLED_CAPACITY = 256 * 1024;
+    private static final ThreadLocal<BytesWriter> POOL = new ThreadLocal<>();
 
     private byte[] buf;
+    private int size;
 
+    /**
+     * Create writer which starts with the specified count of zero bytes.
+     *
+     * @param size count of leading zero bytes
+     */
     public BytesWriter(int size) {
-        buf = new byte[size];
+        this(new byte[Math.max(size, DEFAULT_CAPACITY)], size);
     }
 
     public BytesWriter() {
-        this(0);
-    }
-
-    public byte[] getBytes() {
-        return buf;
-    }
-
-    public BytesWriter write(byte... value) {
-        buf = Bytes.concat(buf, value);
+        this(new byte[DEFAULT_CAPACITY], 0);
+    }
+
+    private BytesWriter(byte[] buf, int size) {
+        this.buf = buf;
+        this.size = size;
+    }
+
+    /**
+     * Create empty writer with the pre-allocated buffer of the specified capacity.
+     * The buffer grows twice every time it runs out of space.
+     *
+     * @param capacity initial capacity of the buffer in bytes
+     * @return empty writer
+     */
+    public static BytesWriter withCapacity(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Capacity must not be negative, but actual is " + capacity);
+        return new BytesWriter(new byte[capacity], 0);
+    }
+
+    /**
+     * Take the writer cached for the current thread or create new one if it's busy.
+     * The writer must be returned by {@link #release()} when its bytes are taken.
+     *
+     * @return empty writer
+     */
+    static BytesWriter pooled() {
+        BytesWriter writer = POOL.get();
+        if (writer == null)
+            return new BytesWriter();
+        POOL.set(null);
+        return writer.reset();
+    }
+
+    /**
+     * Return the writer to the cache of the current thread.
+     * The writer must not be used after that, so only serializers of this package which own the writer release it.
+     */
+    void release() {
+        if (buf.length <= MAX_POOLED_CAPACITY)
+            POOL.set(reset());
+    }
+
+    /**
+     * Discard written bytes but keep the allocated buffer.
+     *
+     * @return this writer
+     */
+    public BytesWriter reset() {
+        size = 0;
         return this;
     }
 
-    public BytesWriter writeBoolean(boolean value) {
-        return write((byte) (value ? 1 : 0));
-    }
-
-    public BytesWriter writeArrayWithLength(byte[] value) {
-        return write(Bytes.fromShort((short)value.length))
-                .write(value);
-    }
-
-    public BytesWriter writeOptionArrayWithLength(byte[] value) {
-        if (value != null && value.length > 0) {
-            return writeBoolean(true).writeArrayWithLength(value);
-        } else
-            return writeBoolean(false);
-    }
-
-    public BytesWriter writeShort(short value) {
-        return write(Bytes.fromShort(value));
-    }
-
-    public BytesWriter writeInt(int value) {
-        return write(Bytes.fromInt(value));
+    public int size() {
+        return size;
     }
 
-    public BytesWriter writeLong(long value) {
-        return write(Bytes.fromLong(value));
+    public int capacity() {
+        return buf.length;
     }
 
-    public BytesWriter writeOrderType(OrderType type) {
-        if (type == OrderType.BUY)
-            write((byte) 0);
-        else if (type == OrderType.SELL)
-            write((byte) 1);
-        else throw new IllegalArgumentException("Unknown order type " + type + " (not BUY or SELL)");
+    public byte[] getBytes() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    /**
+     * Copy written bytes into the buffer without allocating an array.
+     *
+     * @param dest destination buffer, its position is moved by the size of the writer
+     * @return count of copied bytes
+     * @throws BufferOverflowException if the buffer has not enough space, nothing is copied then
+     */
+    public int writeTo(ByteBuffer dest) {
+        if (dest.remaining() < size)
+            throw new BufferOverflowException();
+        dest.put(buf, 0, size);
+        return size;
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = size + extra;
+        if (required < 0)
+            throw new IllegalStateException("Writer can't hold more than " + Integer.MAX_VALUE + " bytes");
+        if (required > buf.length)
+            buf = Arrays.copyOf(buf, Math.max(required, Math.max(buf.length * 2, 16)));
+    }
+
+    @Override
+    public BytesWriter write(byte value) {
+        ensureCapacity(1);
+        buf[size++] = value;
         return this;
     }
 
-    public BytesWriter writePublicKey(PublicKey publicKey) {
-        return write(publicKey.bytes());
-    }
-
-    public BytesWriter writeRecipient(Recipient recipient) {
-        return write(recipient.bytes());
-    }
-
-    public BytesWriter writeAssetId(AssetId assetId) {
-        return write(assetId.bytes());
-    }
-
-    public BytesWriter writeAssetIdOrWaves(AssetId assetIdOrWaves) {
-        return assetIdOrWaves.isWaves() ? write((byte) 0) : write((byte) 1).write(assetIdOrWaves.bytes());
-    }
-
-    public BytesWriter writeTxId(Id id) {
-        return write(id.bytes());
-    }
-
-    public BytesWriter writeFunction(Function function) {
-        if (function.isDefault())
-            return write((byte) 0);
-        else {
-            write((byte) 1, (byte) 9, (byte) 1)
-                    .writeInt(function.name().length())
-                    .write(function.name().getBytes(UTF_8))
-                    .writeArguments(function.args());
-            return this;
-        }
+    @Override
+    public BytesWriter write(byte[] value, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(value, offset, buf, size, length);
+        size += length;
+        return this;
     }
 
-    public BytesWriter writeArguments(List<Arg> args) {
-        writeInt(args.size());
-        args.forEach(arg -> {
-            if (arg instanceof IntegerArg)
-                write((byte) 0).writeLong(((IntegerArg) arg).value());
-            else if (arg instanceof BinaryArg) {
-                BinaryArg binArg = (BinaryArg) arg;
-                int intLength = binArg.value().bytes().length;
-                write((byte) 1).writeInt(intLength).write(binArg.value().bytes());
-            } else if (arg instanceof StringArg) {
-                StringArg strArg = (StringArg) arg;
-                byte[] valueBytes = strArg.value().getBytes(UTF_8);
-                write((byte) 2).writeInt(valueBytes.length).write(valueBytes);
-            } else if (arg instanceof BooleanArg)
-                write((byte)(((BooleanArg) arg).value() ? 6 : 7));
-            else if (arg instanceof ListArg)
-                write((byte) 11).writeArguments(((ListArg) arg).value());
-            else throw new IllegalArgumentException("Unknown arg type " + arg.type());
-
-        });
+    @Override
+    public BytesWriter writeShort(short value) {
+        ensureCapacity(2);
+        buf[size++] = (byte) (value >> 8);
+        buf[size++] = (byte) value;
         return this;
     }
 
-    public BytesWriter writeSignature(List<Proof> proofs) {
-        if (proofs.size() != 1)
-            throw new IllegalArgumentException("1 signature expected but " + proofs.size() + " proofs found");
-        return write(proofs.get(0).bytes());
+    @Override
+    public BytesWriter writeInt(int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8)
+            buf[size++] = (byte) (value >> shift);
+        return this;
     }
 
-    public BytesWriter writeProofs(List<Proof> proofs) {
-        write(Proof.LATEST_VERSION).writeShort((short) proofs.size());
-        proofs.forEach(proof -> writeArrayWithLength(proof.bytes()));
+    @Override
+    public BytesWriter writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8)
+            buf[size++] = (byte) (value >> shift);
         return this;
     }
 
@@ -1,6 +1,5 @@
 package com.wavesplatform.transactions.serializers.binary;
 
-import com.wavesplatform.crypto.Bytes;
 import com.wavesplatform.transactions.*;
 import com.wavesplatform.transactions.account.Address;
 import com.wavesplatform.transactions.account.PublicKey;
@@ -12,10 +11,11 @@ import com.wavesplatform.transactions.invocation.Function;
 import com.wavesplatform.transactions.mass.Transfer;
 import com.wavesplatform.transactions.serializers.Scheme;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
-import static com.wavesplatform.crypto.Bytes.concat;
 import static com.wavesplatform.transactions.serializers.Scheme.WITH_PROOFS;
 import static com.wavesplatform.transactions.serializers.Scheme.WITH_SIGNATURE;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -23,12 +23,21 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public abstract class LegacyBinarySerializer {
 
     public static Order orderFromBytes(byte[] bytes, boolean versioned) {
-        if (bytes.length < 1)
+        return orderFromBytes(ByteBuffer.wrap(bytes), versioned);
+    }
+
+    public static Order orderFromBytes(ByteBuffer bytes, boolean versioned) {
+        return readOrder(new BytesReader(bytes), versioned);
+    }
+
+    private static Order readOrder(BytesReader reader, boolean versioned) {
+        if (reader.length() < 1)
             throw new IllegalArgumentException("Byte array is too short to parse");
-        BytesReader reader = new BytesReader(bytes);
 
-        int version = versioned ? reader.readByte() : 1;
+        return readOrder(reader, versioned ? reader.readByte() : 1);
+    }
 
+    private static Order readOrder(BytesReader reader, int version) {
         Scheme scheme = Scheme.ofOrder(version);
         if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
             throw new IllegalArgumentException("Input is not legacy bytes");
@@ -51,10 +60,14 @@ public abstract class LegacyBinarySerializer {
     }
 
     public static Transaction transactionFromBytes(byte[] bytes) {
-        if (bytes.length < 2)
+        return transactionFromBytes(ByteBuffer.wrap(bytes));
+    }
+
+    public static Transaction transactionFromBytes(ByteBuffer bytes) {
+        BytesReader reader = new BytesReader(bytes);
+        if (reader.length() < 2)
             throw new IllegalArgumentException("Byte array is too short to parse");
         byte chainId = WavesConfig.chainId();
-        BytesReader reader = new BytesReader(bytes);
 
         byte maybeVersionFlag = reader.readByte();
         byte type = maybeVersionFlag == 0 ? reader.readByte() : maybeVersionFlag;
@@ -80,14 +93,14 @@ public abstract class LegacyBinarySerializer {
         Transaction transaction;
         if (type == GenesisTransaction.TYPE) {
             long timestamp = reader.readLong();
-            Address recipient = Address.as(reader.readBytes(Address.BYTES_LENGTH));
+            Address recipient = Address.fromDecoded(reader.readBytes(Address.BYTES_LENGTH));
             long amount = reader.readLong();
 
             transaction = new GenesisTransaction(recipient, amount, timestamp);
         } else if (type == PaymentTransaction.TYPE) {
             long timestamp = reader.readLong();
             PublicKey sender = reader.readPublicKey();
-            Address recipient = Address.as(reader.readBytes(Address.BYTES_LENGTH));
+            Address recipient = Address.fromDecoded(reader.readBytes(Address.BYTES_LENGTH));
             long amount = reader.readLong();
             long fee = reader.readLong();
             Proof signature = reader.readSignature().get(0);
@@ -157,28 +170,13 @@ public abstract class LegacyBinarySerializer {
             Order order1, order2;
             int order1Length = reader.readInt();
             if (scheme == WITH_PROOFS) {
-                byte order1Version = reader.readByte();
-                if (order1Version > 1) {
-                    byte[] order1Bytes = concat(Bytes.of(order1Version), reader.readBytes(order1Length - 1));
-                    order1 = orderFromBytes(order1Bytes, true);
-                } else {
-                    byte[] order1Bytes = reader.readBytes(order1Length);
-                    order1 = orderFromBytes(order1Bytes, false);
-                }
-
+                order1 = readVersionedOrder(reader, order1Length);
                 int order2Length = reader.readInt();
-                byte order2Version = reader.readByte();
-                if (order2Version > 1) {
-                    byte[] order2Bytes = concat(Bytes.of(order2Version), reader.readBytes(order2Length - 1));
-                    order2 = orderFromBytes(order2Bytes, true);
-                } else {
-                    byte[] order2Bytes = reader.readBytes(order2Length);
-                    order2 = orderFromBytes(order2Bytes, false);
-                }
+                order2 = readVersionedOrder(reader, order2Length);
             } else {
                 int order2Length = reader.readInt();
-                order1 = orderFromBytes(reader.readBytes(order1Length), false);
-                order2 = orderFromBytes(reader.readBytes(order2Length), false);
+                order1 = readOrder(reader.slice(order1Length), false);
+                order2 = readOrder(reader.slice(order2Length), false);
             }
             long price = reader.readLong();
             long amount = reader.readLong();
@@ -216,8 +214,7 @@ public abstract class LegacyBinarySerializer {
                     sender, leaseId, chainId, Amount.of(fee), timestamp, version, proofs);
         } else if (type == CreateAliasTransaction.TYPE) {
             PublicKey sender = reader.readPublicKey();
-            byte[] aliasBytes = reader.readArrayWithLength();
-            Alias alias = (Alias) new BytesReader(aliasBytes).readRecipient();
+            Alias alias = (Alias) reader.slice(reader.readShort()).readRecipient();
             long fee = reader.readLong();
             long timestamp = reader.readLong();
             proofs = scheme == WITH_PROOFS ? reader.readProofs() : reader.readSignature();
@@ -246,13 +243,13 @@ public abstract class LegacyBinarySerializer {
             short entriesCount = reader.readShort();
             List<DataEntry> entries = new ArrayList<>();
             for (int i = 0; i < entriesCount; i++) {
-                String key = new String(reader.readArrayWithLength(), UTF_8);
+                String key = reader.readStringWithLength();
                 byte entryType = reader.readByte();
                 if (entryType == 0) entries.add(new IntegerEntry(key, reader.readLong()));
                 else if (entryType == 1) entries.add(new BooleanEntry(key, reader.readBoolean()));
                 else if (entryType == 2) entries.add(new BinaryEntry(key, reader.readArrayWithLength()));
                 else if (entryType == 3)
-                    entries.add(new StringEntry(key, new String(reader.readArrayWithLength(), UTF_8)));
+                    entries.add(new StringEntry(key, reader.readStringWithLength()));
                 else
                     throw new IllegalArgumentException("Unknown type code " + entryType + " of the item with index " + i);
             }
@@ -307,12 +304,11 @@ public abstract class LegacyBinarySerializer {
             short paymentsCount = reader.readShort();
             List<Amount> payments = new ArrayList<>();
             for (int i = 0; i < paymentsCount; i++) {
-                byte[] paymentBytes = reader.readArrayWithLength();
-                BytesReader paymentReader = new BytesReader(paymentBytes);
+                BytesReader paymentReader = reader.slice(reader.readShort());
                 payments.add(Amount.of(paymentReader.readLong(), paymentReader.readAssetIdOrWaves()));
                 if (paymentReader.hasNext())
-                    throw new IllegalArgumentException("The size of " + paymentBytes.length
-                            + " bytes is " + (paymentBytes.length - paymentReader.rest())
+                    throw new IllegalArgumentException("The size of " + paymentReader.length()
+                            + " bytes is " + (paymentReader.length() - paymentReader.rest())
                             + " greater than expected for the payment with index " + i + " of the parsed InvokeScriptTransaction");
             }
             long fee = reader.readLong();
@@ -325,19 +321,64 @@ public abstract class LegacyBinarySerializer {
         } else throw new IllegalArgumentException("Unsupported transaction type " + type);
 
         if (reader.hasNext())
-            throw new IllegalArgumentException("The size of " + bytes.length
-                    + " bytes is " + (bytes.length - reader.rest())
+            throw new IllegalArgumentException("The size of " + reader.length()
+                    + " bytes is " + (reader.length() - reader.rest())
                     + " greater than expected for type " + type + " and version " + version + " of the transaction");
 
         return transaction;
     }
 
+    /**
+     * Orders of version 1 are prefixed with the version byte which is not a part of their bytes and length,
+     * other versions start with it.
+     */
+    private static Order readVersionedOrder(BytesReader reader, int orderLength) {
+        byte orderVersion = reader.readByte();
+        if (orderVersion > 1)
+            return readOrder(reader.slice(orderLength - 1), (int) orderVersion);
+        else
+            return readOrder(reader.slice(orderLength), 1);
+    }
+
     public static byte[] bodyBytes(TransactionOrOrder txOrOrder) {
         Scheme scheme = Scheme.of(txOrOrder);
         if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
             throw new IllegalArgumentException("not a legacy");
 
-        BytesWriter bwStream = new BytesWriter();
+        BytesWriter bwStream = BytesWriter.pooled();
+        try {
+            writeBodyBytes(bwStream, txOrOrder, scheme);
+            return bwStream.getBytes();
+        } finally {
+            bwStream.release();
+        }
+    }
+
+    /**
+     * Write body bytes straight into the buffer instead of a new array, for example to hash or sign them right away.
+     *
+     * @param txOrOrder transaction or order
+     * @param dest destination buffer, its position is moved by the count of written bytes
+     * @return count of written bytes
+     * @throws BufferOverflowException if the buffer has not enough space, the position is not changed then,
+     *                                 but bytes after it may be overwritten
+     */
+    public static int writeBodyBytes(TransactionOrOrder txOrOrder, ByteBuffer dest) {
+        Scheme scheme = Scheme.of(txOrOrder);
+        if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
+            throw new IllegalArgumentException("not a legacy");
+
+        int start = dest.position();
+        try {
+            writeBodyBytes(new ByteBufferWriter(dest), txOrOrder, scheme);
+        } catch (BufferOverflowException e) {
+            dest.position(start);
+            throw e;
+        }
+        return dest.position() - start;
+    }
+
+    private static void writeBodyBytes(BinaryWriter<?> bwStream, TransactionOrOrder txOrOrder, Scheme scheme) {
         if (txOrOrder instanceof Order) {
             if (scheme == WITH_PROOFS)
                 bwStream.write((byte) txOrOrder.version());
@@ -429,20 +470,20 @@ public abstract class LegacyBinarySerializer {
                 ExchangeTransaction etx = (ExchangeTransaction) tx;
                 Order order1 = etx.orders().get(0);
                 Order order2 = etx.orders().get(1);
-                int order1Size = order1.toBytes().length;
-                int order2Size = order2.toBytes().length;
-                bwStream.writeInt(order1Size);
+                byte[] order1Bytes = toBytes(order1);
+                byte[] order2Bytes = toBytes(order2);
+                bwStream.writeInt(order1Bytes.length);
                 if (scheme == WITH_PROOFS) {
                     if (order1.version() == 1)
                         bwStream.write((byte) order1.version());
-                    bwStream.write(toBytes(order1))
-                            .writeInt(order2Size);
+                    bwStream.write(order1Bytes)
+                            .writeInt(order2Bytes.length);
                     if (order2.version() == 1)
                         bwStream.write((byte) order2.version());
                 } else
-                    bwStream.writeInt(order2Size)
-                            .write(toBytes(order1));
-                bwStream.write(toBytes(order2))
+                    bwStream.writeInt(order2Bytes.length)
+                            .write(order1Bytes);
+                bwStream.write(order2Bytes)
                         .writeLong(etx.price())
                         .writeLong(etx.amount())
                         .writeLong(etx.buyMatcherFee())
@@ -469,9 +510,7 @@ public abstract class LegacyBinarySerializer {
             } else if (tx instanceof CreateAliasTransaction) {
                 CreateAliasTransaction caTx = (CreateAliasTransaction) tx;
                 bwStream.writePublicKey(caTx.sender())
-                        .writeArrayWithLength(new BytesWriter()
-                                .writeRecipient(caTx.alias())
-                                .getBytes())
+                        .writeArrayWithLength(caTx.alias().bytes())
                         .writeLong(caTx.fee().value())
                         .writeLong(caTx.timestamp());
             } else if (tx instanceof MassTransferTransaction) {
@@ -532,23 +571,20 @@ public abstract class LegacyBinarySerializer {
                         .writeOptionArrayWithLength(sasTx.script().bytes());
             } else if (tx instanceof InvokeScriptTransaction) {
                 InvokeScriptTransaction isTx = (InvokeScriptTransaction) tx;
-                bwStream.write(Bytes.of(isTx.chainId()))
+                bwStream.write(isTx.chainId())
                         .writePublicKey(isTx.sender())
                         .writeRecipient(isTx.dApp())
                         .writeFunction(isTx.function())
                         .writeShort((short) isTx.payments().size());
                 isTx.payments().forEach(payment -> bwStream
-                        .writeArrayWithLength(new BytesWriter()
-                                .writeLong(payment.value())
-                                .writeAssetIdOrWaves(payment.assetId())
-                                .getBytes()));
+                        .writeShort((short) (Long.BYTES + 1 + payment.assetId().bytes().length))
+                        .writeLong(payment.value())
+                        .writeAssetIdOrWaves(payment.assetId()));
                 bwStream.writeLong(isTx.fee().value())
                         .writeAssetIdOrWaves(isTx.fee().assetId())
                         .writeLong(isTx.timestamp());
             }
         }
-
-        return bwStream.getBytes();
     }
 
     public static byte[] toBytes(TransactionOrOrder txOrOrder) {
@@ -556,7 +592,38 @@ public abstract class LegacyBinarySerializer {
         if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
             throw new IllegalArgumentException("not a legacy");
 
-        BytesWriter bwStream = new BytesWriter();
+        BytesWriter bwStream = BytesWriter.pooled();
+        try {
+            writeBytes(bwStream, txOrOrder, scheme);
+            return bwStream.getBytes();
+        } finally {
+            bwStream.release();
+        }
+    }
+
+    /**
+     * Write bytes with proofs into the buffer instead of a new array.
+     *
+     * @param txOrOrder transaction or order
+     * @param dest destination buffer, its position is moved by the count of written bytes
+     * @return count of written bytes
+     * @throws java.nio.BufferOverflowException if the buffer has not enough space, nothing is written then
+     */
+    public static int writeBytes(TransactionOrOrder txOrOrder, ByteBuffer dest) {
+        Scheme scheme = Scheme.of(txOrOrder);
+        if (scheme != WITH_PROOFS && scheme != WITH_SIGNATURE)
+            throw new IllegalArgumentException("not a legacy");
+
+        BytesWriter bwStream = BytesWriter.pooled();
+        try {
+            writeBytes(bwStream, txOrOrder, scheme);
+            return bwStream.writeTo(dest);
+        } finally {
+            bwStream.release();
+        }
+    }
+
+    private static void writeBytes(BytesWriter bwStream, TransactionOrOrder txOrOrder, Scheme scheme) {
         if (txOrOrder instanceof Order) {
             bwStream.write(txOrOrder.bodyBytes());
             if (scheme == WITH_PROOFS)
@@ -582,9 +649,9 @@ public abstract class LegacyBinarySerializer {
                 if (tx instanceof GenesisTransaction)
                     bwStream.write(tx.bodyBytes());
                 else if (tx instanceof PaymentTransaction) {
-                    byte[] bodyWithoutIntType = Bytes.drop(tx.bodyBytes(), 4);
+                    byte[] body = tx.bodyBytes();
                     bwStream.write((byte) tx.type())
-                            .write(bodyWithoutIntType)
+                            .write(body, 4, body.length - 4)
                             .writeSignature(tx.proofs());
                 } else if (tx instanceof IssueTransaction
                         || tx instanceof TransferTransaction
@@ -597,8 +664,6 @@ public abstract class LegacyBinarySerializer {
                             .writeSignature(tx.proofs());
             }
         }
-
-        return bwStream.getBytes();
     }
 
 }
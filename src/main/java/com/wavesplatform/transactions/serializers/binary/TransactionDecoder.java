@@ -0,0 +1,207 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.protobuf.transaction.TransactionOuterClass;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.serializers.ProtobufConverter;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily decodes a sequence of transactions from a stream without reading the whole sequence into memory.
+ * Only one transaction is held at a time in a reusable buffer which is bounded by the max transaction size.
+ * <p>
+ * Two framings are supported:
+ * <ul>
+ *     <li>{@link Framing#LENGTH_PREFIXED} - every transaction is prefixed by its size as 4-byte big-endian integer,
+ *     like transactions in a block. Each transaction can be either in legacy or protobuf binary format;</li>
+ *     <li>{@link Framing#DELIMITED} - every protobuf transaction is prefixed by its size as varint,
+ *     as written by {@code SignedTransaction.writeDelimitedTo(OutputStream)}.</li>
+ * </ul>
+ * I/O errors while iterating are rethrown as {@link UncheckedIOException}.
+ * The decoder is not thread-safe.
+ */
+public class TransactionDecoder implements Iterator<Transaction>, Closeable {
+
+    public static final int DEFAULT_MAX_TRANSACTION_SIZE = 1024 * 1024;
+    private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    public enum Framing {
+        LENGTH_PREFIXED,
+        DELIMITED
+    }
+
+    private final ReadableByteChannel channel;
+    private final Framing framing;
+    private final int maxTransactionSize;
+    private ByteBuffer buffer;
+    private Transaction next;
+    private boolean finished;
+
+    public TransactionDecoder(ReadableByteChannel channel, Framing framing, int maxTransactionSize) {
+        if (maxTransactionSize <= 0)
+            throw new IllegalArgumentException("Max transaction size must be positive, but was " + maxTransactionSize);
+        this.channel = channel;
+        this.framing = framing;
+        this.maxTransactionSize = maxTransactionSize;
+        this.buffer = ByteBuffer.allocate(Math.min(DEFAULT_BUFFER_SIZE, maxTransactionSize + Integer.BYTES));
+        this.buffer.flip();
+    }
+
+    public TransactionDecoder(ReadableByteChannel channel, Framing framing) {
+        this(channel, framing, DEFAULT_MAX_TRANSACTION_SIZE);
+    }
+
+    public TransactionDecoder(InputStream stream, Framing framing) {
+        this(Channels.newChannel(stream), framing);
+    }
+
+    public static TransactionDecoder lengthPrefixed(InputStream stream) {
+        return new TransactionDecoder(stream, Framing.LENGTH_PREFIXED);
+    }
+
+    public static TransactionDecoder lengthPrefixed(ReadableByteChannel channel) {
+        return new TransactionDecoder(channel, Framing.LENGTH_PREFIXED);
+    }
+
+    public static TransactionDecoder delimited(InputStream stream) {
+        return new TransactionDecoder(stream, Framing.DELIMITED);
+    }
+
+    public static TransactionDecoder delimited(ReadableByteChannel channel) {
+        return new TransactionDecoder(channel, Framing.DELIMITED);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                finished = true;
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Transaction next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Transaction result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * @return ordered sequential spliterator of the remaining transactions
+     */
+    public Spliterator<Transaction> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return sequential stream of the remaining transactions which closes the decoder on close
+     */
+    public Stream<Transaction> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        next = null;
+        channel.close();
+    }
+
+    private Transaction readNext() throws IOException {
+        if (!fill(1))
+            return null;
+
+        int size = framing == Framing.LENGTH_PREFIXED ? readInt() : readVarint();
+        if (size < 0 || size > maxTransactionSize)
+            throw new IOException("Transaction size " + size + " is out of bounds [0, " + maxTransactionSize + "]");
+        if (!fill(size))
+            throw new EOFException("Stream ended inside of transaction of " + size + " bytes");
+
+        ByteBuffer txBytes = buffer.slice();
+        txBytes.limit(size);
+        buffer.position(buffer.position() + size);
+
+        try {
+            if (framing == Framing.LENGTH_PREFIXED)
+                return BinarySerializer.transactionFromBytes(txBytes);
+            else
+                return ProtobufConverter.fromProtobuf(TransactionOuterClass.SignedTransaction.parseFrom(txBytes));
+        } catch (RuntimeException e) {
+            throw new IOException("Can't decode transaction of " + size + " bytes", e);
+        }
+    }
+
+    private int readInt() throws IOException {
+        if (!fill(Integer.BYTES))
+            throw new EOFException("Stream ended inside of transaction size");
+        return buffer.getInt();
+    }
+
+    private int readVarint() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (!fill(1))
+                throw new EOFException("Stream ended inside of transaction size");
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return result;
+        }
+        throw new IOException("Malformed varint of transaction size");
+    }
+
+    /**
+     * Make sure that the buffer has at least the count of unread bytes.
+     *
+     * @return false if the stream ended before
+     */
+    private boolean fill(int count) throws IOException {
+        if (buffer.remaining() >= count)
+            return true;
+        if (count > buffer.capacity()) {
+            int capacity = buffer.capacity();
+            while (capacity < count)
+                capacity = (int) Math.min((long) capacity * 2, maxTransactionSize + Integer.BYTES);
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            grown.put(buffer);
+            buffer = grown;
+        } else buffer.compact();
+
+        try {
+            while (buffer.position() < count)
+                if (channel.read(buffer) < 0)
+                    return false;
+        } finally {
+            buffer.flip();
+        }
+        return true;
+    }
+
+}
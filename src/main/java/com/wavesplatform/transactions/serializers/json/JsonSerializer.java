@@ -1,10 +1,15 @@
 package com.wavesplatform.transactions.serializers.json;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.wavesplatform.crypto.base.Base58;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.wavesplatform.crypto.base.Base64;
 import com.wavesplatform.transactions.*;
 import com.wavesplatform.transactions.account.Address;
@@ -18,6 +23,10 @@ import com.wavesplatform.transactions.mass.Transfer;
 import com.wavesplatform.transactions.serializers.Scheme;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,475 +35,622 @@ public abstract class JsonSerializer {
     public static final ObjectMapper JSON_MAPPER = new ObjectMapper();
     
     public static Order orderFromJson(JsonNode json) throws IOException {
-        int version = json.get("version").asInt();
+        return orderFromJson(json.traverse(JSON_MAPPER));
+    }
+
+    public static Order orderFromJson(String json) throws IOException {
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(json)) {
+            return orderFromJson(parser);
+        }
+    }
+
+    /**
+     * Read order from the parser in one pass without building a tree.
+     * The parser must point to the start of the object, or before it, and is left at the end of the object.
+     *
+     * @param parser json parser
+     * @return order
+     * @throws IOException if json can't be parsed as order
+     */
+    public static Order orderFromJson(JsonParser parser) throws IOException {
+        Fields json = readFields(parser);
+        int version = json.version == null ? 1 : json.version;
 
         OrderType type;
-        String jsType = json.get("orderType").asText();
+        String jsType = required(json.orderType, "orderType");
         if (jsType.equals(OrderType.BUY.value()))
             type = OrderType.BUY;
         else if (jsType.equals(OrderType.SELL.value()))
             type = OrderType.SELL;
         else throw new IOException("Unknown order type \"" + jsType + "\"");
 
-        List<Proof> proofs = new ArrayList<>();
-        if (version == 1)
-            proofs.add(Proof.as(json.get("signature").asText()));
-        else for (JsonNode proof : json.get("proofs"))
-            proofs.add(Proof.as(proof.asText()));
+        List<Proof> proofs = version == 1
+                ? Proof.list(Proof.as(required(json.signature, "signature")))
+                : json.proofs == null ? Proof.emptyList() : json.proofs;
 
-        Amount fee = Amount.of(
-                json.get("matcherFee").asLong(),
-                json.has("matcherFeeAssetId") ? assetIdFromJson(json.get("matcherFeeAssetId")) : AssetId.WAVES
-        );
+        Amount fee = Amount.of(required(json.matcherFee, "matcherFee"), AssetId.as(json.matcherFeeAssetId));
 
         return new Order(
-                PublicKey.as(json.get("senderPublicKey").asText()),
+                PublicKey.as(required(json.senderPublicKey, "senderPublicKey")),
                 type,
-                Amount.of(json.get("amount").asLong(), assetIdFromJson(json.get("assetPair").get("amountAsset"))),
-                Amount.of(json.get("price").asLong(), assetIdFromJson(json.get("assetPair").get("priceAsset"))),
-                PublicKey.as(json.get("matcherPublicKey").asText()),
-                json.has("chainId") ? (byte) json.get("chainId").asInt() : WavesConfig.chainId(),
+                Amount.of(required(json.amount, "amount"), AssetId.as(json.amountAsset)),
+                Amount.of(required(json.price, "price"), AssetId.as(json.priceAsset)),
+                PublicKey.as(required(json.matcherPublicKey, "matcherPublicKey")),
+                json.chainId != null ? json.chainId : WavesConfig.chainId(),
                 fee,
-                json.get("timestamp").asLong(),
-                json.get("expiration").asLong(),
+                required(json.timestamp, "timestamp"),
+                required(json.expiration, "expiration"),
                 version,
                 proofs
         );
     }
 
-    public static Order orderFromJson(String json) throws IOException {
-        return orderFromJson(JSON_MAPPER.readTree(json));
+    public static Transaction fromJson(JsonNode json) throws IOException {
+        return fromJson(json.traverse(JSON_MAPPER));
     }
 
-    public static Transaction fromJson(JsonNode json) throws IOException {
-        int type = json.get("type").asInt();
-        int version = json.hasNonNull("version") ? json.get("version").asInt() : 1;
-        byte chainId = json.has("chainId") ? (byte) json.get("chainId").asInt() : WavesConfig.chainId();
-        PublicKey sender = json.hasNonNull("senderPublicKey")
-                ? PublicKey.as(json.get("senderPublicKey").asText())
+    public static Transaction fromJson(String json) throws IOException {
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(json)) {
+            return fromJson(parser);
+        }
+    }
+
+    /**
+     * Read transaction from the parser in one pass without building a tree.
+     * The parser must point to the start of the object, or before it, and is left at the end of the object.
+     *
+     * @param parser json parser
+     * @return transaction
+     * @throws IOException if json can't be parsed as transaction
+     */
+    public static Transaction fromJson(JsonParser parser) throws IOException {
+        Fields json = readFields(parser);
+
+        int type = required(json.type, "type");
+        int version = json.version == null ? 1 : json.version;
+        byte chainId = json.chainId != null ? json.chainId : WavesConfig.chainId();
+        PublicKey sender = json.senderPublicKey != null
+                ? PublicKey.as(json.senderPublicKey)
                 : PublicKey.as(new byte[PublicKey.BYTES_LENGTH]);
         //todo validate sender address if exists? configurable? jsonNode.get("sender").asText(sender.address())
-        Amount fee = Amount.of(
-                json.get("fee").asLong(),
-                json.hasNonNull("feeAssetId") ? assetIdFromJson(json.get("feeAssetId")) : AssetId.WAVES
-        );
-        long timestamp = json.get("timestamp").asLong();
+        Amount fee = Amount.of(required(json.fee, "fee"), AssetId.as(json.feeAssetId));
+        long timestamp = required(json.timestamp, "timestamp");
         //todo validate id if exists? configurable?
 
-        Scheme scheme = Scheme.of(type, version);
-
-        List<Proof> proofs = new ArrayList<>();
-        if (json.has("proofs")) {
-            JsonNode jProofs = json.get("proofs");
-            int size = jProofs.size();
-            for (int i = 0; i < size; i++)
-                proofs.add(Proof.as(jProofs.get(i).asText()));
-        }
+        List<Proof> proofs = json.proofs == null ? Proof.emptyList() : json.proofs;
+        boolean hasSignature = version == 1 && json.signature != null;
 
         if (type == GenesisTransaction.TYPE) {
-            Address recipient = Address.as(json.get("recipient").asText());
-            return new GenesisTransaction(recipient, json.get("amount").asLong(), timestamp, Proof.as(json.get("signature").asText()));
+            Address recipient = Address.as(required(json.recipient, "recipient"));
+            return new GenesisTransaction(recipient, required(json.amount, "amount"), timestamp,
+                    Proof.as(required(json.signature, "signature")));
         } else if (type == PaymentTransaction.TYPE) {
-            Address recipient = Address.as(json.get("recipient").asText());
-            return new PaymentTransaction(sender, recipient, json.get("amount").asLong(), fee, timestamp,
-                    Proof.as(json.get("proofs").get(0).asText()));
+            Address recipient = Address.as(required(json.recipient, "recipient"));
+            if (proofs.isEmpty())
+                throw new IOException("Missing field \"proofs\"");
+            return new PaymentTransaction(sender, recipient, required(json.amount, "amount"), fee, timestamp,
+                    proofs.get(0));
         } else if (type == IssueTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for ReissueTransaction");
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
-            return new IssueTransaction(sender, json.get("name").asText(), json.get("description").asText(),
-                    json.get("quantity").asLong(), json.get("decimals").asInt(), json.get("reissuable").asBoolean(),
-                    scriptFromJson(json), chainId, fee, timestamp, version, proofs);
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
+            return new IssueTransaction(sender, required(json.name, "name"), required(json.description, "description"),
+                    required(json.quantity, "quantity"), required(json.decimals, "decimals"),
+                    required(json.reissuable, "reissuable"), script(json.script), chainId, fee, timestamp, version, proofs);
         } if (type == TransferTransaction.TYPE) {
-            Recipient recipient = recipientFromJson(json.get("recipient"));
+            Recipient recipient = recipientFromJson(required(json.recipient, "recipient"));
             if (version < 3)
                 chainId = recipient.chainId();
-            AssetId assetId = assetIdFromJson(json.get("assetId"));
-            Base58String attachment = json.has("attachment")
-                    ? new Base58String(json.get("attachment").asText()) : Base58String.empty();
+            AssetId assetId = AssetId.as(json.assetId);
+            Base58String attachment = json.attachment != null
+                    ? new Base58String(json.attachment) : Base58String.empty();
 
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
-            return new TransferTransaction(sender, recipient, Amount.of(json.get("amount").asLong(), assetId),
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
+            return new TransferTransaction(sender, recipient, Amount.of(required(json.amount, "amount"), assetId),
                     attachment, chainId, fee, timestamp, version, proofs);
         } else if (type == ReissueTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for ReissueTransaction");
 
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
             return new ReissueTransaction(
-                    sender, Amount.of(json.get("quantity").asLong(), assetIdFromJson(json.get("assetId"))),
-                    json.get("reissuable").asBoolean(), chainId, fee, timestamp, version, proofs);
+                    sender, Amount.of(required(json.quantity, "quantity"), AssetId.as(json.assetId)),
+                    required(json.reissuable, "reissuable"), chainId, fee, timestamp, version, proofs);
         } else if (type == BurnTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for BurnTransaction");
 
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
 
-            long amount = json.get(json.hasNonNull("amount") ? "amount" : "quantity").asLong();
+            long amount = json.amount != null ? json.amount : required(json.quantity, "amount");
 
             return new BurnTransaction(
-                    sender, Amount.of(amount, assetIdFromJson(json.get("assetId"))),
+                    sender, Amount.of(amount, AssetId.as(json.assetId)),
                     chainId, fee, timestamp, version, proofs);
         } else if (type == ExchangeTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for ExchangeTransaction");
 
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
 
-            return new ExchangeTransaction(sender, orderFromJson(json.get("order1")), orderFromJson(json.get("order2")),
-                    json.get("amount").asLong(), json.get("price").asLong(), json.get("buyMatcherFee").asLong(),
-                    json.get("sellMatcherFee").asLong(), chainId, fee, timestamp, version, proofs);
+            return new ExchangeTransaction(sender, required(json.order1, "order1"), required(json.order2, "order2"),
+                    required(json.amount, "amount"), required(json.price, "price"),
+                    required(json.buyMatcherFee, "buyMatcherFee"), required(json.sellMatcherFee, "sellMatcherFee"),
+                    chainId, fee, timestamp, version, proofs);
         } else if (type == LeaseTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for LeaseTransaction");
 
-            Recipient recipient = recipientFromJson(json.get("recipient"));
+            Recipient recipient = recipientFromJson(required(json.recipient, "recipient"));
             if (version < 3)
                 chainId = recipient.chainId();
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
 
             return new LeaseTransaction(
-                    sender, recipient, json.get("amount").asLong(), chainId, fee, timestamp, version, proofs);
+                    sender, recipient, required(json.amount, "amount"), chainId, fee, timestamp, version, proofs);
         } else if (type == LeaseCancelTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for LeaseCancelTransaction");
 
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
             return new LeaseCancelTransaction(
-                    sender, Id.as(json.get("leaseId").asText()), chainId, fee, timestamp, version, proofs);
+                    sender, Id.as(required(json.leaseId, "leaseId")), chainId, fee, timestamp, version, proofs);
         } else if (type == CreateAliasTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for CreateAliasTransaction");
 
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
             return new CreateAliasTransaction(
-                    sender, json.get("alias").asText(), chainId, fee, timestamp, version, proofs);
+                    sender, required(json.alias, "alias"), chainId, fee, timestamp, version, proofs);
         } if (type == MassTransferTransaction.TYPE) {
             //todo check transferCount, totalAmount?
-            JsonNode jsTransfers = json.get("transfers");
-            List<Transfer> transfers = new ArrayList<>();
-            for (JsonNode jsTransfer : jsTransfers) {
-                Recipient recipient = recipientFromJson(jsTransfer.get("recipient"));
-                long amount = jsTransfer.get("amount").asLong();
-                transfers.add(Transfer.to(recipient, amount));
-            }
-            AssetId assetId = assetIdFromJson(json.get("assetId"));
-            Base58String attachment = json.hasNonNull("attachment")
-                    ? new Base58String(json.get("attachment").asText()) : Base58String.empty();
+            List<Transfer> transfers = required(json.transfers, "transfers");
+            AssetId assetId = AssetId.as(json.assetId);
+            Base58String attachment = json.attachment != null
+                    ? new Base58String(json.attachment) : Base58String.empty();
             if (version == 1 && transfers.size() > 0)
                 chainId = transfers.get(0).recipient().chainId();
 
-            if (version == 1 && json.has("signature"))
-                proofs = Proof.list(Proof.as(json.get("signature").asText()));
+            if (hasSignature)
+                proofs = Proof.list(Proof.as(json.signature));
             return new MassTransferTransaction(
                     sender, assetId, transfers, attachment, chainId, fee, timestamp, version, proofs);
         } else if (type == DataTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for DataTransaction");
 
-            List<DataEntry> data = dataEntriesFromJson(json.get("data"));
-            return new DataTransaction(sender, data, chainId, fee, timestamp, version, proofs);
+            return new DataTransaction(sender, required(json.data, "data"), chainId, fee, timestamp, version, proofs);
         } else if (type == SetScriptTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for DataTransaction");
 
-            return new SetScriptTransaction(sender, scriptFromJson(json), chainId, fee, timestamp, version, proofs);
+            return new SetScriptTransaction(sender, script(json.script), chainId, fee, timestamp, version, proofs);
         } else if (type == SponsorFeeTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for SponsorFeeTransaction");
 
-            return new SponsorFeeTransaction(sender, assetIdFromJson(json.get("assetId")),
-                    json.get("minSponsoredAssetFee").asLong(), chainId, fee, timestamp, version, proofs);
+            return new SponsorFeeTransaction(sender, AssetId.as(json.assetId),
+                    required(json.minSponsoredAssetFee, "minSponsoredAssetFee"), chainId, fee, timestamp, version, proofs);
         } else if (type == SetAssetScriptTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for SetAssetScriptTransaction");
 
-            AssetId assetId = assetIdFromJson(json.get("assetId"));
-            return new SetAssetScriptTransaction(sender, assetId, scriptFromJson(json), chainId, fee, timestamp, version, proofs);
+            AssetId assetId = AssetId.as(json.assetId);
+            return new SetAssetScriptTransaction(sender, assetId, script(json.script), chainId, fee, timestamp, version, proofs);
         } else if (type == InvokeScriptTransaction.TYPE) {
-            Recipient dApp = recipientFromJson(json.get("dApp"));
-            Function function = Function.asDefault();
-            if (json.hasNonNull("call")) {
-                JsonNode call = json.get("call");
-                List<Arg> args = call.hasNonNull("args") ? argsFromJson(call.get("args")) : new ArrayList<>();
-                function = Function.as(call.get("function").asText(), args);
-            }
-            List<Amount> payments = new ArrayList<>();
-            String paymentsFieldName = "payment";
-            if (json.hasNonNull(paymentsFieldName))
-                json.get(paymentsFieldName).forEach(p ->
-                        payments.add(Amount.of(p.get("amount").asLong(), assetIdFromJson(p.get("assetId")))));
+            Recipient dApp = recipientFromJson(required(json.dApp, "dApp"));
+            Function function = json.call != null ? json.call : Function.asDefault();
+            List<Amount> payments = json.payments != null ? json.payments : new ArrayList<>();
             return new InvokeScriptTransaction(
                     sender, dApp, function, payments, chainId, fee, timestamp, version, proofs);
         } else if (type == UpdateAssetInfoTransaction.TYPE) {
             if (!fee.assetId().isWaves())
                 throw new IOException("feeAssetId field must be null for UpdateAssetInfoTransaction");
 
-            AssetId assetId = assetIdFromJson(json.get("assetId"));
-            String name = json.get("name").asText();
-            String description = json.get("description").asText();
+            AssetId assetId = AssetId.as(json.assetId);
+            String name = required(json.name, "name");
+            String description = required(json.description, "description");
             return new UpdateAssetInfoTransaction(sender, assetId, name, description, chainId, fee, timestamp, version, proofs);
         }
 
         throw new IOException("Can't parse json of transaction with type " + type);
     }
-    
-    public static Transaction fromJson(String json) throws IOException {
-        return fromJson(JSON_MAPPER.readTree(json));
-    }
 
     public static List<DataEntry> dataEntriesFromJson(JsonNode json) {
-        List<DataEntry> data = new ArrayList<>();
-
-        for (int i = 0; i < json.size(); i++)
-            data.add(dataEntryFromJson(json.get(i)));
-
-        return data;
+        try {
+            JsonParser parser = json.traverse(JSON_MAPPER);
+            parser.nextToken();
+            return readArray(parser, JsonSerializer::dataEntryFromJson);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     public static DataEntry dataEntryFromJson(JsonNode json) {
-            String key = json.get("key").asText();
-            String entryType = json.hasNonNull("type") ? json.get("type").asText() : "";
-            if (entryType.isEmpty())
-                return new DeleteEntry(key);
-            else if (entryType.equals("binary"))
-                return new BinaryEntry(key, Base64.decode(json.get("value").asText()));
-            else if (entryType.equals("boolean"))
-                return new BooleanEntry(key, json.get("value").asBoolean());
-            else if (entryType.equals("integer"))
-                return new IntegerEntry(key, json.get("value").asLong());
-            else if (entryType.equals("string"))
-                return new StringEntry(key, json.get("value").asText());
-            else throw new IllegalArgumentException("Unknown type `" + entryType + "` of entry with key `" + key + "`");
+        try {
+            return dataEntryFromJson(json.traverse(JSON_MAPPER));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static DataEntry dataEntryFromJson(JsonParser parser) throws IOException {
+        String key = null;
+        String entryType = null;
+        String value = null;
+        for (JsonToken token = startObject(parser); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (field.equals("key"))
+                key = parser.getValueAsString();
+            else if (field.equals("type"))
+                entryType = parser.getValueAsString();
+            else if (field.equals("value"))
+                value = parser.getValueAsString();
+            else
+                parser.skipChildren();
+        }
+        endObject(parser);
+
+        required(key, "key");
+        if (entryType == null || entryType.isEmpty())
+            return new DeleteEntry(key);
+        else if (entryType.equals("binary"))
+            return new BinaryEntry(key, Base64.decode(required(value, "value")));
+        else if (entryType.equals("boolean"))
+            return new BooleanEntry(key, Boolean.parseBoolean(value));
+        else if (entryType.equals("integer"))
+            return new IntegerEntry(key, Long.parseLong(required(value, "value")));
+        else if (entryType.equals("string"))
+            return new StringEntry(key, required(value, "value"));
+        else throw new IllegalArgumentException("Unknown type `" + entryType + "` of entry with key `" + key + "`");
     }
 
     public static JsonNode toJsonObject(TransactionOrOrder txOrOrder) {
-        ObjectNode jsObject = JSON_MAPPER.createObjectNode();
-        Scheme scheme = Scheme.of(txOrOrder);
-
-        if (txOrOrder instanceof Order) {
-            Order order = (Order) txOrOrder;
-            jsObject.put("id", order.id().toString())
-                    .put("orderType", order.type().value())
-                    .put("version", order.version())
-                    .put("senderPublicKey", order.sender().toString())
-                    .put("sender", order.sender().address(WavesConfig.chainId()).toString());
-            jsObject.putObject("assetPair")
-                    .put("amountAsset", assetIdToJson(order.amount().assetId()))
-                    .put("priceAsset", assetIdToJson(order.price().assetId()));
-            jsObject.put("amount", order.amount().value())
-                    .put("price", order.price().value())
-                    .put("matcherPublicKey", order.matcher().toString())
-                    .put("matcherFee", order.fee().value())
-                    .put("matcherFeeAssetId", assetIdToJson(order.fee().assetId()))
-                    .put("timestamp", order.timestamp())
-                    .put("expiration", order.expiration());
-            if (order.proofs().size() > 0)
-                    jsObject.put("signature", order.proofs().get(0).toString());
-
-            if (order.version() < 3)
-                jsObject.remove("matcherFeeAssetId");
-
-            ArrayNode proofs = JSON_MAPPER.createArrayNode();
-            order.proofs().forEach(p -> proofs.add(p.toString()));
-            jsObject.set("proofs", proofs);
-        } else {
-            Transaction tx = (Transaction) txOrOrder;
-            jsObject.put("id", tx.id().toString())
-                    .put("type", tx.type())
-                    .put("version", tx.version())
-                    .put("chainId", tx.chainId())
-                    .put("senderPublicKey", tx.sender().toString())
-                    .put("sender", tx.sender().address(tx.chainId()).toString());
-
-            ArrayNode proofs = JSON_MAPPER.createArrayNode();
-            tx.proofs().forEach(p -> proofs.add(p.toString()));
-
-            String signature = null;
-            if (tx instanceof GenesisTransaction) {
-                GenesisTransaction gtx = (GenesisTransaction) tx;
-                jsObject.put("recipient", gtx.recipient().toString())
-                        .put("amount", gtx.amount());
-                jsObject.remove("version");
-                jsObject.remove("chainId");
-                jsObject.remove("senderPublicKey");
-                jsObject.remove("sender");
-                signature = gtx.proofs().get(0).toString();
-            } else if (tx instanceof PaymentTransaction) {
-                PaymentTransaction ptx = (PaymentTransaction) tx;
-                jsObject.put("recipient", ptx.recipient().toString())
-                        .put("amount", ptx.amount());
-                jsObject.remove("version");
-                jsObject.remove("chainId");
-            } else if (tx instanceof IssueTransaction) {
-                IssueTransaction itx = (IssueTransaction) tx;
-                jsObject.put("name", itx.name())
-                        .put("description", itx.description())
-                        .put("quantity", itx.quantity())
-                        .put("decimals", itx.decimals())
-                        .put("reissuable", itx.reissuable())
-                        .put("script", scriptToJson(itx.script()));
-                if (itx.version() == 1) {
-                    jsObject.remove("chainId");
-                    signature = itx.proofs().get(0).toString();
-                }
-            } else if (tx instanceof TransferTransaction) {
-                TransferTransaction ttx = (TransferTransaction) tx;
-                jsObject.put("recipient", ttx.recipient().toString())
-                        .put("amount", ttx.amount().value())
-                        .put("assetId", assetIdToJson(ttx.amount().assetId()))
-                        .put("attachment", Base58.encode(ttx.attachment().bytes()));
-                if (ttx.version() < 3)
-                    jsObject.remove("chainId");
-                if (ttx.version() == 1)
-                    signature = ttx.proofs().get(0).toString();
-            } else if (tx instanceof ReissueTransaction) {
-                ReissueTransaction rtx = (ReissueTransaction) tx;
-                jsObject.put("assetId", assetIdToJson(rtx.amount().assetId()))
-                        .put("quantity", rtx.amount().value())
-                        .put("reissuable", rtx.reissuable());
-                if (rtx.version() == 1) {
-                    jsObject.remove("chainId");
-                    signature = rtx.proofs().get(0).toString();
-                }
-            } else if (tx instanceof BurnTransaction) {
-                BurnTransaction btx = (BurnTransaction) tx;
-                jsObject.put("assetId", assetIdToJson(btx.amount().assetId()))
-                        .put("amount", btx.amount().value());
-                if (btx.version() == 1) {
-                    jsObject.remove("chainId");
-                    signature = btx.proofs().get(0).toString();
-                }
-            } else if (tx instanceof ExchangeTransaction) {
-                ExchangeTransaction etx = (ExchangeTransaction) tx;
-                jsObject.set("order1", toJsonObject(etx.orders().get(0)));
-                jsObject.set("order2", toJsonObject(etx.orders().get(1)));
-                jsObject.put("amount", etx.amount())
-                        .put("price", etx.price())
-                        .put("buyMatcherFee", etx.buyMatcherFee())
-                        .put("sellMatcherFee", etx.sellMatcherFee());
-                if (scheme != Scheme.PROTOBUF)
-                    jsObject.remove("chainId");
-                if (scheme == Scheme.WITH_SIGNATURE)
-                    signature = etx.proofs().get(0).toString();
-            } else if (tx instanceof LeaseTransaction) {
-                LeaseTransaction ltx = (LeaseTransaction) tx;
-                jsObject.put("recipient", ltx.recipient().toString())
-                        .put("amount", ltx.amount());
-                if (ltx.version() == 1)
-                    signature = ltx.proofs().get(0).toString();
-                if (ltx.version() < 3)
-                    jsObject.remove("chainId");
-            } else if (tx instanceof LeaseCancelTransaction) {
-                LeaseCancelTransaction lctx = (LeaseCancelTransaction) tx;
-                jsObject.put("leaseId", lctx.leaseId().toString());
-                if (lctx.version() == 1) {
-                    jsObject.remove("chainId");
-                    signature = lctx.proofs().get(0).toString();
-                }
-            } else if (tx instanceof CreateAliasTransaction) {
-                CreateAliasTransaction catx = (CreateAliasTransaction) tx;
-                jsObject.put("alias", catx.alias().name());
-                if (catx.version() == 1)
-                    signature = catx.proofs().get(0).toString();
-                if (catx.version() < 3)
-                    jsObject.remove("chainId");
-            } else if (tx instanceof MassTransferTransaction) {
-                MassTransferTransaction mtTx = (MassTransferTransaction) tx;
-                jsObject.put("assetId", assetIdToJson(mtTx.assetId()))
-                        .put("attachment", Base58.encode(mtTx.attachment().bytes()));
-                ArrayNode jsTransfers = jsObject.putArray("transfers");
-                for (Transfer transfer : mtTx.transfers()) {
-                    jsTransfers.addObject()
-                            .put("recipient", transfer.recipient().toString())
-                            .put("amount", transfer.amount());
-                }
-                if (mtTx.version() == 1)
-                    jsObject.remove("chainId");
-            } else if (tx instanceof DataTransaction) {
-                DataTransaction dtx = (DataTransaction) tx;
-                ArrayNode data = jsObject.putArray("data");
-                dtx.data().forEach(e -> {
-                    ObjectNode entry = JSON_MAPPER.createObjectNode().put("key", e.key());
-                    if (e instanceof BinaryEntry)
-                        entry.put("type", "binary").put("value", ((BinaryEntry) e).value().encodedWithPrefix());
-                    else if (e instanceof BooleanEntry)
-                        entry.put("type", "boolean").put("value", ((BooleanEntry) e).value());
-                    else if (e instanceof IntegerEntry)
-                        entry.put("type", "integer").put("value", ((IntegerEntry) e).value());
-                    else if (e instanceof StringEntry)
-                        entry.put("type", "string").put("value", ((StringEntry) e).value());
-                    else if (e instanceof DeleteEntry) {
-                        entry.putNull("value").remove("type");
-                    } else throw new IllegalArgumentException("Can't serialize entry with type " + e.type());
-                    data.add(entry);
-                });
-                if (dtx.version() == 1)
-                    jsObject.remove("chainId");
-            } else if (tx instanceof SetScriptTransaction) {
-                SetScriptTransaction ssTx = (SetScriptTransaction) tx;
-                jsObject.put("script", scriptToJson(ssTx.script()));
-            } else if (tx instanceof SponsorFeeTransaction) {
-                SponsorFeeTransaction sfTx = (SponsorFeeTransaction) tx;
-                if (sfTx.version() == 1)
-                    jsObject.remove("chainId");
-                jsObject.put("assetId", assetIdToJson(sfTx.assetId()))
-                        .put("minSponsoredAssetFee", sfTx.minSponsoredFee());
-            } else if (tx instanceof SetAssetScriptTransaction) {
-                SetAssetScriptTransaction sasTx = (SetAssetScriptTransaction) tx;
-                jsObject.put("assetId", assetIdToJson(sasTx.assetId()))
-                        .put("script", scriptToJson(sasTx.script()));
-            } else if (tx instanceof InvokeScriptTransaction) {
-                InvokeScriptTransaction isTx = (InvokeScriptTransaction) tx;
-                jsObject.put("dApp", isTx.dApp().toString());
-                if (!isTx.function().isDefault()) {
-                    ObjectNode call = jsObject.putObject("call");
-                    call.put("function", isTx.function().name());
-                    argsToJson(call.putArray("args"), isTx.function().args());
-                }
-                ArrayNode payments = jsObject.putArray("payment");
-                isTx.payments().forEach(p -> {
-                    ObjectNode payment = payments.addObject();
-                    payment.put("amount", p.value()).
-                            put("assetId", assetIdToJson(p.assetId()));
-                });
-                if (isTx.version() == 1)
-                    jsObject.remove("chainId");
-            } else if (tx instanceof UpdateAssetInfoTransaction) {
-                UpdateAssetInfoTransaction uaiTx = (UpdateAssetInfoTransaction) tx;
-                jsObject.put("assetId", assetIdToJson(uaiTx.assetId()))
-                        .put("name", uaiTx.name())
-                        .put("description", uaiTx.description());
-            }
+        try {
+            TokenBuffer buffer = new TokenBuffer(JSON_MAPPER, false);
+            writeJson(buffer, txOrOrder);
+            return JSON_MAPPER.readTree(buffer.asParser());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String toPrettyJson(TransactionOrOrder txOrOrder) {
+        return toJson(txOrOrder, true);
+    }
 
-            jsObject.put("fee", tx.fee().value());
-            if (!(tx instanceof GenesisTransaction))
-                jsObject.put("feeAssetId", assetIdToJson(tx.fee().assetId()));
-            jsObject.put("timestamp", tx.timestamp());
+    public static String toJson(TransactionOrOrder txOrOrder) {
+        return toJson(txOrOrder, false);
+    }
 
-            if (signature != null)
-                jsObject.put("signature", signature);
-            if (!(tx instanceof GenesisTransaction))
-                jsObject.set("proofs", proofs); //todo configurable for v1, true by default
+    private static String toJson(TransactionOrOrder txOrOrder, boolean pretty) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = JSON_MAPPER.getFactory().createGenerator(writer)) {
+            if (pretty)
+                gen.useDefaultPrettyPrinter();
+            writeJson(gen, txOrOrder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return writer.toString();
+    }
 
-        return jsObject;
+    /**
+     * Write transaction or order as JSON object to the stream in UTF-8. The stream is not closed.
+     *
+     * @param out target stream
+     * @param txOrOrder transaction or order
+     * @throws IOException if the stream fails
+     */
+    public static void writeJson(OutputStream out, TransactionOrOrder txOrOrder) throws IOException {
+        try (JsonGenerator gen = generator(out)) {
+            writeJson(gen, txOrOrder);
+        }
     }
 
-    public static String toPrettyJson(TransactionOrOrder txOrOrder) {
-        return toJsonObject(txOrOrder).toPrettyString();
+    /**
+     * Write transactions or orders as JSON array to the stream in UTF-8. The stream is not closed.
+     *
+     * @param out target stream
+     * @param txsOrOrders transactions or orders
+     * @throws IOException if the stream fails
+     */
+    public static void writeJsonArray(OutputStream out, Iterable<? extends TransactionOrOrder> txsOrOrders) throws IOException {
+        try (JsonGenerator gen = generator(out)) {
+            writeJsonArray(gen, txsOrOrders);
+        }
     }
 
-    public static String toJson(TransactionOrOrder txOrOrder) {
-        return toJsonObject(txOrOrder).toString();
+    public static void writeJson(Writer writer, TransactionOrOrder txOrOrder) throws IOException {
+        try (JsonGenerator gen = generator(writer)) {
+            writeJson(gen, txOrOrder);
+        }
+    }
+
+    public static void writeJsonArray(Writer writer, Iterable<? extends TransactionOrOrder> txsOrOrders) throws IOException {
+        try (JsonGenerator gen = generator(writer)) {
+            writeJsonArray(gen, txsOrOrders);
+        }
+    }
+
+    public static void writeJsonArray(JsonGenerator gen, Iterable<? extends TransactionOrOrder> txsOrOrders) throws IOException {
+        gen.writeStartArray();
+        for (TransactionOrOrder txOrOrder : txsOrOrders)
+            writeJson(gen, txOrOrder);
+        gen.writeEndArray();
+    }
+
+    private static JsonGenerator generator(OutputStream out) throws IOException {
+        return JSON_MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static JsonGenerator generator(Writer writer) throws IOException {
+        return JSON_MAPPER.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Write transaction or order as JSON object field by field without building a tree.
+     *
+     * @param gen target generator
+     * @param txOrOrder transaction or order
+     * @throws IOException if the generator fails
+     */
+    public static void writeJson(JsonGenerator gen, TransactionOrOrder txOrOrder) throws IOException {
+        gen.writeStartObject();
+        if (txOrOrder instanceof Order)
+            writeOrderFields(gen, (Order) txOrOrder);
+        else
+            writeTransactionFields(gen, (Transaction) txOrOrder);
+        gen.writeEndObject();
+    }
+
+    private static void writeOrderFields(JsonGenerator gen, Order order) throws IOException {
+        gen.writeStringField("id", order.id().toString());
+        gen.writeStringField("orderType", order.type().value());
+        gen.writeNumberField("version", order.version());
+        gen.writeStringField("senderPublicKey", order.sender().toString());
+        gen.writeStringField("sender", order.sender().address(WavesConfig.chainId()).toString());
+        gen.writeObjectFieldStart("assetPair");
+        gen.writeStringField("amountAsset", assetIdToJson(order.amount().assetId()));
+        gen.writeStringField("priceAsset", assetIdToJson(order.price().assetId()));
+        gen.writeEndObject();
+        gen.writeNumberField("amount", order.amount().value());
+        gen.writeNumberField("price", order.price().value());
+        gen.writeStringField("matcherPublicKey", order.matcher().toString());
+        gen.writeNumberField("matcherFee", order.fee().value());
+        if (order.version() >= 3)
+            gen.writeStringField("matcherFeeAssetId", assetIdToJson(order.fee().assetId()));
+        gen.writeNumberField("timestamp", order.timestamp());
+        gen.writeNumberField("expiration", order.expiration());
+        if (order.proofs().size() > 0)
+            gen.writeStringField("signature", order.proofs().get(0).toString());
+        writeProofs(gen, order.proofs());
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void writeTransactionFields(JsonGenerator gen, Transaction tx) throws IOException {
+        boolean isGenesis = tx instanceof GenesisTransaction;
+        boolean hasSignature = isGenesis || hasSignatureField(tx);
+
+        gen.writeStringField("id", tx.id().toString());
+        gen.writeNumberField("type", tx.type());
+        if (!isGenesis && !(tx instanceof PaymentTransaction)) {
+            gen.writeNumberField("version", tx.version());
+            if (hasChainIdField(tx))
+                gen.writeNumberField("chainId", tx.chainId());
+        }
+        if (!isGenesis) {
+            gen.writeStringField("senderPublicKey", tx.sender().toString());
+            gen.writeStringField("sender", tx.sender().address(tx.chainId()).toString());
+        }
+
+        writeTypeSpecificFields(gen, tx);
+
+        gen.writeNumberField("fee", tx.fee().value());
+        if (!isGenesis)
+            gen.writeStringField("feeAssetId", assetIdToJson(tx.fee().assetId()));
+        gen.writeNumberField("timestamp", tx.timestamp());
+
+        if (hasSignature && tx.proofs().size() > 0)
+            gen.writeStringField("signature", tx.proofs().get(0).toString());
+        if (!isGenesis)
+            writeProofs(gen, tx.proofs()); //todo configurable for v1, true by default
+    }
+
+    private static boolean hasChainIdField(Transaction tx) {
+        if (tx instanceof TransferTransaction || tx instanceof LeaseTransaction || tx instanceof CreateAliasTransaction)
+            return tx.version() >= 3;
+        else if (tx instanceof ExchangeTransaction)
+            return Scheme.of(tx) == Scheme.PROTOBUF;
+        else if (tx instanceof IssueTransaction || tx instanceof ReissueTransaction || tx instanceof BurnTransaction
+                || tx instanceof LeaseCancelTransaction || tx instanceof MassTransferTransaction
+                || tx instanceof DataTransaction || tx instanceof SponsorFeeTransaction
+                || tx instanceof InvokeScriptTransaction)
+            return tx.version() > 1;
+        else return true;
+    }
+
+    private static boolean hasSignatureField(Transaction tx) {
+        if (tx instanceof ExchangeTransaction)
+            return Scheme.of(tx) == Scheme.WITH_SIGNATURE;
+        else if (tx instanceof IssueTransaction || tx instanceof TransferTransaction
+                || tx instanceof ReissueTransaction || tx instanceof BurnTransaction
+                || tx instanceof LeaseTransaction || tx instanceof LeaseCancelTransaction
+                || tx instanceof CreateAliasTransaction)
+            return tx.version() == 1;
+        else return false;
+    }
+
+    private static void writeTypeSpecificFields(JsonGenerator gen, Transaction tx) throws IOException {
+        if (tx instanceof GenesisTransaction) {
+            GenesisTransaction gtx = (GenesisTransaction) tx;
+            gen.writeStringField("recipient", gtx.recipient().toString());
+            gen.writeNumberField("amount", gtx.amount());
+        } else if (tx instanceof PaymentTransaction) {
+            PaymentTransaction ptx = (PaymentTransaction) tx;
+            gen.writeStringField("recipient", ptx.recipient().toString());
+            gen.writeNumberField("amount", ptx.amount());
+        } else if (tx instanceof IssueTransaction) {
+            IssueTransaction itx = (IssueTransaction) tx;
+            gen.writeStringField("name", itx.name());
+            gen.writeStringField("description", itx.description());
+            gen.writeNumberField("quantity", itx.quantity());
+            gen.writeNumberField("decimals", itx.decimals());
+            gen.writeBooleanField("reissuable", itx.reissuable());
+            gen.writeStringField("script", scriptToJson(itx.script()));
+        } else if (tx instanceof TransferTransaction) {
+            TransferTransaction ttx = (TransferTransaction) tx;
+            gen.writeStringField("recipient", ttx.recipient().toString());
+            gen.writeNumberField("amount", ttx.amount().value());
+            gen.writeStringField("assetId", assetIdToJson(ttx.amount().assetId()));
+            gen.writeStringField("attachment", ttx.attachment().encoded());
+        } else if (tx instanceof ReissueTransaction) {
+            ReissueTransaction rtx = (ReissueTransaction) tx;
+            gen.writeStringField("assetId", assetIdToJson(rtx.amount().assetId()));
+            gen.writeNumberField("quantity", rtx.amount().value());
+            gen.writeBooleanField("reissuable", rtx.reissuable());
+        } else if (tx instanceof BurnTransaction) {
+            BurnTransaction btx = (BurnTransaction) tx;
+            gen.writeStringField("assetId", assetIdToJson(btx.amount().assetId()));
+            gen.writeNumberField("amount", btx.amount().value());
+        } else if (tx instanceof ExchangeTransaction) {
+            ExchangeTransaction etx = (ExchangeTransaction) tx;
+            gen.writeFieldName("order1");
+            writeJson(gen, etx.orders().get(0));
+            gen.writeFieldName("order2");
+            writeJson(gen, etx.orders().get(1));
+            gen.writeNumberField("amount", etx.amount());
+            gen.writeNumberField("price", etx.price());
+            gen.writeNumberField("buyMatcherFee", etx.buyMatcherFee());
+            gen.writeNumberField("sellMatcherFee", etx.sellMatcherFee());
+        } else if (tx instanceof LeaseTransaction) {
+            LeaseTransaction ltx = (LeaseTransaction) tx;
+            gen.writeStringField("recipient", ltx.recipient().toString());
+            gen.writeNumberField("amount", ltx.amount());
+        } else if (tx instanceof LeaseCancelTransaction) {
+            LeaseCancelTransaction lctx = (LeaseCancelTransaction) tx;
+            gen.writeStringField("leaseId", lctx.leaseId().toString());
+        } else if (tx instanceof CreateAliasTransaction) {
+            CreateAliasTransaction catx = (CreateAliasTransaction) tx;
+            gen.writeStringField("alias", catx.alias().name());
+        } else if (tx instanceof MassTransferTransaction) {
+            MassTransferTransaction mtTx = (MassTransferTransaction) tx;
+            gen.writeStringField("assetId", assetIdToJson(mtTx.assetId()));
+            gen.writeStringField("attachment", mtTx.attachment().encoded());
+            gen.writeArrayFieldStart("transfers");
+            for (Transfer transfer : mtTx.transfers()) {
+                gen.writeStartObject();
+                gen.writeStringField("recipient", transfer.recipient().toString());
+                gen.writeNumberField("amount", transfer.amount());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        } else if (tx instanceof DataTransaction) {
+            DataTransaction dtx = (DataTransaction) tx;
+            gen.writeArrayFieldStart("data");
+            for (DataEntry e : dtx.data())
+                writeDataEntry(gen, e);
+            gen.writeEndArray();
+        } else if (tx instanceof SetScriptTransaction) {
+            SetScriptTransaction ssTx = (SetScriptTransaction) tx;
+            gen.writeStringField("script", scriptToJson(ssTx.script()));
+        } else if (tx instanceof SponsorFeeTransaction) {
+            SponsorFeeTransaction sfTx = (SponsorFeeTransaction) tx;
+            gen.writeStringField("assetId", assetIdToJson(sfTx.assetId()));
+            gen.writeNumberField("minSponsoredAssetFee", sfTx.minSponsoredFee());
+        } else if (tx instanceof SetAssetScriptTransaction) {
+            SetAssetScriptTransaction sasTx = (SetAssetScriptTransaction) tx;
+            gen.writeStringField("assetId", assetIdToJson(sasTx.assetId()));
+            gen.writeStringField("script", scriptToJson(sasTx.script()));
+        } else if (tx instanceof InvokeScriptTransaction) {
+            InvokeScriptTransaction isTx = (InvokeScriptTransaction) tx;
+            gen.writeStringField("dApp", isTx.dApp().toString());
+            if (!isTx.function().isDefault()) {
+                gen.writeObjectFieldStart("call");
+                gen.writeStringField("function", isTx.function().name());
+                gen.writeFieldName("args");
+                writeArgs(gen, isTx.function().args());
+                gen.writeEndObject();
+            }
+            gen.writeArrayFieldStart("payment");
+            for (Amount p : isTx.payments()) {
+                gen.writeStartObject();
+                gen.writeNumberField("amount", p.value());
+                gen.writeStringField("assetId", assetIdToJson(p.assetId()));
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        } else if (tx instanceof UpdateAssetInfoTransaction) {
+            UpdateAssetInfoTransaction uaiTx = (UpdateAssetInfoTransaction) tx;
+            gen.writeStringField("assetId", assetIdToJson(uaiTx.assetId()));
+            gen.writeStringField("name", uaiTx.name());
+            gen.writeStringField("description", uaiTx.description());
+        }
+    }
+
+    private static void writeDataEntry(JsonGenerator gen, DataEntry e) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("key", e.key());
+        if (e instanceof BinaryEntry) {
+            gen.writeStringField("type", "binary");
+            gen.writeStringField("value", ((BinaryEntry) e).value().encodedWithPrefix());
+        } else if (e instanceof BooleanEntry) {
+            gen.writeStringField("type", "boolean");
+            gen.writeBooleanField("value", ((BooleanEntry) e).value());
+        } else if (e instanceof IntegerEntry) {
+            gen.writeStringField("type", "integer");
+            gen.writeNumberField("value", ((IntegerEntry) e).value());
+        } else if (e instanceof StringEntry) {
+            gen.writeStringField("type", "string");
+            gen.writeStringField("value", ((StringEntry) e).value());
+        } else if (e instanceof DeleteEntry) {
+            gen.writeNullField("value");
+        } else throw new IllegalArgumentException("Can't serialize entry with type " + e.type());
+        gen.writeEndObject();
+    }
+
+    private static void writeArgs(JsonGenerator gen, List<Arg> args) throws IOException {
+        gen.writeStartArray();
+        for (Arg a : args) {
+            gen.writeStartObject();
+            if (a instanceof BinaryArg) {
+                gen.writeStringField("type", "binary");
+                gen.writeStringField("value", ((BinaryArg) a).value().encodedWithPrefix());
+            } else if (a instanceof BooleanArg) {
+                gen.writeStringField("type", "boolean");
+                gen.writeBooleanField("value", ((BooleanArg) a).value());
+            } else if (a instanceof IntegerArg) {
+                gen.writeStringField("type", "integer");
+                gen.writeNumberField("value", ((IntegerArg) a).value());
+            } else if (a instanceof StringArg) {
+                gen.writeStringField("type", "string");
+                gen.writeStringField("value", ((StringArg) a).value());
+            } else if (a instanceof ListArg) {
+                gen.writeStringField("type", "list");
+                gen.writeFieldName("value");
+                writeArgs(gen, ((ListArg) a).value());
+            } else throw new IllegalArgumentException("Unknown arg type");
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeProofs(JsonGenerator gen, List<Proof> proofs) throws IOException {
+        gen.writeArrayFieldStart("proofs");
+        for (Proof proof : proofs)
+            gen.writeString(proof.toString());
+        gen.writeEndArray();
     }
 
     public static AssetId assetIdFromJson(JsonNode json) {
@@ -506,23 +662,45 @@ public abstract class JsonSerializer {
     }
 
     public static List<Arg> argsFromJson(JsonNode json) throws IOException {
-        List<Arg> args = new ArrayList<>();
-        for (int i = 0; i < json.size(); i++) {
-            JsonNode arg = json.get(i);
-            String argType = arg.get("type").asText();
-            if (argType.equals("binary"))
-                args.add(BinaryArg.as(arg.get("value").asText()));
-            else if (argType.equals("boolean"))
-                args.add(BooleanArg.as(arg.get("value").asBoolean()));
-            else if (argType.equals("integer"))
-                args.add(IntegerArg.as(arg.get("value").asLong()));
-            else if (argType.equals("string"))
-                args.add(StringArg.as(arg.get("value").asText()));
-            else if (argType.equals("list"))
-                args.add(ListArg.as(argsFromJson(arg.get("value"))));
-            else throw new IOException("Unknown arg type " + argType);
+        JsonParser parser = json.traverse(JSON_MAPPER);
+        parser.nextToken();
+        return argsFromJson(parser);
+    }
+
+    public static List<Arg> argsFromJson(JsonParser parser) throws IOException {
+        return readArray(parser, JsonSerializer::argFromJson);
+    }
+
+    private static Arg argFromJson(JsonParser parser) throws IOException {
+        String argType = null;
+        String value = null;
+        List<Arg> listValue = null;
+        for (JsonToken token = startObject(parser); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (field.equals("type"))
+                argType = parser.getValueAsString();
+            else if (field.equals("value") && valueToken == JsonToken.START_ARRAY)
+                listValue = argsFromJson(parser);
+            else if (field.equals("value"))
+                value = parser.getValueAsString();
+            else
+                parser.skipChildren();
         }
-        return args;
+        endObject(parser);
+
+        argType = required(argType, "type");
+        if (argType.equals("binary"))
+            return BinaryArg.as(required(value, "value"));
+        else if (argType.equals("boolean"))
+            return BooleanArg.as(Boolean.parseBoolean(value));
+        else if (argType.equals("integer"))
+            return IntegerArg.as(Long.parseLong(required(value, "value")));
+        else if (argType.equals("string"))
+            return StringArg.as(required(value, "value"));
+        else if (argType.equals("list"))
+            return ListArg.as(required(listValue, "value"));
+        else throw new IOException("Unknown arg type " + argType);
     }
 
     public static void argsToJson(ArrayNode json, List<Arg> args) {
@@ -556,4 +734,216 @@ public abstract class JsonSerializer {
         return script == null || script.bytes().length == 0 ? null : script.encodedWithPrefix();
     }
 
+    private static Recipient recipientFromJson(String value) {
+        return Address.isValid(value) ? Address.as(value) : Alias.as(value);
+    }
+
+    private static Base64String script(String value) {
+        return value != null ? new Base64String(value) : Base64String.empty();
+    }
+
+    /**
+     * Values of all known fields of transactions and orders.
+     * Fields can be in any order, so they are collected first and the object is created when all of them are read.
+     */
+    private static class Fields {
+        Integer type;
+        Integer version;
+        Byte chainId;
+        String senderPublicKey;
+        Long fee;
+        String feeAssetId;
+        Long timestamp;
+        List<Proof> proofs;
+        String signature;
+
+        String recipient;
+        Long amount;
+        Long quantity;
+        String assetId;
+        String attachment;
+        String name;
+        String description;
+        Integer decimals;
+        Boolean reissuable;
+        String script;
+        Order order1;
+        Order order2;
+        Long price;
+        Long buyMatcherFee;
+        Long sellMatcherFee;
+        String leaseId;
+        String alias;
+        List<Transfer> transfers;
+        List<DataEntry> data;
+        Long minSponsoredAssetFee;
+        String dApp;
+        Function call;
+        List<Amount> payments;
+
+        String orderType;
+        String amountAsset;
+        String priceAsset;
+        String matcherPublicKey;
+        Long matcherFee;
+        String matcherFeeAssetId;
+        Long expiration;
+    }
+
+    private static Fields readFields(JsonParser p) throws IOException {
+        Fields f = new Fields();
+        for (JsonToken token = startObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_NULL)
+                continue;
+            switch (field) {
+                case "type": f.type = p.getValueAsInt(); break;
+                case "version": f.version = p.getValueAsInt(); break;
+                case "chainId": f.chainId = (byte) p.getValueAsInt(); break;
+                case "senderPublicKey": f.senderPublicKey = p.getValueAsString(); break;
+                case "fee": f.fee = p.getValueAsLong(); break;
+                case "feeAssetId": f.feeAssetId = p.getValueAsString(); break;
+                case "timestamp": f.timestamp = p.getValueAsLong(); break;
+                case "proofs": f.proofs = readArray(p, e -> Proof.as(e.getValueAsString())); break;
+                case "signature": f.signature = p.getValueAsString(); break;
+                case "recipient": f.recipient = p.getValueAsString(); break;
+                case "amount": f.amount = p.getValueAsLong(); break;
+                case "quantity": f.quantity = p.getValueAsLong(); break;
+                case "assetId": f.assetId = p.getValueAsString(); break;
+                case "attachment": f.attachment = p.getValueAsString(); break;
+                case "name": f.name = p.getValueAsString(); break;
+                case "description": f.description = p.getValueAsString(); break;
+                case "decimals": f.decimals = p.getValueAsInt(); break;
+                case "reissuable": f.reissuable = p.getValueAsBoolean(); break;
+                case "script": f.script = p.getValueAsString(); break;
+                case "order1": f.order1 = orderFromJson(p); break;
+                case "order2": f.order2 = orderFromJson(p); break;
+                case "price": f.price = p.getValueAsLong(); break;
+                case "buyMatcherFee": f.buyMatcherFee = p.getValueAsLong(); break;
+                case "sellMatcherFee": f.sellMatcherFee = p.getValueAsLong(); break;
+                case "leaseId": f.leaseId = p.getValueAsString(); break;
+                case "alias": f.alias = p.getValueAsString(); break;
+                case "transfers": f.transfers = readArray(p, JsonSerializer::transferFromJson); break;
+                case "data": f.data = readArray(p, JsonSerializer::dataEntryFromJson); break;
+                case "minSponsoredAssetFee": f.minSponsoredAssetFee = p.getValueAsLong(); break;
+                case "dApp": f.dApp = p.getValueAsString(); break;
+                case "call": f.call = functionFromJson(p); break;
+                case "payment": f.payments = readArray(p, JsonSerializer::paymentFromJson); break;
+                case "orderType": f.orderType = p.getValueAsString(); break;
+                case "assetPair": readAssetPair(p, f); break;
+                case "matcherPublicKey": f.matcherPublicKey = p.getValueAsString(); break;
+                case "matcherFee": f.matcherFee = p.getValueAsLong(); break;
+                case "matcherFeeAssetId": f.matcherFeeAssetId = p.getValueAsString(); break;
+                case "expiration": f.expiration = p.getValueAsLong(); break;
+                default: p.skipChildren();
+            }
+        }
+        endObject(p);
+        return f;
+    }
+
+    private static void readAssetPair(JsonParser p, Fields f) throws IOException {
+        for (JsonToken token = startObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            if (field.equals("amountAsset"))
+                f.amountAsset = p.getValueAsString();
+            else if (field.equals("priceAsset"))
+                f.priceAsset = p.getValueAsString();
+            else
+                p.skipChildren();
+        }
+        endObject(p);
+    }
+
+    private static Transfer transferFromJson(JsonParser p) throws IOException {
+        String recipient = null;
+        Long amount = null;
+        for (JsonToken token = startObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            if (field.equals("recipient"))
+                recipient = p.getValueAsString();
+            else if (field.equals("amount"))
+                amount = p.getValueAsLong();
+            else
+                p.skipChildren();
+        }
+        endObject(p);
+        return Transfer.to(recipientFromJson(required(recipient, "recipient")), required(amount, "amount"));
+    }
+
+    private static Amount paymentFromJson(JsonParser p) throws IOException {
+        String assetId = null;
+        Long amount = null;
+        for (JsonToken token = startObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            if (field.equals("assetId"))
+                assetId = p.getValueAsString();
+            else if (field.equals("amount"))
+                amount = p.getValueAsLong();
+            else
+                p.skipChildren();
+        }
+        endObject(p);
+        return Amount.of(required(amount, "amount"), AssetId.as(assetId));
+    }
+
+    private static Function functionFromJson(JsonParser p) throws IOException {
+        String name = null;
+        List<Arg> args = null;
+        for (JsonToken token = startObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            JsonToken value = p.nextToken();
+            if (field.equals("function"))
+                name = p.getValueAsString();
+            else if (field.equals("args") && value != JsonToken.VALUE_NULL)
+                args = argsFromJson(p);
+            else
+                p.skipChildren();
+        }
+        endObject(p);
+        return Function.as(required(name, "function"), args != null ? args : new ArrayList<>());
+    }
+
+    private interface ElementReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    private static <T> List<T> readArray(JsonParser p, ElementReader<T> reader) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY)
+            throw new JsonParseException(p, "Expected array, but found " + p.currentToken());
+        List<T> result = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY)
+            result.add(reader.read(p));
+        return result;
+    }
+
+    /**
+     * @return the token after the start of the object
+     */
+    private static JsonToken startObject(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == null)
+            token = p.nextToken();
+        if (token == JsonToken.START_OBJECT)
+            return p.nextToken();
+        if (token == JsonToken.FIELD_NAME || token == JsonToken.END_OBJECT)
+            return token;
+        throw new JsonParseException(p, "Expected object, but found " + token);
+    }
+
+    private static void endObject(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.END_OBJECT)
+            throw new JsonParseException(p, "Expected end of object, but found " + p.currentToken());
+    }
+
+    private static <T> T required(T value, String field) throws IOException {
+        if (value == null)
+            throw new IOException("Missing field \"" + field + "\"");
+        return value;
+    }
+
 }
@@ -0,0 +1,118 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.wavesplatform.transactions.Transaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.wavesplatform.transactions.serializers.json.JsonSerializer.JSON_MAPPER;
+
+/**
+ * Lazily reads a json array of transactions, for example a response of the node with the list of transactions,
+ * without reading the whole array into memory. Every transaction is parsed directly from the tokens,
+ * so only one transaction is held at a time.
+ * <p>
+ * I/O and parsing errors while iterating are rethrown as {@link UncheckedIOException}.
+ * The reader is not thread-safe.
+ */
+public class JsonTransactionReader implements Iterator<Transaction>, Closeable {
+
+    private final JsonParser parser;
+    private Transaction next;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * @param parser parser which points to the start of the array or before it
+     */
+    public JsonTransactionReader(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    public JsonTransactionReader(InputStream stream) throws IOException {
+        this(JSON_MAPPER.getFactory().createParser(stream));
+    }
+
+    public JsonTransactionReader(Reader reader) throws IOException {
+        this(JSON_MAPPER.getFactory().createParser(reader));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                finished = true;
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Transaction next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Transaction result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * @return ordered sequential spliterator of the remaining transactions
+     */
+    public Spliterator<Transaction> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return sequential stream of the remaining transactions which closes the reader on close
+     */
+    public Stream<Transaction> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        next = null;
+        parser.close();
+    }
+
+    private Transaction readNext() throws IOException {
+        if (!started) {
+            started = true;
+            JsonToken token = parser.currentToken() == null ? parser.nextToken() : parser.currentToken();
+            if (token != JsonToken.START_ARRAY)
+                throw new JsonParseException(parser, "Expected array of transactions, but found " + token);
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY)
+            return null;
+        if (token != JsonToken.START_OBJECT)
+            throw new JsonParseException(parser, "Expected transaction object, but found " + token);
+        return JsonSerializer.fromJson(parser);
+    }
+
+}
@@ -1,11 +1,10 @@
 package com.wavesplatform.transactions.serializers.json.deser;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.serializers.json.JsonSerializer;
 
 import java.io.IOException;
 
@@ -13,9 +12,6 @@ public class TransactionDeser extends JsonDeserializer<Transaction> {
 
     @Override
     public Transaction deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        ObjectCodec codec = p.getCodec();
-        JsonNode json = codec.readTree(p);
-
-        return Transaction.fromJson(json.toString());
+        return JsonSerializer.fromJson(p);
     }
 }
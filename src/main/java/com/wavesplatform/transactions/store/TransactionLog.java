@@ -0,0 +1,612 @@
+package com.wavesplatform.transactions.store;
+
+import com.wavesplatform.crypto.Crypto;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransactionView;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Id;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Durable append-only log of transactions in a directory, with indexes by id and by sender.
+ * <p>
+ * Transactions are appended by {@link FileChannel} to segment files as {@code size | crc32 | bytes} records,
+ * where bytes are {@link Transaction#toBytes()}. When a segment reaches the segment size, it's sealed:
+ * two sorted index files are written next to it, one by id and one by hash of the sender public key,
+ * which is also the part of the sender address, and a new segment is started.
+ * Sealed segments and their indexes are read through {@link MappedByteBuffer} and searched in place.
+ * The last segment is indexed in memory, and its records are read through the channel into a buffer
+ * which grows with the segment, so every read takes only the records appended since the previous one.
+ * <p>
+ * When the log is opened, a partial record or a record with wrong checksum at the end of the last segment,
+ * left by a crash, is truncated. A record with correct checksum which is not a transaction is not truncated,
+ * instead the log fails to open. Missing indexes of sealed segments are rebuilt.
+ * <p>
+ * Records are returned as read-only slices of the mapped files or of the buffer of the last segment,
+ * so they are not copied. Use {@link Transaction#fromBytes(ByteBuffer)} or {@link #get(Id)} to decode them.
+ * Appended records are durable only after {@link #flush()} or {@link #close()}.
+ * <p>
+ * The log is thread-safe. The directory is locked while the log is open,
+ * so it can't be opened by another instance, either in this or in another process.
+ */
+public class TransactionLog implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String LOG_SUFFIX = ".log";
+    private static final String IDS_SUFFIX = ".ids";
+    private static final String SENDERS_SUFFIX = ".senders";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String LOCK_FILE = "lock";
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int ID_ENTRY_SIZE = Id.BYTE_LENGTH + Integer.BYTES;
+    private static final int SENDER_ENTRY_SIZE = Address.PUBLIC_KEY_HASH_LENGTH + Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> sealed = new ArrayList<>();
+    private final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private Segment active;
+    private FileChannel channel;
+    private FileChannel lockChannel;
+    private final Map<Id, Integer> activeIds = new HashMap<>();
+    private final Map<ByteBuffer, List<Integer>> activeSenders = new LinkedHashMap<>();
+    private int activeCount;
+    private long sealedCount;
+
+    private TransactionLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public static TransactionLog open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open the log in the directory or create a new one.
+     *
+     * @param directory directory of the segment files, it's created if doesn't exist
+     * @param segmentSize size of a segment after which it's sealed
+     * @return opened log
+     * @throws IOException if the files can't be read or written, the directory is locked by another instance
+     *                     or a record with correct checksum is not a transaction
+     */
+    public static TransactionLog open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= RECORD_HEADER_SIZE)
+            throw new IllegalArgumentException("Segment size must be greater than " + RECORD_HEADER_SIZE
+                    + ", but was " + segmentSize);
+        Files.createDirectories(directory);
+        TransactionLog log = new TransactionLog(directory, segmentSize);
+        log.lock();
+        try {
+            log.openSegments();
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+        return log;
+    }
+
+    /**
+     * Append the transaction to the log.
+     *
+     * @param tx transaction
+     * @throws IOException if the record can't be written
+     */
+    public synchronized void append(Transaction tx) throws IOException {
+        byte[] bytes = tx.toBytes();
+        int recordSize = RECORD_HEADER_SIZE + bytes.length;
+        if (active.size > 0 && (long) active.size + recordSize > segmentSize)
+            seal();
+
+        crc.reset();
+        crc.update(bytes, 0, bytes.length);
+        header.clear();
+        header.putInt(bytes.length).putInt((int) crc.getValue()).flip();
+        ByteBuffer[] record = {header, ByteBuffer.wrap(bytes)};
+        long written = 0;
+        try {
+            while (written < recordSize)
+                written += channel.write(record);
+        } catch (IOException e) {
+            // drop the partially written record, so the next one starts at the end of the last complete record
+            try {
+                channel.truncate(active.size);
+                channel.position(active.size);
+            } catch (IOException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        }
+
+        index(tx.id(), tx.sender(), active.size);
+        active.size += recordSize;
+    }
+
+    /**
+     * Force appended records to the storage device.
+     *
+     * @throws IOException if the records can't be written
+     */
+    public synchronized void flush() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * If the transaction was appended more than once, the latest record is returned.
+     *
+     * @param id id of the transaction
+     * @return read-only slice of the transaction bytes or null if the transaction is not in the log
+     * @throws IOException if the log can't be read
+     */
+    public synchronized ByteBuffer find(Id id) throws IOException {
+        Integer offset = activeIds.get(id);
+        if (offset != null)
+            return record(active.records(), offset);
+
+        byte[] key = idKey(id);
+        for (int s = sealed.size() - 1; s >= 0; s--) {
+            Segment segment = sealed.get(s);
+            int entry = lowerBound(segment.ids, ID_ENTRY_SIZE, key);
+            if (entry < segment.ids.limit() && matches(segment.ids, entry, key))
+                return record(segment.records(), segment.ids.getInt(entry + Id.BYTE_LENGTH));
+        }
+        return null;
+    }
+
+    /**
+     * @param id id of the transaction
+     * @return decoded transaction or null if the transaction is not in the log
+     * @throws IOException if the log can't be read
+     */
+    public Transaction get(Id id) throws IOException {
+        ByteBuffer bytes = find(id);
+        return bytes == null ? null : Transaction.fromBytes(bytes);
+    }
+
+    public List<ByteBuffer> findBySender(PublicKey sender) throws IOException {
+        return findBySender(publicKeyHash(sender));
+    }
+
+    /**
+     * Chain id of the address is not checked, so transactions of the same public key in other networks match too.
+     *
+     * @param sender address of the sender
+     * @return read-only slices of the transactions of the sender in the order of the log
+     * @throws IOException if the log can't be read
+     */
+    public List<ByteBuffer> findBySender(Address sender) throws IOException {
+        return findBySender(sender.publicKeyHash());
+    }
+
+    /**
+     * Iterate over all records appended before the call.
+     *
+     * @return iterator of read-only slices of the transaction bytes in the order of the log
+     * @throws IOException if the log can't be read
+     */
+    public synchronized Iterator<ByteBuffer> records() throws IOException {
+        List<ByteBuffer> segments = new ArrayList<>(sealed.size() + 1);
+        for (Segment segment : sealed)
+            segments.add(segment.records());
+        segments.add(active.records());
+        return new RecordIterator(segments);
+    }
+
+    /**
+     * Pass every record appended before the call to the consumer without allocation per record.
+     * The same buffer is passed for all records of a segment, so it must not be kept by the consumer.
+     *
+     * @param consumer consumer of the transaction bytes
+     * @throws IOException if the log can't be read
+     */
+    public void replay(Consumer<ByteBuffer> consumer) throws IOException {
+        List<ByteBuffer> segments = new ArrayList<>();
+        synchronized (this) {
+            for (Segment segment : sealed)
+                segments.add(segment.records());
+            segments.add(active.records());
+        }
+        for (ByteBuffer records : segments) {
+            ByteBuffer record = records.asReadOnlyBuffer();
+            for (int offset = 0; offset < records.limit(); ) {
+                int end = offset + RECORD_HEADER_SIZE + records.getInt(offset);
+                record.clear();
+                record.position(offset + RECORD_HEADER_SIZE);
+                record.limit(end);
+                consumer.accept(record);
+                offset = end;
+            }
+        }
+    }
+
+    /**
+     * @return count of records in the log, a transaction appended twice is counted twice
+     */
+    public synchronized long size() {
+        return sealedCount + activeCount;
+    }
+
+    /**
+     * Flush appended records and release the directory.
+     *
+     * @throws IOException if the records can't be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (channel != null && channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            if (lockChannel.isOpen())
+                lockChannel.close();
+        }
+    }
+
+    private List<ByteBuffer> findBySender(byte[] key) throws IOException {
+        List<ByteBuffer> result = new ArrayList<>();
+        synchronized (this) {
+            for (Segment segment : sealed)
+                for (int entry = lowerBound(segment.senders, SENDER_ENTRY_SIZE, key);
+                     entry < segment.senders.limit() && matches(segment.senders, entry, key);
+                     entry += SENDER_ENTRY_SIZE)
+                    result.add(record(segment.records(), segment.senders.getInt(entry + key.length)));
+            List<Integer> offsets = activeSenders.get(ByteBuffer.wrap(key));
+            if (offsets != null) {
+                ByteBuffer records = active.records();
+                for (int offset : offsets)
+                    result.add(record(records, offset));
+            }
+        }
+        return result;
+    }
+
+    private void index(Id id, PublicKey sender, int offset) {
+        activeIds.put(id, offset);
+        activeCount++;
+        if (sender.bytes().length == PublicKey.BYTES_LENGTH)
+            activeSenders.computeIfAbsent(ByteBuffer.wrap(publicKeyHash(sender)), k -> new ArrayList<>()).add(offset);
+    }
+
+    private void lock() throws IOException {
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Transaction log in " + directory + " is already opened");
+        }
+    }
+
+    private void openSegments() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + LOG_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                numbers.add(Long.parseLong(name.substring(0, name.length() - LOG_SUFFIX.length())));
+            }
+        }
+        Collections.sort(numbers);
+
+        for (int i = 0; i < numbers.size() - 1; i++)
+            openSealed(numbers.get(i));
+        openActive(numbers.isEmpty() ? 0 : numbers.get(numbers.size() - 1));
+    }
+
+    private void openSealed(long number) throws IOException {
+        Segment segment = new Segment(file(number, LOG_SUFFIX));
+        segment.number = number;
+        try (FileChannel log = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+            segment.size = (int) log.size();
+        }
+        if (!Files.exists(file(number, IDS_SUFFIX)) || !Files.exists(file(number, SENDERS_SUFFIX))) {
+            segment.size = scan(segment);
+            writeIndexes(number);
+        }
+        addSealed(number, segment);
+    }
+
+    private void openActive(long number) throws IOException {
+        Files.deleteIfExists(file(number, IDS_SUFFIX));
+        Files.deleteIfExists(file(number, SENDERS_SUFFIX));
+        active = new Segment(file(number, LOG_SUFFIX));
+        active.number = number;
+        channel = FileChannel.open(active.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        active.channel = channel;
+        active.size = (int) channel.size();
+
+        int valid = scan(active);
+        if (valid < active.size) {
+            channel.truncate(valid);
+            channel.force(false);
+            active.size = valid;
+            active.read = null;
+        }
+        channel.position(valid);
+    }
+
+    private void seal() throws IOException {
+        channel.force(false);
+        channel.close();
+        active.channel = null;
+        active.read = null;
+        writeIndexes(active.number);
+        addSealed(active.number, active);
+        openActive(active.number + 1);
+    }
+
+    private void addSealed(long number, Segment segment) throws IOException {
+        segment.ids = map(file(number, IDS_SUFFIX));
+        segment.senders = map(file(number, SENDERS_SUFFIX));
+        sealed.add(segment);
+        for (ByteBuffer records = segment.records(); records.hasRemaining(); sealedCount++)
+            records.position(records.position() + RECORD_HEADER_SIZE + records.getInt(records.position()));
+        activeIds.clear();
+        activeSenders.clear();
+        activeCount = 0;
+    }
+
+    /**
+     * Validate records and index them in memory. Records after the first one with wrong size or checksum are ignored.
+     *
+     * @return size of the valid records
+     * @throws IOException if a record with correct checksum is not a transaction
+     */
+    private int scan(Segment segment) throws IOException {
+        ByteBuffer records = segment.records();
+        activeIds.clear();
+        activeSenders.clear();
+        activeCount = 0;
+        int offset = 0;
+        while (records.limit() - offset >= RECORD_HEADER_SIZE) {
+            int size = records.getInt(offset);
+            if (size <= 0 || size > records.limit() - offset - RECORD_HEADER_SIZE)
+                break;
+            byte[] bytes = new byte[size];
+            ByteBuffer record = records.duplicate();
+            record.position(offset + RECORD_HEADER_SIZE);
+            record.get(bytes);
+            crc.reset();
+            crc.update(bytes, 0, size);
+            if ((int) crc.getValue() != records.getInt(offset + Integer.BYTES))
+                break;
+            try {
+                TransactionView view = TransactionView.of(bytes);
+                index(view.id(), view.sender(), offset);
+            } catch (IOException | RuntimeException e) {
+                throw new IOException("Record at offset " + offset + " of " + segment.path
+                        + " has correct checksum but is not a transaction", e);
+            }
+            offset += RECORD_HEADER_SIZE + size;
+        }
+        return offset;
+    }
+
+    private void writeIndexes(long number) throws IOException {
+        ByteBuffer ids = ByteBuffer.allocate(activeIds.size() * ID_ENTRY_SIZE);
+        List<byte[]> idEntries = new ArrayList<>(activeIds.size());
+        for (Map.Entry<Id, Integer> e : activeIds.entrySet())
+            idEntries.add(entry(idKey(e.getKey()), e.getValue()));
+        write(file(number, IDS_SUFFIX), sorted(idEntries, ids));
+
+        int senderCount = 0;
+        for (List<Integer> offsets : activeSenders.values())
+            senderCount += offsets.size();
+        ByteBuffer senders = ByteBuffer.allocate(senderCount * SENDER_ENTRY_SIZE);
+        List<byte[]> senderEntries = new ArrayList<>(senderCount);
+        for (Map.Entry<ByteBuffer, List<Integer>> e : activeSenders.entrySet())
+            for (int offset : e.getValue())
+                senderEntries.add(entry(e.getKey().array(), offset));
+        write(file(number, SENDERS_SUFFIX), sorted(senderEntries, senders));
+    }
+
+    private void write(Path path, ByteBuffer content) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (content.hasRemaining())
+                file.write(content);
+            file.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path file(long number, String suffix) {
+        return directory.resolve(String.format("%020d%s", number, suffix));
+    }
+
+    /**
+     * Ids of genesis and payment transactions are 64-byte signatures, they are indexed by the first 32 bytes.
+     */
+    private static byte[] idKey(Id id) {
+        byte[] bytes = id.bytes();
+        return bytes.length == Id.BYTE_LENGTH ? bytes : Arrays.copyOf(bytes, Id.BYTE_LENGTH);
+    }
+
+    /**
+     * @return the same hash as in the address of the public key
+     */
+    private static byte[] publicKeyHash(PublicKey publicKey) {
+        return Arrays.copyOf(Crypto.getPublicKeyHash(publicKey.bytes()), Address.PUBLIC_KEY_HASH_LENGTH);
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            return file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+        }
+    }
+
+    private static ByteBuffer record(ByteBuffer records, int offset) {
+        ByteBuffer record = records.duplicate();
+        record.position(offset + RECORD_HEADER_SIZE);
+        record.limit(offset + RECORD_HEADER_SIZE + records.getInt(offset));
+        return record.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Entries are compared as unsigned bytes, so the order of sender entries is by sender and then by offset.
+     */
+    private static ByteBuffer sorted(List<byte[]> entries, ByteBuffer target) {
+        entries.sort(TransactionLog::compareUnsigned);
+        for (byte[] entry : entries)
+            target.put(entry);
+        target.flip();
+        return target;
+    }
+
+    private static byte[] entry(byte[] key, int offset) {
+        byte[] entry = Arrays.copyOf(key, key.length + Integer.BYTES);
+        ByteBuffer.wrap(entry, key.length, Integer.BYTES).putInt(offset);
+        return entry;
+    }
+
+    /**
+     * @return position of the first entry which is not less than the key
+     */
+    private static int lowerBound(ByteBuffer index, int entrySize, byte[] key) {
+        int low = 0;
+        int high = index.limit() / entrySize;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareUnsigned(index, middle * entrySize, key) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low * entrySize;
+    }
+
+    private static boolean matches(ByteBuffer index, int position, byte[] key) {
+        return compareUnsigned(index, position, key) == 0;
+    }
+
+    private static int compareUnsigned(ByteBuffer index, int position, byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            int diff = (index.get(position + i) & 0xFF) - (key[i] & 0xFF);
+            if (diff != 0)
+                return diff;
+        }
+        return 0;
+    }
+
+    private static int compareUnsigned(byte[] a, byte[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0)
+                return diff;
+        }
+        return 0;
+    }
+
+    private static class Segment {
+        final Path path;
+        long number;
+        int size;
+        FileChannel channel;
+        ByteBuffer read;
+        MappedByteBuffer ids;
+        MappedByteBuffer senders;
+
+        Segment(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * A sealed segment is mapped once. The active one is read through its channel instead,
+         * because the mapping of a growing file would have to be replaced after every append.
+         * Only records appended since the last call are read, into a buffer which grows twice when it's full.
+         * Previously returned buffers stay valid when it's replaced.
+         *
+         * @return records of the segment
+         */
+        ByteBuffer records() throws IOException {
+            if (channel == null) {
+                if (read == null)
+                    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+                        read = file.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    }
+            } else {
+                if (read == null)
+                    read = ByteBuffer.allocate(Math.max(size, 4096));
+                if (read.position() < size) {
+                    if (read.capacity() < size) {
+                        ByteBuffer grown = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE,
+                                Math.max(size, 2L * read.capacity())));
+                        read.flip();
+                        read = grown.put(read);
+                    }
+                    while (read.position() < size)
+                        if (channel.read(read, read.position()) < 0)
+                            throw new IOException("Segment " + path + " is shorter than " + size + " bytes");
+                }
+            }
+            ByteBuffer records = read.duplicate();
+            records.position(0);
+            records.limit(size);
+            return records;
+        }
+    }
+
+    private static class RecordIterator implements Iterator<ByteBuffer> {
+        private final Iterator<ByteBuffer> segments;
+        private ByteBuffer records;
+        private int offset;
+
+        RecordIterator(List<ByteBuffer> segments) {
+            this.segments = segments.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (records == null || offset >= records.limit()) {
+                if (!segments.hasNext())
+                    return false;
+                records = segments.next();
+                offset = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public ByteBuffer next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            ByteBuffer record = record(records, offset);
+            offset += RECORD_HEADER_SIZE + record.remaining();
+            return record;
+        }
+    }
+
+}
@@ -0,0 +1,370 @@
+package com.wavesplatform.transactions.store;
+
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.common.Id;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * In-memory store of serialized transactions by id which keeps the bytes outside of the Java heap.
+ * <p>
+ * Transactions are appended to fixed-size segments of direct memory as {@code id | size | bytes} records,
+ * and are decoded by {@link Transaction#fromBytes(byte[])} only when they are read.
+ * Records are found by an open-addressing hash table of primitive arrays, so the store holds no object
+ * per transaction on the heap.
+ * <p>
+ * When all segments are full, a whole segment is evicted according to the {@link Eviction} policy
+ * and its records are dropped from the index. Space of removed records is reclaimed only with the segment.
+ * <p>
+ * The store is thread-safe. Transactions are decoded outside of the lock.
+ */
+public class TransactionStore {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    private static final int RECORD_HEADER_SIZE = Id.BYTE_LENGTH + Integer.BYTES;
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+
+    /**
+     * Which segment is evicted when the store is full.
+     */
+    public enum Eviction {
+        /**
+         * The oldest segment.
+         */
+        FIFO,
+        /**
+         * The segment which was not read for the longest time.
+         */
+        LRU,
+        /**
+         * Nothing, new transactions are rejected instead.
+         */
+        NONE
+    }
+
+    private final int segmentSize;
+    private final Eviction eviction;
+    private final ByteBuffer[] segments;
+    private final long[] segmentSequence;
+    private final long[] segmentAccess;
+    private int segmentCount;
+    private int current = -1;
+    private long clock;
+
+    private long[] keys;
+    private long[] locations;
+    private int size;
+    private long usedBytes;
+
+    /**
+     * Create the store of segments of the default size.
+     *
+     * @param maxBytes max size of the memory held by the store, at least one segment is allocated
+     * @param eviction what to do when the store is full
+     */
+    public TransactionStore(long maxBytes, Eviction eviction) {
+        this(DEFAULT_SEGMENT_SIZE, segmentCount(maxBytes), eviction);
+    }
+
+    /**
+     * @param segmentSize size of a segment in bytes, it limits the max size of a stored transaction
+     * @param maxSegments max count of segments, they are allocated on demand
+     * @param eviction what to do when the store is full
+     */
+    public TransactionStore(int segmentSize, int maxSegments, Eviction eviction) {
+        if (segmentSize <= RECORD_HEADER_SIZE)
+            throw new IllegalArgumentException("Segment size must be greater than " + RECORD_HEADER_SIZE
+                    + ", but was " + segmentSize);
+        if (maxSegments <= 0)
+            throw new IllegalArgumentException("Max count of segments must be positive, but was " + maxSegments);
+        this.segmentSize = segmentSize;
+        this.eviction = eviction;
+        this.segments = new ByteBuffer[maxSegments];
+        this.segmentSequence = new long[maxSegments];
+        this.segmentAccess = new long[maxSegments];
+        this.keys = new long[INITIAL_INDEX_CAPACITY];
+        this.locations = new long[INITIAL_INDEX_CAPACITY];
+    }
+
+    /**
+     * Store the transaction if it's not stored yet.
+     *
+     * @param tx transaction
+     * @return false if the store is full and its eviction policy is {@link Eviction#NONE}
+     */
+    public boolean put(Transaction tx) {
+        return put(tx.id(), tx.toBytes());
+    }
+
+    /**
+     * Store bytes of the transaction if it's not stored yet.
+     *
+     * @param id id of the transaction
+     * @param bytes binary or protobuf bytes of the transaction, they are copied
+     * @return false if the store is full and its eviction policy is {@link Eviction#NONE}
+     */
+    public synchronized boolean put(Id id, byte[] bytes) {
+        byte[] idBytes = idBytes(id);
+        int recordSize = RECORD_HEADER_SIZE + bytes.length;
+        if (recordSize > segmentSize)
+            throw new IllegalArgumentException("Transaction of " + bytes.length
+                    + " bytes doesn't fit into segment of " + segmentSize + " bytes");
+        if (find(idBytes) >= 0)
+            return true;
+
+        if (current < 0 || segments[current].position() + recordSize > segmentSize) {
+            int next = nextSegment();
+            if (next < 0)
+                return false;
+            current = next;
+        }
+
+        ByteBuffer segment = segments[current];
+        int offset = segment.position();
+        segment.put(idBytes).putInt(bytes.length).put(bytes);
+        usedBytes += recordSize;
+        insert(idBytes, location(current, offset));
+        return true;
+    }
+
+    /**
+     * @param id id of the transaction
+     * @return decoded transaction or null if it's not stored
+     * @throws IOException if the stored bytes are not a transaction
+     */
+    public Transaction get(Id id) throws IOException {
+        byte[] bytes = getBytes(id);
+        return bytes == null ? null : Transaction.fromBytes(bytes);
+    }
+
+    /**
+     * @param id id of the transaction
+     * @return copy of the stored bytes or null if the transaction is not stored
+     */
+    public synchronized byte[] getBytes(Id id) {
+        int slot = find(idBytes(id));
+        if (slot < 0)
+            return null;
+        int segment = segmentOf(locations[slot]);
+        int offset = offsetOf(locations[slot]);
+        segmentAccess[segment] = ++clock;
+
+        ByteBuffer buffer = segments[segment];
+        byte[] bytes = new byte[buffer.getInt(offset + Id.BYTE_LENGTH)];
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset + RECORD_HEADER_SIZE);
+        record.get(bytes);
+        return bytes;
+    }
+
+    public synchronized boolean contains(Id id) {
+        return find(idBytes(id)) >= 0;
+    }
+
+    /**
+     * Remove the transaction from the index. Its bytes are freed when its segment is evicted.
+     *
+     * @param id id of the transaction
+     * @return false if the transaction is not stored
+     */
+    public synchronized boolean remove(Id id) {
+        int slot = find(idBytes(id));
+        if (slot < 0)
+            return false;
+        delete(slot);
+        return true;
+    }
+
+    /**
+     * @return count of stored transactions
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return size of the records in all segments, including removed but not yet evicted ones
+     */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Remove all transactions. Allocated segments are kept for reuse.
+     */
+    public synchronized void clear() {
+        for (int s = 0; s < segmentCount; s++)
+            segments[s].clear();
+        segmentCount = 0;
+        current = -1;
+        Arrays.fill(segmentSequence, 0);
+        Arrays.fill(segmentAccess, 0);
+        clock = 0;
+        Arrays.fill(keys, 0);
+        Arrays.fill(locations, 0);
+        size = 0;
+        usedBytes = 0;
+    }
+
+    private static int segmentCount(long maxBytes) {
+        if (maxBytes <= 0)
+            throw new IllegalArgumentException("Max size must be positive, but was " + maxBytes);
+        long count = Math.max(1, maxBytes / DEFAULT_SEGMENT_SIZE);
+        if (count > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Max size must be at most " + (long) Integer.MAX_VALUE * DEFAULT_SEGMENT_SIZE
+                    + " bytes, but was " + maxBytes);
+        return (int) count;
+    }
+
+    /**
+     * @return index of an empty segment or -1 if nothing can be evicted
+     */
+    private int nextSegment() {
+        int next;
+        if (segmentCount < segments.length) {
+            next = segmentCount++;
+            if (segments[next] == null)
+                segments[next] = ByteBuffer.allocateDirect(segmentSize);
+        } else if (eviction == Eviction.NONE)
+            return -1;
+        else {
+            long[] order = eviction == Eviction.FIFO ? segmentSequence : segmentAccess;
+            next = 0;
+            for (int s = 1; s < segmentCount; s++)
+                if (order[s] < order[next])
+                    next = s;
+            evict(next);
+        }
+        segmentSequence[next] = segmentAccess[next] = ++clock;
+        return next;
+    }
+
+    private void evict(int segment) {
+        ByteBuffer buffer = segments[segment];
+        byte[] idBytes = new byte[Id.BYTE_LENGTH];
+        ByteBuffer record = buffer.duplicate();
+        record.flip();
+        while (record.hasRemaining()) {
+            int offset = record.position();
+            record.get(idBytes);
+            int length = record.getInt();
+            record.position(record.position() + length);
+
+            int slot = find(idBytes);
+            if (slot >= 0 && locations[slot] == location(segment, offset))
+                delete(slot);
+        }
+        usedBytes -= buffer.position();
+        buffer.clear();
+    }
+
+    /**
+     * Linear probing by the first 8 bytes of the id, which are already random for ids of transactions.
+     *
+     * @return slot of the id or -1 if it's not stored
+     */
+    private int find(byte[] idBytes) {
+        long key = key(idBytes);
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key, mask); locations[slot] != 0; slot = (slot + 1) & mask)
+            if (keys[slot] == key && idEquals(locations[slot], idBytes))
+                return slot;
+        return -1;
+    }
+
+    private void insert(byte[] idBytes, long location) {
+        if ((size + 1) * 4L > keys.length * 3L)
+            resize(keys.length * 2);
+        long key = key(idBytes);
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (locations[slot] != 0)
+            slot = (slot + 1) & mask;
+        keys[slot] = key;
+        locations[slot] = location;
+        size++;
+    }
+
+    /**
+     * Backward-shift deletion, so lookups never have to skip tombstones.
+     */
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; locations[next] != 0; next = (next + 1) & mask) {
+            int home = slotOf(keys[next], mask);
+            boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!stays) {
+                keys[hole] = keys[next];
+                locations[hole] = locations[next];
+                hole = next;
+            }
+        }
+        keys[hole] = 0;
+        locations[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldLocations = locations;
+        keys = new long[capacity];
+        locations = new long[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldLocations[i] != 0) {
+                int slot = slotOf(oldKeys[i], mask);
+                while (locations[slot] != 0)
+                    slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                locations[slot] = oldLocations[i];
+            }
+    }
+
+    private boolean idEquals(long location, byte[] idBytes) {
+        ByteBuffer buffer = segments[segmentOf(location)];
+        int offset = offsetOf(location);
+        for (int i = 0; i < Id.BYTE_LENGTH; i++)
+            if (buffer.get(offset + i) != idBytes[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Ids of genesis and payment transactions are 64-byte signatures, they are stored by the first 32 bytes.
+     */
+    private static byte[] idBytes(Id id) {
+        byte[] bytes = id.bytes();
+        return bytes.length == Id.BYTE_LENGTH ? bytes : Arrays.copyOf(bytes, Id.BYTE_LENGTH);
+    }
+
+    private static long key(byte[] idBytes) {
+        long key = 0;
+        for (int i = 0; i < Long.BYTES; i++)
+            key = key << 8 | (idBytes[i] & 0xFF);
+        return key;
+    }
+
+    private static int slotOf(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    /**
+     * Location is never 0, which marks an empty slot.
+     */
+    private static long location(int segment, int offset) {
+        return (long) (segment + 1) << 32 | offset;
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> 32) - 1;
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.exchange.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Pool and batches shared by the tests of the parallel batch processors.
+ * Workers of the pool are daemon threads, so it's never shut down and can be used by test classes in any order.
+ */
+class BatchFixture {
+
+    static final long TIMESTAMP = 1600000000000L;
+    static final PrivateKey signer = PrivateKey.fromSeed("seed");
+    static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    /**
+     * @param size count of items
+     * @return transfers of legacy and protobuf versions interleaved with orders, all signed by {@link #signer}.
+     * Batches of the same size are equal
+     */
+    static List<TransactionOrOrder> signedBatch(int size) {
+        List<TransactionOrOrder> batch = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            batch.add(i % 2 == 0
+                    ? TransferTransaction.builder(signer.address(), Amount.of(i + 1)).version(i % 4 == 0 ? 2 : 3)
+                    .timestamp(TIMESTAMP).getSignedWith(signer)
+                    : Order.buy(Amount.of(i + 1), Amount.of(1), signer.publicKey()).timestamp(TIMESTAMP).getSignedWith(signer));
+        return batch;
+    }
+
+}
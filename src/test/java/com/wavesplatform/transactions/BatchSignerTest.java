@@ -0,0 +1,55 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.wavesplatform.transactions.BatchFixture.pool;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchSignerTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    @Test
+    void signsBuildersInInputOrder() {
+        List<TransferTransaction.TransferTransactionBuilder> builders = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            builders.add(TransferTransaction.builder(signer.address(), Amount.of(i + 1)));
+        BatchSigner batchSigner = new BatchSigner(signer, pool);
+
+        BatchSigner.Result<TransferTransaction> result = batchSigner.signBuilders(builders);
+
+        assertThat(result.signed()).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            TransferTransaction tx = result.signed().get(i);
+            assertThat(tx.amount().value()).isEqualTo(i + 1);
+            assertThat(tx.sender()).isEqualTo(signer.publicKey());
+        }
+        assertThat(new ProofVerifier(pool).verifyAll(result.signed())).isTrue();
+        assertThat(batchSigner.signedCount()).isEqualTo(100);
+        assertThat(result.throughput()).isPositive();
+    }
+
+    @Test
+    void addsProofToUnsignedTransactions() {
+        PrivateKey cosigner = PrivateKey.fromSeed("cosigner");
+        List<Transaction> unsigned = new ArrayList<>();
+        for (int i = 0; i < 50; i++)
+            unsigned.add(TransferTransaction.builder(signer.address(), Amount.of(i + 1)).getSignedWith(signer));
+        BatchSigner batchSigner = new BatchSigner(cosigner, pool);
+
+        List<Transaction> signed = batchSigner.sign(unsigned).signed();
+
+        assertThat(signed).containsExactlyElementsOf(unsigned);
+        for (Transaction tx : signed) {
+            assertThat(tx.proofs()).hasSize(2);
+            assertThat(cosigner.isSignatureValid(tx.bodyBytes(), tx.proofs().get(1).bytes())).isTrue();
+        }
+        assertThat(batchSigner.signedCount()).isEqualTo(50);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.data.StringEntry;
+import com.wavesplatform.transactions.serializers.binary.TransactionDecoder.Framing;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.wavesplatform.transactions.BatchFixture.pool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BlockDecoderTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static List<Transaction> transactions(int size, boolean withLegacy) {
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            txs.add(i % 3 == 0
+                    ? DataTransaction.builder(StringEntry.as("key", "value " + i)).getSignedWith(signer)
+                    : TransferTransaction.builder(signer.address(), Amount.of(i + 1))
+                    .version(withLegacy && i % 3 == 1 ? 2 : 3)
+                    .getSignedWith(signer));
+        return txs;
+    }
+
+    static byte[] lengthPrefixed(List<Transaction> txs) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Transaction tx : txs) {
+            out.writeInt(tx.toBytes().length);
+            out.write(tx.toBytes());
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void decodesLengthPrefixedBlockInOrder() throws IOException {
+        List<Transaction> txs = transactions(500, true);
+
+        assertThat(new BlockDecoder(pool, Framing.LENGTH_PREFIXED).decode(lengthPrefixed(txs)))
+                .containsExactlyElementsOf(txs);
+        assertThat(new BlockDecoder().decode(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void decodesDelimitedBlockInOrder() throws IOException {
+        List<Transaction> txs = transactions(500, false);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(new byte[]{1, 2, 3});
+        for (Transaction tx : txs)
+            tx.toProtobuf().writeDelimitedTo(bytes);
+        byte[] block = bytes.toByteArray();
+
+        assertThat(new BlockDecoder(pool, Framing.DELIMITED).decode(block, 3, block.length - 3))
+                .containsExactlyElementsOf(txs);
+    }
+
+    @Test
+    void scansBoundaries() throws IOException {
+        List<Transaction> txs = transactions(2, false);
+        byte[] block = lengthPrefixed(txs);
+        int first = txs.get(0).toBytes().length;
+
+        assertThat(BlockDecoder.scan(block, 0, block.length, Framing.LENGTH_PREFIXED))
+                .containsExactly(4, first, 4 + first + 4, txs.get(1).toBytes().length);
+    }
+
+    @Test
+    void truncatedBlockIsRejected() throws IOException {
+        byte[] block = lengthPrefixed(transactions(3, false));
+
+        assertThatThrownBy(() -> new BlockDecoder(pool, Framing.LENGTH_PREFIXED).decode(block, 0, block.length - 1))
+                .isInstanceOf(EOFException.class)
+                .hasMessageStartingWith("Transaction size");
+        assertThatThrownBy(() -> new BlockDecoder(pool, Framing.LENGTH_PREFIXED).decode(Arrays.copyOf(block, 2)))
+                .isInstanceOf(EOFException.class)
+                .hasMessage("Block ended inside of transaction size");
+    }
+
+    @Test
+    void invalidTransactionIsRejected() throws IOException {
+        List<Transaction> txs = transactions(100, false);
+        byte[] block = lengthPrefixed(txs);
+        int offset = 0;
+        for (int i = 0; i < 70; i++)
+            offset += Integer.BYTES + txs.get(i).toBytes().length;
+        block[offset + Integer.BYTES] = (byte) 0xFF;
+
+        assertThatThrownBy(() -> new BlockDecoder(pool, Framing.LENGTH_PREFIXED).decode(block))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void corruptedLegacyTransactionIsRejected() throws IOException {
+        List<Transaction> txs = transactions(100, true);
+        assertThat(txs.get(70).version()).isEqualTo(2);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < txs.size(); i++) {
+            byte[] tx = i == 70 ? Arrays.copyOf(txs.get(i).toBytes(), 20) : txs.get(i).toBytes();
+            out.writeInt(tx.length);
+            out.write(tx);
+        }
+
+        assertThatThrownBy(() -> new BlockDecoder(pool, Framing.LENGTH_PREFIXED).decode(bytes.toByteArray()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("transaction 70")
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.crypto.Hash;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Id;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.wavesplatform.transactions.BatchFixture.TIMESTAMP;
+import static com.wavesplatform.transactions.BatchFixture.pool;
+import static com.wavesplatform.transactions.BatchFixture.signedBatch;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdComputerTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    @Test
+    void hashersAreEqual() {
+        byte[] bytes = new byte[300];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = (byte) i;
+
+        assertThat(IdComputer.Hasher.BLAKE2B.hash(bytes, 0, bytes.length)).isEqualTo(Hash.blake(bytes));
+        assertThat(IdComputer.Hasher.BLAKE2B.hash(bytes, 10, 100))
+                .isEqualTo(IdComputer.Hasher.WAVES_CRYPTO.hash(bytes, 10, 100));
+        assertThat(IdComputer.Hasher.BLAKE2B.hash(bytes, 0, 0)).isEqualTo(Hash.blake(new byte[0]));
+    }
+
+    @Test
+    void computesAndCachesIds() {
+        List<TransactionOrOrder> batch = signedBatch(200);
+        List<Id> expected = signedBatch(200).stream().map(TransactionOrOrder::id).collect(toList());
+        AtomicInteger hashed = new AtomicInteger();
+        IdComputer computer = new IdComputer((bytes, offset, length) -> {
+            hashed.incrementAndGet();
+            return IdComputer.Hasher.BLAKE2B.hash(bytes, offset, length);
+        }, pool);
+
+        assertThat(computer.ids(batch)).isEqualTo(expected);
+        assertThat(batch.stream().map(TransactionOrOrder::id).collect(toList())).isEqualTo(expected);
+        assertThat(computer.ids(batch)).isEqualTo(expected);
+        assertThat(hashed).hasValue(200);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void keepsIdsOfLegacyTransactions() throws IOException {
+        List<Transaction> txs = new ArrayList<>();
+        txs.add(new GenesisTransaction(signer.address(), 100, TIMESTAMP));
+        txs.add(new PaymentTransaction(signer.publicKey(), signer.address(), 100, Amount.of(100000), TIMESTAMP, null)
+                .addProof(signer));
+        txs.add(CreateAliasTransaction.builder("alias").version(2).timestamp(TIMESTAMP).getSignedWith(signer));
+        List<Id> expected = new ArrayList<>();
+        List<TransactionView> views = new ArrayList<>();
+        for (Transaction tx : txs) {
+            expected.add(Transaction.fromBytes(tx.toBytes()).id());
+            views.add(TransactionView.of(tx.toBytes()));
+        }
+
+        assertThat(new IdComputer().ids(txs)).isEqualTo(expected);
+        assertThat(new IdComputer().viewIds(views)).isEqualTo(expected);
+    }
+
+    @Test
+    void computesIdsOfViews() throws IOException {
+        List<TransactionOrOrder> batch = signedBatch(100);
+        List<TransactionView> views = new ArrayList<>();
+        List<Id> expected = new ArrayList<>();
+        for (TransactionOrOrder item : batch)
+            if (item instanceof Transaction) {
+                views.add(TransactionView.of(item.toBytes()));
+                expected.add(item.id());
+            }
+
+        assertThat(new IdComputer().viewIds(views)).isEqualTo(expected);
+        assertThat(views.stream().map(TransactionView::id).collect(toList())).isEqualTo(expected);
+    }
+
+}
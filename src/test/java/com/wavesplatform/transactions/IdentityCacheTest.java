@@ -0,0 +1,91 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.account.PublicKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.common.Id;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IdentityCacheTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static AssetId asset = AssetId.as("4LHHvYGNKJUg5hj65aGD5vgScvCBmLpdRFtjokvCjSL8");
+
+    @AfterEach
+    void afterEach() {
+        IdentityCache.disable();
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertThat(IdentityCache.isEnabled()).isFalse();
+        assertThat(PublicKey.as(signer.publicKey().bytes())).isNotSameAs(PublicKey.as(signer.publicKey().bytes()));
+    }
+
+    @Test
+    void internsByBytesAndString() {
+        IdentityCache.enable();
+        PublicKey publicKey = signer.publicKey();
+        Address address = signer.address();
+
+        PublicKey fromBytes = PublicKey.as(publicKey.bytes().clone());
+        assertThat(PublicKey.as(publicKey.bytes().clone())).isSameAs(fromBytes);
+        assertThat(PublicKey.as(publicKey.toString())).isSameAs(fromBytes);
+
+        Address addressFromString = Address.as(address.toString());
+        assertThat(Address.as(address.bytes().clone())).isSameAs(addressFromString);
+        assertThat(AssetId.as(asset.bytes().clone())).isSameAs(AssetId.as(asset.toString()));
+        assertThat(AssetId.as((String) null).isWaves()).isTrue();
+    }
+
+    @Test
+    void trustedAddressDoesNotSkipValidationOfOthers() {
+        IdentityCache.enable();
+        Address address = signer.address();
+        byte[] badChecksum = address.bytes().clone();
+        badChecksum[Address.BYTES_LENGTH - 1]++;
+
+        assertThat(Address.asTrusted(badChecksum).bytes()).isEqualTo(badChecksum);
+
+        assertThatThrownBy(() -> Address.as(badChecksum.clone()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Address has wrong checksum");
+        Address validated = Address.as(address.bytes().clone());
+        assertThat(Address.asTrusted(address.bytes().clone())).isSameAs(validated);
+    }
+
+    @Test
+    void parsedTransactionsShareIdentities() throws IOException {
+        IdentityCache.enable();
+        TransferTransaction tx = TransferTransaction
+                .builder(signer.address(), Amount.of(1, asset))
+                .getSignedWith(signer);
+
+        Transaction fromBytes = Transaction.fromBytes(tx.toBytes());
+        Transaction fromJson = Transaction.fromJson(tx.toJson());
+
+        assertThat(fromJson.sender()).isSameAs(fromBytes.sender());
+        assertThat(((TransferTransaction) fromJson).recipient())
+                .isSameAs(((TransferTransaction) fromBytes).recipient());
+        assertThat(((TransferTransaction) fromJson).amount().assetId())
+                .isSameAs(((TransferTransaction) fromBytes).amount().assetId());
+    }
+
+    @Test
+    void boundedBySize() {
+        IdentityCache.enable(2);
+        for (int i = 0; i < 10; i++)
+            AssetId.as(Id.as(new byte[]{(byte) i}).bytes());
+
+        assertThat(IdentityCache.size()).isLessThanOrEqualTo(2);
+    }
+
+}
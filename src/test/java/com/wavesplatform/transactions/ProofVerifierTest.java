@@ -0,0 +1,56 @@
+package com.wavesplatform.transactions;
+
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.Proof;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.wavesplatform.transactions.BatchFixture.pool;
+import static com.wavesplatform.transactions.BatchFixture.signedBatch;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProofVerifierTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static PrivateKey stranger = PrivateKey.fromSeed("stranger");
+
+    @Test
+    void validBatch() {
+        List<TransactionOrOrder> batch = signedBatch(100);
+        ProofVerifier verifier = new ProofVerifier(pool);
+
+        assertThat(verifier.verify(batch)).hasSize(100).containsOnly(true);
+        assertThat(verifier.verifyAll(batch)).isTrue();
+    }
+
+    @Test
+    void reportsInvalidItems() {
+        List<TransactionOrOrder> batch = signedBatch(100);
+        batch.set(7, TransferTransaction.builder(signer.address(), Amount.of(1))
+                .sender(signer.publicKey())
+                .getSignedWith(stranger));
+        batch.set(42, TransferTransaction.builder(signer.address(), Amount.of(1))
+                .sender(signer.publicKey())
+                .getUnsigned());
+        batch.set(99, batch.get(99).setProof(0, Proof.as(new byte[10])));
+        ProofVerifier verifier = new ProofVerifier(pool);
+
+        List<Boolean> result = verifier.verify(batch);
+
+        for (int i = 0; i < batch.size(); i++)
+            assertThat(result.get(i)).as("item %d", i).isEqualTo(i != 7 && i != 42 && i != 99);
+        assertThat(verifier.verifyAll(batch)).isFalse();
+    }
+
+    @Test
+    void smallBatchOnCallerThread() {
+        ProofVerifier verifier = new ProofVerifier(Runnable::run, 1);
+
+        assertThat(verifier.verifyAll(signedBatch(3))).isTrue();
+        assertThat(verifier.verifyAll(new ArrayList<>())).isTrue();
+    }
+
+}
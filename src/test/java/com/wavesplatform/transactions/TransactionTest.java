@@ -1,10 +1,23 @@
 package com.wavesplatform.transactions;
 
+import com.wavesplatform.transactions.account.PrivateKey;
 import com.wavesplatform.transactions.account.PublicKey;
 import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TransactionTest {
 
@@ -28,4 +41,97 @@ public class TransactionTest {
         assertThat(leaseTx).isNotEqualTo(leaseCancelTx);
     }
 
+    @Test
+    void equalTransactions_haveEqualHashCodes() throws IOException {
+        PrivateKey signer = PrivateKey.fromSeed("seed");
+        Transaction tx = TransferTransaction
+                .builder(Alias.as("rich"), Amount.of(100))
+                .timestamp(1600000000000L)
+                .getSignedWith(signer);
+        Transaction parsed = Transaction.fromBytes(tx.toBytes());
+
+        Set<Transaction> set = new HashSet<>();
+        set.add(tx);
+
+        assertThat(parsed).isEqualTo(tx).isNotSameAs(tx);
+        assertThat(parsed.hashCode()).isEqualTo(tx.hashCode());
+        assertThat(set).contains(parsed);
+    }
+
+    @Test
+    void hashCode_doesNotChangeWithProofs() {
+        PrivateKey signer = PrivateKey.fromSeed("seed");
+        Transaction tx = TransferTransaction
+                .builder(Alias.as("rich"), Amount.of(100))
+                .sender(signer.publicKey())
+                .timestamp(1600000000000L)
+                .getUnsigned();
+        int unsignedHash = tx.hashCode();
+        Transaction unsignedCopy = TransferTransaction
+                .builder(Alias.as("rich"), Amount.of(100))
+                .sender(signer.publicKey())
+                .timestamp(1600000000000L)
+                .getUnsigned();
+
+        tx.addProof(signer);
+
+        assertThat(tx.hashCode()).isEqualTo(unsignedHash);
+        assertThat(tx).isNotEqualTo(unsignedCopy);
+    }
+
+    @Test
+    void unsignedPayment_staysInHashSetAfterSigning() {
+        PrivateKey signer = PrivateKey.fromSeed("seed");
+        @SuppressWarnings("deprecation")
+        PaymentTransaction tx = new PaymentTransaction(signer.publicKey(), signer.address(), 100,
+                Amount.of(PaymentTransaction.MIN_FEE), 1600000000000L, null);
+        Set<Transaction> set = new HashSet<>();
+        set.add(tx);
+
+        tx.addProof(signer);
+
+        assertThat(set).contains(tx);
+        assertThat(tx.id().bytes()).isEqualTo(tx.proofs().get(0).bytes());
+    }
+
+    @Test
+    void bytesAreCachedUntilProofsChange() throws IOException {
+        PrivateKey signer = PrivateKey.fromSeed("seed");
+        Transaction tx = TransferTransaction
+                .builder(Alias.as("rich"), Amount.of(100))
+                .timestamp(1600000000000L)
+                .getSignedWith(signer);
+        byte[] signedBytes = tx.cachedBytes();
+        byte[] bodyBytes = tx.bodyBytes();
+
+        assertThat(tx.cachedBytes()).isSameAs(signedBytes);
+        assertThat(tx.toBytes()).isNotSameAs(signedBytes).isEqualTo(signedBytes);
+
+        tx.addProof(signer);
+
+        assertThat(tx.bodyBytes()).isSameAs(bodyBytes);
+        assertThat(tx.cachedBytes()).isNotSameAs(signedBytes).isNotEqualTo(signedBytes);
+        assertThat(Transaction.fromBytes(tx.toBytes()).proofs()).hasSize(2);
+        assertThatThrownBy(() -> tx.proofs().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void sharedTransaction_isSerializedOnce() throws Exception {
+        Transaction tx = TransferTransaction
+                .builder(Alias.as("rich"), Amount.of(100))
+                .timestamp(1600000000000L)
+                .getSignedWith(PrivateKey.fromSeed("seed"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> results = IntStream.range(0, 16)
+                    .mapToObj(i -> executor.submit(tx::cachedBytes))
+                    .collect(Collectors.toList());
+            byte[] first = results.get(0).get();
+            for (Future<byte[]> result : results)
+                assertThat(result.get()).isSameAs(first);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
@@ -0,0 +1,112 @@
+package com.wavesplatform.transactions;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.data.IntegerEntry;
+import com.wavesplatform.transactions.data.StringEntry;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.invocation.Function;
+import com.wavesplatform.transactions.invocation.StringArg;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionViewTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static PrivateKey matcher = PrivateKey.fromSeed("matcher");
+    static AssetId assetId = AssetId.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk");
+
+    static List<Transaction> transactions() {
+        Order buy = Order.builder(OrderType.BUY, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .getSignedWith(signer);
+        Order sell = Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .getSignedWith(signer);
+        return Arrays.asList(
+                TransferTransaction.builder(signer.address(), Amount.of(1, assetId))
+                        .fee(Amount.of(5, assetId)).getSignedWith(signer).addProof(matcher),
+                TransferTransaction.builder(signer.address(), Amount.of(1)).version(2).getSignedWith(signer),
+                TransferTransaction.builder(signer.address(), Amount.of(1)).version(1).getSignedWith(signer),
+                DataTransaction.builder(IntegerEntry.as("int", 1), StringEntry.as("str", "value")).getSignedWith(signer),
+                ExchangeTransaction.builder(buy, sell, 20, 10, 1, 1).getSignedWith(matcher),
+                InvokeScriptTransaction.builder(signer.address(), Function.as("call", StringArg.as("arg")))
+                        .getSignedWith(signer),
+                UpdateAssetInfoTransaction.builder(assetId, "name", "description").getSignedWith(signer));
+    }
+
+    @Test
+    void viewHasFieldsOfTransaction() throws IOException {
+        for (Transaction tx : transactions()) {
+            TransactionView view = TransactionView.of(tx.toBytes());
+
+            assertThat(view.type()).isEqualTo(tx.type());
+            assertThat(view.version()).isEqualTo(tx.version());
+            assertThat(view.chainId()).isEqualTo(tx.chainId());
+            assertThat(view.timestamp()).isEqualTo(tx.timestamp());
+            assertThat(view.sender()).isEqualTo(tx.sender());
+            assertThat(view.fee()).isEqualTo(tx.fee());
+            assertThat(view.proofs()).isEqualTo(tx.proofs());
+            assertThat(view.bodyBytes()).isEqualTo(tx.bodyBytes());
+            assertThat(view.id()).isEqualTo(tx.id());
+            assertThat(view.toBytes()).isEqualTo(tx.toBytes());
+            assertThat(view.toTransaction()).isEqualTo(tx).isSameAs(view.toTransaction());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void viewOfProtobufGenesisAndPayment() throws IOException {
+        GenesisTransaction genesis = new GenesisTransaction(signer.address(), 100, 1600000000000L);
+        PaymentTransaction payment = new PaymentTransaction(signer.publicKey(), matcher.address(), 100,
+                Amount.of(PaymentTransaction.MIN_FEE), 1600000000000L, null).addProof(signer);
+
+        for (Transaction tx : Arrays.asList(genesis, payment)) {
+            TransactionView view = TransactionView.of(tx.toProtobuf());
+
+            assertThat(view.id()).isEqualTo(tx.id());
+            assertThat(view.sender()).isEqualTo(tx.sender());
+        }
+    }
+
+    @Test
+    void viewOfSlice() throws IOException {
+        Transaction tx = transactions().get(0);
+        byte[] bytes = new byte[tx.toBytes().length + 10];
+        System.arraycopy(tx.toBytes(), 0, bytes, 5, tx.toBytes().length);
+
+        TransactionView view = TransactionView.of(bytes, 5, tx.toBytes().length);
+
+        assertThat(view.id()).isEqualTo(tx.id());
+        assertThat(view.sender()).isEqualTo(tx.sender());
+        assertThat(view.proofs()).isEqualTo(tx.proofs());
+        assertThat(view.toTransaction()).isEqualTo(tx);
+    }
+
+    @Test
+    void viewOfParsedMessage() throws IOException {
+        Transaction tx = transactions().get(0);
+
+        TransactionView view = TransactionView.of(tx.toProtobuf());
+
+        assertThat(view.id()).isEqualTo(tx.id());
+        assertThat(view.toTransaction()).isEqualTo(tx);
+    }
+
+    @Test
+    void bytesWithoutTransactionAreRejected() {
+        byte[] proofOnly = {0x12, 1, 0x42};
+
+        assertThatThrownBy(() -> TransactionView.of(proofOnly))
+                .isInstanceOf(InvalidProtocolBufferException.class)
+                .hasMessage("Parsed bytes are not a Transaction");
+    }
+
+}
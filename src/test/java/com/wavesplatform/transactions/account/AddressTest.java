@@ -0,0 +1,102 @@
+package com.wavesplatform.transactions.account;
+
+import com.wavesplatform.crypto.Crypto;
+import com.wavesplatform.transactions.GenesisTransaction;
+import com.wavesplatform.transactions.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AddressTest {
+
+    static PublicKey publicKey = PrivateKey.fromSeed("seed").publicKey();
+    static byte[] publicKeyHash = Crypto.getPublicKeyHash(publicKey.bytes());
+
+    @AfterEach
+    void afterEach() {
+        Address.disableChecksumCache();
+        Address.disableDerivationCache();
+        Address.disableTrustedDecoding();
+    }
+
+    @Test
+    void generatedFromPublicKeyHash() {
+        assertThat(Address.fromPart((byte) 'T', publicKeyHash).bytes())
+                .isEqualTo(Crypto.getAddress((byte) 'T', publicKeyHash));
+        assertThat(Address.fromPart((byte) 'W', publicKeyHash)).isEqualTo(publicKey.address((byte) 'W'));
+    }
+
+    @Test
+    void checksumIsValidated() {
+        byte[] bytes = publicKey.address((byte) 'T').bytes().clone();
+        bytes[Address.BYTES_LENGTH - 1]++;
+
+        assertThatThrownBy(() -> Address.as(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Address has wrong checksum");
+        assertThat(Address.isValid(bytes)).isFalse();
+        assertThat(Address.asTrusted(bytes).bytes()).isEqualTo(bytes);
+        assertThatThrownBy(() -> Address.asTrusted(new byte[Address.BYTES_LENGTH]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Address has unknown version");
+    }
+
+    @Test
+    void decodedChecksumIsValidatedUnlessTrusted() throws IOException {
+        Address address = publicKey.address((byte) 'T');
+        byte[] genesis = new GenesisTransaction(address, 100, 1600000000000L).toBytes();
+        int checksumEnd = 1 + Long.BYTES + Address.BYTES_LENGTH;
+        genesis[checksumEnd - 1]++;
+
+        assertThatThrownBy(() -> Transaction.fromBytes(genesis))
+                .hasMessageContaining("Address has wrong checksum");
+
+        Address.enableTrustedDecoding();
+        GenesisTransaction decoded = (GenesisTransaction) Transaction.fromBytes(genesis);
+
+        assertThat(decoded.recipient().bytes())
+                .isEqualTo(Arrays.copyOfRange(genesis, checksumEnd - Address.BYTES_LENGTH, checksumEnd));
+        assertThat(Address.fromDecoded(address.bytes())).isEqualTo(address);
+    }
+
+    @Test
+    void checksumCache() {
+        Address.enableChecksumCache(10);
+        Address address = publicKey.address((byte) 'T');
+        byte[] invalid = address.bytes().clone();
+        invalid[Address.BYTES_LENGTH - 1]++;
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(Address.fromPart((byte) 'T', publicKeyHash)).isEqualTo(address);
+            assertThat(Address.isValid(address.bytes().clone())).isTrue();
+            assertThat(Address.isValid(invalid)).isFalse();
+        }
+    }
+
+    @Test
+    void publicKeyKeepsDerivedAddress() {
+        PublicKey key = PublicKey.as(publicKey.bytes().clone());
+        Address testnet = key.address((byte) 'T');
+
+        assertThat(key.address((byte) 'T')).isSameAs(testnet);
+        assertThat(key.address((byte) 'W')).isEqualTo(Address.fromPart((byte) 'W', publicKeyHash));
+        assertThat(key.address((byte) 'T')).isEqualTo(testnet);
+    }
+
+    @Test
+    void derivationCache() {
+        Address.enableDerivationCache(10);
+        Address address = Address.from((byte) 'T', publicKey);
+
+        assertThat(Address.from((byte) 'T', new PublicKey(publicKey.bytes()))).isSameAs(address);
+        assertThat(Address.from((byte) 'W', new PublicKey(publicKey.bytes())))
+                .isEqualTo(Address.fromPart((byte) 'W', publicKeyHash));
+        assertThat(address.bytes()).isEqualTo(Crypto.getAddress((byte) 'T', publicKeyHash));
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.wavesplatform.transactions.common;
+
+import com.wavesplatform.crypto.Bytes;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AliasTest {
+
+    static final byte CHAIN_ID = 'T';
+
+    @Test
+    void validation() {
+        assertThat(Alias.isValid(CHAIN_ID, "-.0123456789@_abcdefghijklmnop")).isTrue();
+        assertThat(Alias.isValid(CHAIN_ID, "qrstuvwxyz")).isTrue();
+        assertThat(Alias.isValid(CHAIN_ID, "alias:T:name")).isTrue();
+        assertThat(Alias.isValid(CHAIN_ID, "alias:W:name")).isFalse();
+        assertThat(Alias.isValid(CHAIN_ID, "alias:T:")).isFalse();
+        assertThat(Alias.isValid(CHAIN_ID, "abc")).isFalse();
+        assertThat(Alias.isValid(CHAIN_ID, "a234567890123456789012345678901")).isFalse();
+        assertThat(Alias.isValid(CHAIN_ID, "Name")).isFalse();
+        assertThat(Alias.isValid(CHAIN_ID, "name!")).isFalse();
+        assertThat(Alias.isValid(CHAIN_ID, "nameé")).isFalse();
+    }
+
+    @Test
+    void createdFromNameOrFullAlias() {
+        Alias alias = Alias.as(CHAIN_ID, "name");
+
+        assertThat(alias.name()).isEqualTo("name");
+        assertThat(alias.chainId()).isEqualTo(CHAIN_ID);
+        assertThat(alias.toString()).isEqualTo("alias:T:name");
+        assertThat(alias.bytes()).isEqualTo(Bytes.concat(
+                Bytes.of(Alias.TYPE, CHAIN_ID), Bytes.toSizedByteArray("name".getBytes(UTF_8))));
+        assertThat(Alias.as(CHAIN_ID, "alias:T:name")).isEqualTo(alias);
+        assertThat(Alias.as(CHAIN_ID, "name".getBytes(UTF_8))).isEqualTo(alias);
+    }
+
+    @Test
+    void invalidAlias() {
+        assertThatThrownBy(() -> Alias.as(CHAIN_ID, "alias:W:name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageEndingWith("may have a prefix 'alias:T:', but actual is 'alias:W:name'");
+        assertThatThrownBy(() -> Alias.as(CHAIN_ID, "NAME".getBytes(UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Alias.as(CHAIN_ID, new byte[]{'n', 'a', 'm', (byte) 0xE9}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.wavesplatform.transactions.common;
+
+import com.wavesplatform.crypto.base.Base58;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class Base58CodecTest {
+
+    @Test
+    void compatibleWithCryptoLibrary() {
+        Random random = new Random(42);
+        for (int length = 0; length <= 160; length++)
+            for (int zeros = 0; zeros <= Math.min(length, 3); zeros++)
+                for (int i = 0; i < 5; i++) {
+                    byte[] bytes = new byte[length];
+                    random.nextBytes(bytes);
+                    Arrays.fill(bytes, 0, zeros, (byte) 0);
+                    if (i == 0)
+                        Arrays.fill(bytes, zeros, length, (byte) 0xFF);
+
+                    String expected = Base58.encode(bytes);
+                    assertThat(Base58Codec.encode(bytes)).isEqualTo(expected);
+                    assertThat(Base58Codec.decode(expected)).isEqualTo(Base58.decode(expected));
+                    assertThat(Base58Codec.decode("base58:" + expected)).isEqualTo(bytes);
+                }
+    }
+
+    @Test
+    void encodesIntoCallerBuffers() {
+        byte[] bytes = Base58.decode("3P8JdJGYc7vaLu4UXUZc1iRLdzrkGtdCyJM");
+        String expected = "3P8JdJGYc7vaLu4UXUZc1iRLdzrkGtdCyJM";
+
+        char[] chars = new char[Base58Codec.maxEncodedLength(bytes.length) + 2];
+        int length = Base58Codec.encode(bytes, 0, bytes.length, chars, 2);
+        assertThat(new String(chars, 2, length)).isEqualTo(expected);
+
+        StringBuilder sb = new StringBuilder("address:");
+        Base58Codec.encode(bytes, 0, bytes.length, sb);
+        assertThat(sb.toString()).isEqualTo("address:" + expected);
+    }
+
+    @Test
+    void decodesIntoCallerBuffers() {
+        String encoded = "1" + Base58.encode(new byte[]{1, 2, 3});
+
+        byte[] dest = new byte[6];
+        assertThat(Base58Codec.decode(encoded, dest, 2)).isEqualTo(4);
+        assertThat(dest).containsExactly(0, 0, 0, 1, 2, 3);
+
+        ByteBuffer buffer = ByteBuffer.allocate(5).put((byte) 9);
+        assertThat(Base58Codec.decode(new StringBuilder(encoded), buffer)).isEqualTo(4);
+        assertThat(buffer.array()).containsExactly(9, 0, 1, 2, 3);
+
+        assertThatThrownBy(() -> Base58Codec.decode(encoded, new byte[3], 0))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> Base58Codec.decode(encoded, ByteBuffer.allocate(3)))
+                .isInstanceOf(BufferOverflowException.class);
+    }
+
+    @Test
+    void rejectsIllegalCharacters() {
+        assertThatThrownBy(() -> Base58Codec.decode("3P0"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Illegal character \"0\" at position 2");
+        assertThatThrownBy(() -> Base58Codec.decode("3Pж"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base58Codec.decode(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
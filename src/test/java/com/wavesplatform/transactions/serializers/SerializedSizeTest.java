@@ -0,0 +1,145 @@
+package com.wavesplatform.transactions.serializers;
+
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.Address;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.*;
+import com.wavesplatform.transactions.data.*;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.invocation.*;
+import com.wavesplatform.transactions.mass.Transfer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SerializedSizeTest {
+
+    static final byte CHAIN_ID = 'T';
+    static final long TIMESTAMP = 1600000000000L;
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static PrivateKey matcher = PrivateKey.fromSeed("matcher");
+    static AssetId assetId = AssetId.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk");
+    static Address address = Address.from(CHAIN_ID, signer.publicKey());
+    static Alias alias = Alias.as(CHAIN_ID, "some_alias");
+    static Base64String script = new Base64String(new byte[]{1, 2, 3, 4, 5});
+    static Base58String attachment = new Base58String(new byte[]{9, 8, 7});
+    static List<DataEntry> data = Arrays.asList(
+            IntegerEntry.as("int", -1),
+            BooleanEntry.as("bool", false),
+            BinaryEntry.as("bin", new byte[200]),
+            StringEntry.as("ключ", "значение 😀 \uD800"),
+            IntegerEntry.as("", 0));
+
+    @SuppressWarnings("deprecation")
+    static Stream<TransactionOrOrder> transactionsAndOrders() {
+        List<TransactionOrOrder> items = new ArrayList<>();
+        for (int v = 1; v <= 4; v++)
+            items.add(order(OrderType.SELL, v));
+        items.add(order(OrderType.BUY, 4));
+
+        items.add(new GenesisTransaction(address, 100, TIMESTAMP));
+        items.add(new PaymentTransaction(signer.publicKey(), address, 100, Amount.of(100000), TIMESTAMP, null)
+                .addProof(signer));
+
+        for (int v = 1; v <= 3; v++) {
+            items.add(sign(IssueTransaction.builder("asset", 1000, 2).description("описание").script(v > 1 ? script : null), v));
+            items.add(sign(TransferTransaction.builder(address, Amount.of(10, assetId)).attachment(attachment), v));
+            items.add(sign(TransferTransaction.builder(alias, Amount.of(0)).fee(Amount.of(500, assetId)), v));
+            items.add(sign(ReissueTransaction.builder(Amount.of(10, assetId)).reissuable(true), v));
+            items.add(sign(BurnTransaction.builder(Amount.of(10, assetId)), v));
+            items.add(sign(LeaseTransaction.builder(alias, 10), v));
+            items.add(sign(LeaseCancelTransaction.builder(Id.as(assetId.bytes())), v));
+            items.add(sign(CreateAliasTransaction.builder("alias"), v));
+        }
+        items.add(sign(ExchangeTransaction.builder(order(OrderType.BUY, 1), order(OrderType.SELL, 1), 10, 20, 1, 2), 1, matcher));
+        items.add(sign(ExchangeTransaction.builder(order(OrderType.BUY, 1), order(OrderType.SELL, 3), 10, 20, 1, 2), 2, matcher));
+        items.add(sign(ExchangeTransaction.builder(order(OrderType.BUY, 3), order(OrderType.SELL, 4), 10, 20, 0, 2), 3, matcher));
+
+        for (int v = 1; v <= 2; v++) {
+            items.add(sign(MassTransferTransaction.builder(Transfer.to(address, 1), Transfer.to(alias, 0))
+                    .assetId(assetId).attachment(attachment), v));
+            items.add(sign(MassTransferTransaction.builder(new ArrayList<>()), v));
+            items.add(sign(DataTransaction.builder(v == 1 ? data.subList(0, 4) : data), v));
+            items.add(sign(SetScriptTransaction.builder(script), v));
+            items.add(sign(SetScriptTransaction.builder(null), v));
+            items.add(sign(SponsorFeeTransaction.builder(assetId, 5), v));
+            items.add(sign(SetAssetScriptTransaction.builder(assetId, script), v));
+            items.add(sign(InvokeScriptTransaction.builder(address, Function.asDefault()), v));
+            items.add(sign(InvokeScriptTransaction.builder(alias, Function.as("фунция",
+                    IntegerArg.as(1), BinaryArg.as(new byte[]{1, 2}), StringArg.as("str"), BooleanArg.as(true),
+                    ListArg.as(IntegerArg.as(2), StringArg.as("ё"))))
+                    .payments(Amount.of(1), Amount.of(2, assetId)), v));
+        }
+        items.add(sign(UpdateAssetInfoTransaction.builder(assetId, "name", "описание"), 1));
+        return items.stream();
+    }
+
+    static Order order(OrderType type, int version) {
+        return Order.builder(type, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .version(version)
+                .chainId(CHAIN_ID)
+                .timestamp(TIMESTAMP)
+                .fee(Amount.of(300000, version == 3 || version == 4 ? assetId : AssetId.WAVES))
+                .getSignedWith(signer);
+    }
+
+    static <TX extends Transaction> TX sign(Transaction.TransactionBuilder<?, TX> builder, int version) {
+        return sign(builder, version, signer);
+    }
+
+    static <TX extends Transaction> TX sign(Transaction.TransactionBuilder<?, TX> builder, int version, PrivateKey signer) {
+        return builder.version(version).chainId(CHAIN_ID).timestamp(TIMESTAMP).getSignedWith(signer);
+    }
+
+    @ParameterizedTest
+    @MethodSource("transactionsAndOrders")
+    void sizesOfBinaryFormat(TransactionOrOrder txOrOrder) {
+        assertThat(SerializedSize.bodySize(txOrOrder)).isEqualTo(txOrOrder.bodyBytes().length);
+        assertThat(SerializedSize.size(txOrOrder)).isEqualTo(txOrOrder.toBytes().length);
+    }
+
+    @ParameterizedTest
+    @MethodSource("transactionsAndOrders")
+    void sizesOfProtobufOfAnyVersion(TransactionOrOrder txOrOrder) {
+        if (txOrOrder instanceof Order) {
+            Order order = (Order) txOrOrder;
+            assertThat(SerializedSize.protobufBodySize(order))
+                    .isEqualTo(ProtobufConverter.toUnsignedProtobuf(order).getSerializedSize());
+            assertThat(SerializedSize.protobufSize(order))
+                    .isEqualTo(ProtobufConverter.toProtobuf(order).getSerializedSize());
+        } else {
+            Transaction tx = (Transaction) txOrOrder;
+            assertThat(SerializedSize.protobufBodySize(tx))
+                    .isEqualTo(ProtobufConverter.toUnsignedProtobuf(tx).getSerializedSize());
+            assertThat(SerializedSize.protobufSize(tx))
+                    .isEqualTo(ProtobufConverter.toProtobuf(tx).getSerializedSize());
+        }
+    }
+
+    @Test
+    void dataFeeDependsOnPayloadSize() {
+        List<DataEntry> entries = IntStream.range(0, 30)
+                .mapToObj(i -> BinaryEntry.as("key" + i, new byte[100]))
+                .collect(toList());
+        DataTransaction v1 = DataTransaction.builder(entries).version(1).getSignedWith(signer);
+        DataTransaction v2 = DataTransaction.builder(entries).version(2).getSignedWith(signer);
+
+        assertThat(SerializedSize.dataPayloadSize(entries, 1)).isEqualTo(v1.bodyBytes().length);
+        assertThat(SerializedSize.dataPayloadSize(entries, 2))
+                .isEqualTo(v2.toProtobuf().getTransaction().getDataTransaction().getSerializedSize());
+        assertThat(v1.fee()).isEqualTo(Amount.of(DataTransaction.MIN_FEE * 4));
+        assertThat(v2.fee()).isEqualTo(Amount.of(DataTransaction.MIN_FEE * 4));
+        assertThat(DataTransaction.builder().getSignedWith(signer).fee()).isEqualTo(Amount.of(DataTransaction.MIN_FEE));
+    }
+
+}
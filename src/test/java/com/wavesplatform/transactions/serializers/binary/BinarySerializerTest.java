@@ -0,0 +1,141 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.transactions.CreateAliasTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransactionOrOrder;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.common.AssetId;
+import com.wavesplatform.transactions.exchange.Order;
+import com.wavesplatform.transactions.exchange.OrderType;
+import com.wavesplatform.transactions.serializers.ProtobufConverter;
+import com.wavesplatform.transactions.serializers.Scheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BinarySerializerTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+    static PrivateKey matcher = PrivateKey.fromSeed("matcher");
+    static AssetId assetId = AssetId.as("2wBMrTzvncodBbNiXaXju4Z9QpdCFtMp9ZoCRrykk9Dk");
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3})
+    void recognizesSchemeOfCreateAlias(int version) throws IOException {
+        CreateAliasTransaction tx = CreateAliasTransaction.builder("alias")
+                .version(version)
+                .chainId((byte) 'T')
+                .timestamp(1600000000000L)
+                .getSignedWith(signer);
+        byte[] bytes = tx.toBytes();
+
+        assertThat(BinarySerializer.schemeOfTransaction(ByteBuffer.wrap(bytes))).isEqualTo(Scheme.of(tx));
+        assertThat(Transaction.fromBytes(bytes)).isEqualTo(tx);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4})
+    void recognizesSchemeOfOrder(int version) throws IOException {
+        Order order = Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .version(version)
+                .chainId((byte) 'T')
+                .timestamp(1600000000000L)
+                .getSignedWith(signer);
+        byte[] bytes = order.toBytes();
+
+        assertThat(BinarySerializer.schemeOfOrder(ByteBuffer.wrap(bytes))).isEqualTo(Scheme.of(order));
+        assertThat(Order.fromBytes(bytes)).isEqualTo(order);
+        if (version < 4)
+            assertThat(Order.fromLegacyBytes(bytes)).isEqualTo(order);
+        else
+            assertThat(Order.fromProtobufBytes(bytes)).isEqualTo(order);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4})
+    void writesBodyBytesIntoBuffer(int version) {
+        Order order = Order.builder(OrderType.BUY, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .version(version)
+                .getSignedWith(signer);
+        TransferTransaction tx = TransferTransaction.builder(signer.address(), Amount.of(1))
+                .version(version < 4 ? version : TransferTransaction.LATEST_VERSION)
+                .getSignedWith(signer);
+
+        for (TransactionOrOrder txOrOrder : new TransactionOrOrder[]{order, tx})
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(1024), ByteBuffer.allocateDirect(1024),
+                    ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN)}) {
+                byte[] expected = txOrOrder.bodyBytes();
+                buffer.position(3);
+
+                assertThat(BinarySerializer.writeBodyBytes(txOrOrder, buffer)).isEqualTo(expected.length);
+                assertThat(buffer.position()).isEqualTo(3 + expected.length);
+
+                byte[] written = new byte[expected.length];
+                ((ByteBuffer) buffer.flip().position(3)).get(written);
+                assertThat(written).isEqualTo(expected);
+
+                ByteBuffer small = ByteBuffer.allocate(expected.length - 1);
+                assertThatThrownBy(() -> BinarySerializer.writeBodyBytes(txOrOrder, small))
+                        .isInstanceOf(BufferOverflowException.class);
+                assertThat(small.position()).isZero();
+            }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4})
+    void writesBytesIntoBuffer(int version) {
+        Order order = Order.builder(OrderType.BUY, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .version(version)
+                .getSignedWith(signer);
+        TransferTransaction tx = TransferTransaction.builder(signer.address(), Amount.of(1))
+                .version(version < 4 ? version : TransferTransaction.LATEST_VERSION)
+                .getSignedWith(signer);
+
+        for (TransactionOrOrder txOrOrder : new TransactionOrOrder[]{order, version > 1 ? tx.addProof(matcher) : tx}) {
+            byte[] expected = txOrOrder.toBytes();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+            buffer.position(3);
+
+            assertThat(BinarySerializer.writeBytes(txOrOrder, buffer)).isEqualTo(expected.length);
+            assertThat(buffer.position()).isEqualTo(3 + expected.length);
+
+            byte[] written = new byte[expected.length];
+            ((ByteBuffer) buffer.flip().position(3)).get(written);
+            assertThat(written).isEqualTo(expected);
+
+            ByteBuffer small = ByteBuffer.allocate(expected.length - 1);
+            assertThatThrownBy(() -> BinarySerializer.writeBytes(txOrOrder, small))
+                    .isInstanceOf(BufferOverflowException.class);
+            assertThat(small.position()).isZero();
+        }
+    }
+
+    @Test
+    void protobufBytesAreEqualToSignedMessage() {
+        Order order = Order.builder(OrderType.SELL, Amount.of(20, assetId), Amount.of(10), matcher.publicKey())
+                .version(Order.LATEST_VERSION)
+                .getSignedWith(signer)
+                .addProof(matcher);
+        TransferTransaction tx = TransferTransaction.builder(signer.address(), Amount.of(1))
+                .getSignedWith(signer)
+                .addProof(matcher);
+        TransferTransaction unsigned = TransferTransaction.builder(signer.address(), Amount.of(1))
+                .sender(signer.publicKey())
+                .getUnsigned();
+
+        assertThat(order.toBytes()).isEqualTo(ProtobufConverter.toProtobuf(order).toByteArray());
+        assertThat(tx.toBytes()).isEqualTo(ProtobufConverter.toProtobuf(tx).toByteArray());
+        assertThat(unsigned.toBytes()).isEqualTo(ProtobufConverter.toProtobuf(unsigned).toByteArray());
+    }
+
+}
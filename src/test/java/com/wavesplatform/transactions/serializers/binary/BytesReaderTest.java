@@ -0,0 +1,78 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BytesReaderTest {
+
+    @Test
+    void readsPrimitivesFromDirectBuffer() {
+        byte[] bytes = new BytesWriter()
+                .writeShort((short) -2)
+                .writeInt(Integer.MIN_VALUE)
+                .writeLong(Long.MAX_VALUE)
+                .writeArrayWithLength("тест".getBytes(UTF_8))
+                .getBytes();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+
+        BytesReader reader = new BytesReader(direct);
+
+        assertThat(reader.readShort()).isEqualTo((short) -2);
+        assertThat(reader.readInt()).isEqualTo(Integer.MIN_VALUE);
+        assertThat(reader.readLong()).isEqualTo(Long.MAX_VALUE);
+        assertThat(reader.readStringWithLength()).isEqualTo("тест");
+        assertThat(reader.hasNext()).isFalse();
+        assertThat(direct.position()).isZero();
+    }
+
+    @Test
+    void sliceSharesBytesAndMovesPosition() {
+        BytesReader reader = new BytesReader(new byte[]{1, 2, 3, 4, 5});
+        reader.skip(1);
+
+        BytesReader slice = reader.slice(2);
+
+        assertThat(slice.length()).isEqualTo(2);
+        assertThat(slice.readBytes(2)).containsExactly(2, 3);
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(reader.readByte()).isEqualTo((byte) 4);
+        assertThat(reader.rest()).isEqualTo(1);
+    }
+
+    @Test
+    void readBeyondEnd_throwsIllegalArgument() {
+        BytesReader reader = new BytesReader(new byte[]{1, 2, 3});
+
+        assertThatThrownBy(reader::readInt).isInstanceOf(IllegalArgumentException.class);
+        assertThat(reader.rest()).isEqualTo(3);
+    }
+
+    @Test
+    void transactionFromBufferWithOffset() throws IOException {
+        PrivateKey signer = PrivateKey.fromSeed("seed");
+        TransferTransaction tx = TransferTransaction.builder(Alias.as((byte) 'T', "alias"), Amount.of(1))
+                .version(2)
+                .chainId((byte) 'T')
+                .timestamp(1600000000000L)
+                .getSignedWith(signer);
+        byte[] txBytes = tx.toBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(txBytes.length + 3);
+        buffer.position(3);
+        buffer.put(txBytes).position(3);
+
+        assertThat(Transaction.fromBytes(buffer)).isEqualTo(tx);
+    }
+
+}
@@ -17,4 +17,48 @@ public class BytesWriterTest {
                 .writeArguments(Collections.singletonList(emojiArg))
                 .getBytes()).containsExactly(0, 0, 0, 1, 2, 0, 0, 0, 4, -16, -97, -97, -95);
     }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        BytesWriter writer = BytesWriter.withCapacity(1)
+                .write((byte) 1)
+                .writeShort((short) 0x0203)
+                .writeInt(0x04050607)
+                .writeLong(0x08090A0B0C0D0E0FL);
+
+        assertThat(writer.size()).isEqualTo(15);
+        assertThat(writer.capacity()).isGreaterThanOrEqualTo(15);
+        assertThat(writer.getBytes()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15);
+    }
+
+    @Test
+    void sizeConstructorWritesZeroPrefix() {
+        assertThat(new BytesWriter(3).write((byte) 1).getBytes()).containsExactly(0, 0, 0, 1);
+        assertThat(new BytesWriter(300).size()).isEqualTo(300);
+    }
+
+    @Test
+    void resetKeepsBuffer() {
+        BytesWriter writer = BytesWriter.withCapacity(4).writeLong(Long.MAX_VALUE);
+        int capacity = writer.capacity();
+
+        writer.reset().write((byte) 42);
+
+        assertThat(writer.capacity()).isEqualTo(capacity);
+        assertThat(writer.getBytes()).containsExactly(42);
+    }
+
+    @Test
+    void pooledWriterIsReusedOnlyAfterRelease() {
+        BytesWriter first = BytesWriter.pooled().writeInt(1);
+        BytesWriter nested = BytesWriter.pooled();
+        assertThat(nested).isNotSameAs(first);
+        nested.release();
+        first.release();
+
+        BytesWriter reused = BytesWriter.pooled();
+        assertThat(reused).isSameAs(first);
+        assertThat(reused.size()).isZero();
+        reused.release();
+    }
 }
@@ -0,0 +1,116 @@
+package com.wavesplatform.transactions.serializers.binary;
+
+import com.wavesplatform.transactions.DataTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.data.BinaryEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionDecoderTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static List<Transaction> transactions = Arrays.asList(
+                transfer(2),
+                transfer(3),
+                DataTransaction.builder(BinaryEntry.as("big", new byte[20_000]))
+                        .chainId((byte) 'T')
+                        .timestamp(1600000000000L)
+                        .getSignedWith(signer),
+                transfer(1));
+
+    static Transaction transfer(int version) {
+        return TransferTransaction.builder(Alias.as((byte) 'T', "alias"), Amount.of(version))
+                .version(version)
+                .chainId((byte) 'T')
+                .timestamp(1600000000000L)
+                .getSignedWith(signer);
+    }
+
+    @Test
+    void decodesLengthPrefixedLegacyAndProtobufTransactions() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        for (Transaction tx : transactions) {
+            data.writeInt(tx.toBytes().length);
+            data.write(tx.toBytes());
+        }
+
+        try (Stream<Transaction> decoded = TransactionDecoder.lengthPrefixed(new ByteArrayInputStream(out.toByteArray())).stream()) {
+            assertThat(decoded.collect(Collectors.toList())).isEqualTo(transactions);
+        }
+    }
+
+    @Test
+    void decodesDelimitedProtobufTransactions() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Transaction> protobufTxs = Arrays.asList(transfer(3), transactions.get(2), transfer(3));
+        for (Transaction tx : protobufTxs)
+            tx.toProtobuf().writeDelimitedTo(out);
+
+        TransactionDecoder decoder = TransactionDecoder.delimited(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+
+        assertThat(decoder).toIterable().containsExactlyElementsOf(protobufTxs);
+        assertThat(decoder.hasNext()).isFalse();
+    }
+
+    @Test
+    void truncatedStream_throwsUncheckedIO() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] txBytes = transfer(3).toBytes();
+        new DataOutputStream(out).writeInt(txBytes.length);
+        out.write(txBytes, 0, txBytes.length - 1);
+
+        TransactionDecoder decoder = TransactionDecoder.lengthPrefixed(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThatThrownBy(decoder::hasNext).isInstanceOf(UncheckedIOException.class);
+        assertThat(decoder.hasNext()).isFalse();
+    }
+
+    @Test
+    void corruptedLegacyTransaction_throwsUncheckedIO() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(20);
+        data.write(transfer(2).toBytes(), 0, 20);
+        data.writeInt(transfer(3).toBytes().length);
+        data.write(transfer(3).toBytes());
+
+        TransactionDecoder decoder = TransactionDecoder.lengthPrefixed(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThatThrownBy(decoder::hasNext)
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(decoder.hasNext()).isFalse();
+    }
+
+    @Test
+    void transactionOverMaxSize_throwsUncheckedIO() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DataOutputStream(out).writeInt(1000);
+        out.write(new byte[1000]);
+
+        TransactionDecoder decoder = new TransactionDecoder(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())),
+                TransactionDecoder.Framing.LENGTH_PREFIXED, 999);
+
+        assertThatThrownBy(decoder::next).isInstanceOf(UncheckedIOException.class);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.wavesplatform.transactions.serializers.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wavesplatform.transactions.*;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Alias;
+import com.wavesplatform.transactions.common.Amount;
+import com.wavesplatform.transactions.data.IntegerEntry;
+import com.wavesplatform.transactions.exchange.Order;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonSerializerTest {
+
+    static PrivateKey signer = PrivateKey.fromSeed("seed");
+
+    static List<TransactionOrOrder> txsOrOrders = Arrays.asList(
+            TransferTransaction.builder(Alias.as("rich"), Amount.of(100)).version(1).getSignedWith(signer),
+            DataTransaction.builder(IntegerEntry.as("int", 1)).getSignedWith(signer),
+            Order.sell(Amount.of(1), Amount.of(2), signer.publicKey()).getSignedWith(signer));
+
+    @Test
+    void writesArrayToStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonSerializer.writeJsonArray(out, txsOrOrders);
+        out.write(' ');
+
+        JsonNode array = JsonSerializer.JSON_MAPPER.readTree(new String(out.toByteArray(), UTF_8));
+        assertThat(array.size()).isEqualTo(txsOrOrders.size());
+        for (int i = 0; i < txsOrOrders.size(); i++)
+            assertThat(array.get(i).toString()).isEqualTo(txsOrOrders.get(i).toJson());
+    }
+
+    @Test
+    void writesObjectToWriter() throws IOException {
+        Transaction tx = (Transaction) txsOrOrders.get(0);
+        StringWriter writer = new StringWriter();
+
+        JsonSerializer.writeJson(writer, tx);
+
+        assertThat(writer.toString()).isEqualTo(tx.toJson());
+        assertThat(JsonSerializer.fromJson(writer.toString())).isEqualTo(tx);
+        assertThat(JsonSerializer.toJsonObject(tx).get("signature").asText()).isEqualTo(tx.proofs().get(0).toString());
+    }
+
+    @Test
+    void readsFieldsInAnyOrder() throws IOException {
+        for (TransactionOrOrder txOrOrder : txsOrOrders) {
+            ObjectNode json = (ObjectNode) JsonSerializer.toJsonObject(txOrOrder);
+            ObjectNode reversed = JsonSerializer.JSON_MAPPER.createObjectNode();
+            List<String> names = new ArrayList<>();
+            json.fieldNames().forEachRemaining(names::add);
+            for (int i = names.size() - 1; i >= 0; i--)
+                reversed.set(names.get(i), json.get(names.get(i)));
+            reversed.put("unknown", "ignored").putObject("unknownObject").putArray("nested").add(1);
+
+            if (txOrOrder instanceof Order)
+                assertThat(JsonSerializer.orderFromJson(reversed.toString())).isEqualTo(txOrOrder);
+            else
+                assertThat(JsonSerializer.fromJson(reversed.toString())).isEqualTo(txOrOrder);
+        }
+    }
+
+    @Test
+    void readsArrayOfTransactionsFromStream() throws IOException {
+        List<Transaction> txs = txsOrOrders.stream()
+                .filter(t -> t instanceof Transaction)
+                .map(t -> (Transaction) t)
+                .collect(Collectors.toList());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonSerializer.writeJsonArray(out, txs);
+
+        try (JsonTransactionReader reader = new JsonTransactionReader(new ByteArrayInputStream(out.toByteArray()))) {
+            Iterator<Transaction> expected = txs.iterator();
+            while (reader.hasNext())
+                assertThat(reader.next()).isEqualTo(expected.next());
+            assertThat(expected.hasNext()).isFalse();
+        }
+
+        try (Stream<Transaction> stream = new JsonTransactionReader(new ByteArrayInputStream("[]".getBytes(UTF_8))).stream()) {
+            assertThat(stream.count()).isZero();
+        }
+    }
+
+    @Test
+    void deserializesTransactionsWithModule() throws IOException {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new WavesTransactionsModule());
+        Transaction tx = (Transaction) txsOrOrders.get(1);
+
+        List<Transaction> txs = mapper.readValue("[" + tx.toJson() + "," + tx.toJson() + "]",
+                new TypeReference<List<Transaction>>() {});
+
+        assertThat(txs).containsExactly(tx, tx);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.wavesplatform.transactions.store;
+
+import com.wavesplatform.transactions.GenesisTransaction;
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.TransferTransaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Amount;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactions shared by the tests of the transaction storages.
+ */
+class StoreFixture {
+
+    static final PrivateKey alice = PrivateKey.fromSeed("alice");
+    static final PrivateKey bob = PrivateKey.fromSeed("bob");
+
+    /**
+     * @param count count of transactions
+     * @return genesis followed by legacy and protobuf transfers sent by both alice and bob.
+     * Lists of the same count are equal
+     */
+    static List<Transaction> transactions(int count) {
+        List<Transaction> txs = new ArrayList<>();
+        txs.add(new GenesisTransaction(alice.address(), 100, 1600000000000L));
+        for (int i = 1; i < count; i++)
+            txs.add(TransferTransaction.builder(bob.address(), Amount.of(i))
+                    .version(i % 2 == 0 ? 3 : 2)
+                    .timestamp(1600000000000L)
+                    .getSignedWith(i % 3 == 0 ? bob : alice));
+        return txs;
+    }
+
+}
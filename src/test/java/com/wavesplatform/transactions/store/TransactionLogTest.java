@@ -0,0 +1,195 @@
+package com.wavesplatform.transactions.store;
+
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.account.PrivateKey;
+import com.wavesplatform.transactions.common.Id;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static com.wavesplatform.transactions.store.StoreFixture.alice;
+import static com.wavesplatform.transactions.store.StoreFixture.bob;
+import static com.wavesplatform.transactions.store.StoreFixture.transactions;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionLogTest {
+
+    @TempDir
+    Path directory;
+
+    static List<Transaction> decode(List<ByteBuffer> records) throws IOException {
+        List<Transaction> txs = new ArrayList<>();
+        for (ByteBuffer record : records)
+            txs.add(Transaction.fromBytes(record));
+        return txs;
+    }
+
+    static List<Transaction> decode(Iterator<ByteBuffer> records) throws IOException {
+        List<ByteBuffer> list = new ArrayList<>();
+        records.forEachRemaining(list::add);
+        return decode(list);
+    }
+
+    static List<Transaction> sentBy(List<Transaction> txs, PrivateKey sender) {
+        return txs.stream().filter(tx -> tx.sender().equals(sender.publicKey())).collect(Collectors.toList());
+    }
+
+    @Test
+    void findsTransactionsInSealedAndActiveSegments() throws IOException {
+        List<Transaction> txs = transactions(300);
+        try (TransactionLog log = TransactionLog.open(directory, 8 * 1024)) {
+            for (Transaction tx : txs)
+                log.append(tx);
+
+            assertThat(log.size()).isEqualTo(txs.size());
+            for (Transaction tx : txs)
+                assertThat(log.get(tx.id())).isEqualTo(tx);
+            assertThat(log.find(Id.as(new byte[Id.BYTE_LENGTH]))).isNull();
+            assertThat(decode(log.findBySender(alice.address()))).isEqualTo(sentBy(txs, alice));
+            assertThat(decode(log.findBySender(bob.publicKey()))).isEqualTo(sentBy(txs, bob));
+            assertThat(decode(log.records())).isEqualTo(txs);
+
+            log.append(txs.get(0));
+            assertThat(log.size()).isEqualTo(txs.size() + 1);
+            assertThat(log.get(txs.get(0).id())).isEqualTo(txs.get(0));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.filter(f -> f.toString().endsWith(".ids")).count()).isGreaterThan(1);
+        }
+    }
+
+    @Test
+    void reopensLogAndRebuildsMissingIndexes() throws IOException {
+        List<Transaction> txs = transactions(200);
+        try (TransactionLog log = TransactionLog.open(directory, 8 * 1024)) {
+            for (Transaction tx : txs.subList(0, 150))
+                log.append(tx);
+        }
+        Files.delete(directory.resolve(String.format("%020d.ids", 0)));
+
+        try (TransactionLog log = TransactionLog.open(directory, 8 * 1024)) {
+            for (Transaction tx : txs.subList(150, 200))
+                log.append(tx);
+
+            assertThat(log.size()).isEqualTo(txs.size());
+            assertThat(log.get(txs.get(0).id())).isEqualTo(txs.get(0));
+            assertThat(log.get(txs.get(199).id())).isEqualTo(txs.get(199));
+            assertThat(decode(log.findBySender(alice.publicKey()))).isEqualTo(sentBy(txs, alice));
+            assertThat(decode(log.records())).isEqualTo(txs);
+        }
+    }
+
+    @Test
+    void truncatesPartialRecord() throws IOException {
+        List<Transaction> txs = transactions(20);
+        Path segment = directory.resolve(String.format("%020d.log", 0));
+        try (TransactionLog log = TransactionLog.open(directory)) {
+            for (Transaction tx : txs)
+                log.append(tx);
+        }
+        long size = Files.size(segment);
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            file.truncate(size - 5);
+        }
+
+        try (TransactionLog log = TransactionLog.open(directory)) {
+            assertThat(log.size()).isEqualTo(txs.size() - 1);
+            assertThat(log.find(txs.get(txs.size() - 1).id())).isNull();
+
+            log.append(txs.get(txs.size() - 1));
+            assertThat(decode(log.records())).isEqualTo(txs);
+        }
+    }
+
+    @Test
+    void truncatesRecordWithWrongChecksum() throws IOException {
+        List<Transaction> txs = transactions(20);
+        Path segment = directory.resolve(String.format("%020d.log", 0));
+        try (TransactionLog log = TransactionLog.open(directory)) {
+            for (Transaction tx : txs)
+                log.append(tx);
+        }
+        long size = Files.size(segment);
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            file.read(lastByte, size - 1);
+            lastByte.put(0, (byte) (lastByte.get(0) + 1)).rewind();
+            file.write(lastByte, size - 1);
+        }
+
+        try (TransactionLog log = TransactionLog.open(directory)) {
+            assertThat(log.size()).isEqualTo(txs.size() - 1);
+            assertThat(decode(log.records())).isEqualTo(txs.subList(0, txs.size() - 1));
+        }
+    }
+
+    @Test
+    void failsToOpenIfRecordWithCorrectChecksumIsNotTransaction() throws IOException {
+        Path segment = directory.resolve(String.format("%020d.log", 0));
+        try (TransactionLog log = TransactionLog.open(directory)) {
+            for (Transaction tx : transactions(5))
+                log.append(tx);
+        }
+        byte[] garbage = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+        CRC32 crc = new CRC32();
+        crc.update(garbage, 0, garbage.length);
+        ByteBuffer record = ByteBuffer.allocate(2 * Integer.BYTES + garbage.length)
+                .putInt(garbage.length).putInt((int) crc.getValue()).put(garbage);
+        record.flip();
+        Files.write(segment, record.array(), StandardOpenOption.APPEND);
+        long size = Files.size(segment);
+
+        assertThatThrownBy(() -> TransactionLog.open(directory))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("has correct checksum but is not a transaction");
+        assertThat(Files.size(segment)).isEqualTo(size);
+    }
+
+    @Test
+    void directoryIsLockedWhileOpen() throws IOException {
+        try (TransactionLog log = TransactionLog.open(directory)) {
+            log.append(transactions(1).get(0));
+
+            assertThatThrownBy(() -> TransactionLog.open(directory))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("already opened");
+        }
+        try (TransactionLog log = TransactionLog.open(directory)) {
+            assertThat(log.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void replaysRecords() throws IOException {
+        List<Transaction> txs = transactions(100);
+        List<Transaction> replayed = new ArrayList<>();
+        try (TransactionLog log = TransactionLog.open(directory, 4 * 1024)) {
+            for (Transaction tx : txs)
+                log.append(tx);
+
+            log.replay(record -> {
+                try {
+                    replayed.add(Transaction.fromBytes(record));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        assertThat(replayed).isEqualTo(txs);
+    }
+
+}
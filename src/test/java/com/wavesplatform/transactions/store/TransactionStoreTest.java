@@ -0,0 +1,123 @@
+package com.wavesplatform.transactions.store;
+
+import com.wavesplatform.transactions.Transaction;
+import com.wavesplatform.transactions.common.Id;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.wavesplatform.transactions.store.StoreFixture.transactions;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionStoreTest {
+
+    @Test
+    void storesAndDecodesTransactions() throws IOException {
+        List<Transaction> txs = transactions(2000);
+        TransactionStore store = new TransactionStore(64 * 1024, 100, TransactionStore.Eviction.NONE);
+
+        for (Transaction tx : txs)
+            assertThat(store.put(tx)).isTrue();
+        assertThat(store.put(txs.get(0))).isTrue();
+
+        assertThat(store.size()).isEqualTo(txs.size());
+        for (Transaction tx : txs) {
+            assertThat(store.get(tx.id())).isEqualTo(tx);
+            assertThat(store.getBytes(tx.id())).isEqualTo(tx.toBytes());
+        }
+        assertThat(store.get(Id.as(new byte[Id.BYTE_LENGTH]))).isNull();
+    }
+
+    @Test
+    void removesTransactions() {
+        List<Transaction> txs = transactions(1500);
+        TransactionStore store = new TransactionStore(64 * 1024, 100, TransactionStore.Eviction.NONE);
+        txs.forEach(store::put);
+
+        for (int i = 0; i < txs.size(); i += 3)
+            assertThat(store.remove(txs.get(i).id())).isTrue();
+
+        assertThat(store.remove(txs.get(0).id())).isFalse();
+        assertThat(store.size()).isEqualTo(1000);
+        for (int i = 0; i < txs.size(); i++)
+            assertThat(store.contains(txs.get(i).id())).isEqualTo(i % 3 != 0);
+
+        store.clear();
+        assertThat(store.size()).isZero();
+        assertThat(store.usedBytes()).isZero();
+        assertThat(store.contains(txs.get(1).id())).isFalse();
+    }
+
+    @Test
+    void evictsOldestSegment() {
+        List<Transaction> txs = transactions(1000);
+        int segmentSize = 16 * 1024;
+        TransactionStore store = new TransactionStore(segmentSize, 4, TransactionStore.Eviction.FIFO);
+        txs.forEach(store::put);
+
+        assertThat(store.usedBytes()).isLessThanOrEqualTo(4L * segmentSize);
+        assertThat(store.contains(txs.get(0).id())).isFalse();
+        assertThat(store.contains(txs.get(txs.size() - 1).id())).isTrue();
+        assertThat(txs.stream().filter(tx -> store.contains(tx.id())).count()).isEqualTo(store.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyReadSegment() {
+        List<Transaction> txs = transactions(400);
+        int segmentSize = 16 * 1024;
+        TransactionStore store = new TransactionStore(segmentSize, 2, TransactionStore.Eviction.LRU);
+        int stored = 0;
+        while (store.usedBytes() < segmentSize / 2)
+            store.put(txs.get(stored++));
+
+        for (int i = stored; i < txs.size(); i++) {
+            store.getBytes(txs.get(0).id());
+            store.put(txs.get(i));
+        }
+
+        assertThat(store.size()).isLessThan(txs.size());
+        for (int i = 0; i < stored; i++)
+            assertThat(store.contains(txs.get(i).id())).isTrue();
+    }
+
+    @Test
+    void evictsInOrderAfterClear() {
+        List<Transaction> txs = transactions(400);
+        int segmentSize = 16 * 1024;
+        TransactionStore store = new TransactionStore(segmentSize, 2, TransactionStore.Eviction.FIFO);
+        txs.forEach(store::put);
+        store.clear();
+
+        int stored = 0;
+        while (store.usedBytes() < segmentSize / 2)
+            store.put(txs.get(stored++));
+        for (int i = stored; i < txs.size(); i++)
+            store.put(txs.get(i));
+
+        assertThat(store.contains(txs.get(0).id())).isFalse();
+        assertThat(store.contains(txs.get(txs.size() - 1).id())).isTrue();
+    }
+
+    @Test
+    void rejectsWrongMaxSize() {
+        assertThatThrownBy(() -> new TransactionStore(0, TransactionStore.Eviction.FIFO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransactionStore(Long.MAX_VALUE, TransactionStore.Eviction.FIFO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsWhenFull() {
+        List<Transaction> txs = transactions(200);
+        TransactionStore store = new TransactionStore(4 * 1024, 1, TransactionStore.Eviction.NONE);
+
+        long stored = txs.stream().filter(store::put).count();
+
+        assertThat(stored).isLessThan(txs.size()).isEqualTo(store.size());
+        assertThatThrownBy(() -> store.put(Id.as(new byte[Id.BYTE_LENGTH]), new byte[4 * 1024]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}